@@ -0,0 +1,166 @@
+package com.example.battleship.api;
+
+import com.example.battleship.service.ClusterMembership;
+import com.example.battleship.util.TokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Admission control for /api: a global cap on requests in flight, then token buckets per client, per
+// client for game creation and per game. Refusals get 429 with Retry-After; see the README.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AdmissionFilter extends OncePerRequestFilter {
+    private static final String GAME_PREFIX = "/api/game/";
+
+    private final ClusterMembership cluster;
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final Semaphore inFlight;
+    private final TokenBuckets clients;
+    private final TokenBuckets creates;
+    private final TokenBuckets games;
+    private final Counter concurrencyRejected, clientRejected, createRejected, gameRejected;
+    private volatile boolean enforcing;
+
+    public AdmissionFilter(MeterRegistry registry, ClusterMembership cluster,
+                           @Value("${battleship.admission.enabled:true}") boolean enabled,
+                           @Value("${battleship.admission.max-concurrent:512}") int maxConcurrent,
+                           @Value("${battleship.admission.buckets:65536}") int buckets,
+                           @Value("${battleship.admission.client.rate:50}") double clientRate,
+                           @Value("${battleship.admission.client.burst:100}") int clientBurst,
+                           @Value("${battleship.admission.create.rate:1}") double createRate,
+                           @Value("${battleship.admission.create.burst:10}") int createBurst,
+                           @Value("${battleship.admission.game.rate:20}") double gameRate,
+                           @Value("${battleship.admission.game.burst:40}") int gameBurst) {
+        this.cluster = cluster;
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.inFlight = new Semaphore(maxConcurrent);
+        this.clients = new TokenBuckets(clientRate, clientBurst, buckets);
+        this.creates = new TokenBuckets(createRate, createBurst, buckets);
+        this.games = new TokenBuckets(gameRate, gameBurst, buckets);
+
+        concurrencyRejected = rejected(registry, "concurrency");
+        clientRejected = rejected(registry, "client");
+        createRejected = rejected(registry, "create");
+        gameRejected = rejected(registry, "game");
+        Gauge.builder("battleship.admission.in-flight", inFlight, s -> maxConcurrent - s.availablePermits())
+                .register(registry);
+        Gauge.builder("battleship.admission.limit", () -> enabled ? maxConcurrent : 0)
+                .tag("scope", "concurrency").register(registry);
+        limits(registry, "client", clientRate, clientBurst, clients);
+        limits(registry, "create", createRate, createBurst, creates);
+        limits(registry, "game", gameRate, gameBurst, games);
+    }
+
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        enforcing = enabled && event.getState() == ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enforcing || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!inFlight.tryAcquire()) {
+            concurrencyRejected.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1), "Server busy");
+            return;
+        }
+        try {
+            long wait = admit(request);
+            if (wait > 0) reject(response, wait, "Rate limit exceeded");
+            else chain.doFilter(request, response);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    // 0 when every bucket that applies has a token, otherwise the nanoseconds to wait
+    private long admit(HttpServletRequest request) {
+        var client = request.getRemoteAddr();
+        // a request forwarded by another cluster member was charged to its client there
+        boolean forwarded = cluster.isForwardedByPeer(request.getHeader(ClusterRoutingFilter.FORWARDED_BY), client);
+        long wait = forwarded ? 0 : clients.tryAcquire(client);
+        if (wait > 0) {
+            clientRejected.increment();
+            return wait;
+        }
+        var uri = request.getRequestURI();
+        if ("POST".equals(request.getMethod()) && uri.equals("/api/game")) {
+            wait = creates.tryAcquire(client);
+            if (wait > 0) createRejected.increment();
+            return wait;
+        }
+        var gameId = gameId(uri);
+        if (gameId != null) {
+            wait = games.tryAcquire(gameId);
+            if (wait > 0) gameRejected.increment();
+        }
+        return wait;
+    }
+
+    // The game bucket for one command of a batch, which the filter itself only charges to the client once
+    public long admitGameCommand(String gameId) {
+        if (!enforcing) return 0;
+        long wait = games.tryAcquire(gameId);
+        if (wait > 0) gameRejected.increment();
+        return wait;
+    }
+
+    // The {id} of /api/game/{id}/..., or null for other paths
+    private static String gameId(String uri) {
+        if (!uri.startsWith(GAME_PREFIX)) return null;
+        int end = uri.indexOf('/', GAME_PREFIX.length());
+        var id = end < 0 ? uri.substring(GAME_PREFIX.length()) : uri.substring(GAME_PREFIX.length(), end);
+        return id.isEmpty() || id.equals("replay") ? null : id;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        var status = HttpStatus.TOO_MANY_REQUESTS;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        var body = "{\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + message + "\"}";
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Counter rejected(MeterRegistry registry, String reason) {
+        return Counter.builder("battleship.admission.rejected").tag("reason", reason)
+                .description("Requests refused with 429").register(registry);
+    }
+
+    private void limits(MeterRegistry registry, String scope, double rate, int burst, TokenBuckets buckets) {
+        Gauge.builder("battleship.admission.rate", () -> enabled ? rate : 0).tag("scope", scope).register(registry);
+        Gauge.builder("battleship.admission.burst", () -> enabled ? burst : 0).tag("scope", scope).register(registry);
+        Gauge.builder("battleship.admission.evictions", buckets, TokenBuckets::getEvictions)
+                .tag("scope", scope).register(registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.battleship.api;
+
+import com.example.battleship.dto.HeatmapDto;
+import com.example.battleship.service.HeatmapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private HeatmapService heatmaps;
+
+    // GET /api/analytics/heatmap placement and first-shot heatmaps and hit rates per ship type, all games
+    @GetMapping("/heatmap")
+    public HeatmapDto heatmap() {
+        return heatmaps.heatmap();
+    }
+}
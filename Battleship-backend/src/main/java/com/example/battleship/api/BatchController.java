@@ -0,0 +1,48 @@
+package com.example.battleship.api;
+
+import com.example.battleship.dto.BatchCommand;
+import com.example.battleship.service.BatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InterruptedIOException;
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    @Autowired
+    private BatchService batch;
+
+    @Autowired
+    private AdmissionFilter admission;
+
+
+    // POST /api/batch commands for many games in one request; one NDJSON result line per command,
+    // in order within a game, streamed as each game's commands complete
+    @PostMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> execute(@RequestBody List<BatchCommand> commands) {
+        if (commands.size() > batch.getMaxCommands())
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + batch.getMaxCommands() + " commands per batch");
+        StreamingResponseBody body = out -> {
+            try {
+                batch.execute(commands, admission::admitGameCommand, (lines, length) -> {
+                    out.write(lines, 0, length);
+                    out.flush();
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Batch interrupted");
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.battleship.api;
+
+import com.example.battleship.dto.ClusterDto;
+import com.example.battleship.service.ClusterMembership;
+import com.example.battleship.service.GameStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    @Autowired
+    private ClusterMembership cluster;
+
+    @Autowired
+    private GameStore store;
+
+    // GET /api/cluster this node, the members it routes to and how many games it holds in memory
+    @GetMapping
+    public ClusterDto cluster() {
+        return new ClusterDto(cluster.self(), cluster.members(), store.size());
+    }
+}
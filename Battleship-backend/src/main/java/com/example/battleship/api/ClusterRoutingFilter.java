@@ -0,0 +1,168 @@
+package com.example.battleship.api;
+
+import com.example.battleship.service.ClusterMembership;
+import com.example.battleship.service.GameService;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+// Cluster mode: sends requests for a game this node does not own to its owner, proxied (FORWARD) or as a
+// 307 (REDIRECT); sockets and streams always get the 307. X-Battleship-Forwarded-By is trusted only from a member's address, so a request is
+// forwarded at most once.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ClusterRoutingFilter extends OncePerRequestFilter {
+    public static final String FORWARDED_BY = "X-Battleship-Forwarded-By";
+    public static final String OWNER = "X-Battleship-Owner";
+    private static final String[] PREFIXES = {"/api/game/", "/ws/game/"};
+    private static final String STREAM_SUFFIX = "/stream";
+    // hop-by-hop, or set by the HTTP client itself
+    private static final Set<String> REQUEST_SKIPPED = Set.of("connection", "content-length", "expect", "host",
+            "keep-alive", "te", "trailer", "transfer-encoding", "upgrade", FORWARDED_BY.toLowerCase(Locale.ROOT));
+    private static final Set<String> RESPONSE_SKIPPED = Set.of("connection", "keep-alive", "te", "trailer",
+            "transfer-encoding", "upgrade", ":status");
+
+    public enum Route { FORWARD, REDIRECT }
+
+    private final ClusterMembership cluster;
+    private final GameService svc;
+    private final Route route;
+    private final Duration forwardTimeout;
+    private final HttpClient client;
+
+    public ClusterRoutingFilter(ClusterMembership cluster, GameService svc,
+                                @Value("${battleship.cluster.enabled:false}") boolean enabled,
+                                @Value("${battleship.cluster.route:FORWARD}") Route route,
+                                @Value("${battleship.cluster.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${battleship.cluster.forward-timeout:10s}") Duration forwardTimeout) {
+        this.cluster = cluster;
+        this.svc = svc;
+        this.route = route;
+        this.forwardTimeout = forwardTimeout;
+        this.client = enabled
+                ? HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(connectTimeout)
+                        .followRedirects(HttpClient.Redirect.NEVER).build()
+                : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (client != null) client.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !cluster.isActive() || gameId(request.getRequestURI()) == null
+                || cluster.isForwardedByPeer(request.getHeader(FORWARDED_BY), request.getRemoteAddr());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var uri = request.getRequestURI();
+        var id = gameId(uri);
+        // a game made before the members changed stays on the node that made it
+        if (cluster.owns(id) || svc.findGame(id) != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        var owner = cluster.ownerOf(id);
+        var target = owner + uri + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        response.setHeader(OWNER, owner);
+        // sockets and streams stay open for as long as the client likes; proxied, each would hold one of this
+        // node's admission permits the whole time
+        if (route == Route.REDIRECT || uri.startsWith("/ws/") || uri.endsWith(STREAM_SUFFIX)) {
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target);
+            return;
+        }
+        forward(request, response, target);
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, String target) throws IOException {
+        // until the owner's response headers arrive; a stream may then run for as long as it likes
+        var builder = HttpRequest.newBuilder(URI.create(target)).timeout(forwardTimeout);
+        for (var names = request.getHeaderNames(); names.hasMoreElements(); ) {
+            var name = names.nextElement();
+            if (REQUEST_SKIPPED.contains(name.toLowerCase(Locale.ROOT))) continue;
+            for (var values = request.getHeaders(name); values.hasMoreElements(); )
+                builder.header(name, values.nextElement());
+        }
+        builder.header(FORWARDED_BY, cluster.self());
+        builder.header("X-Forwarded-For", request.getRemoteAddr());
+        var body = request.getInputStream().readAllBytes();
+        builder.method(request.getMethod(), body.length == 0
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+
+        HttpResponse<InputStream> upstream;
+        try {
+            upstream = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(response, HttpStatus.SERVICE_UNAVAILABLE, "Owner node unreachable");
+            return;
+        } catch (HttpTimeoutException e) {
+            fail(response, HttpStatus.GATEWAY_TIMEOUT, "Owner node did not answer in time");
+            return;
+        } catch (IOException e) {
+            fail(response, HttpStatus.SERVICE_UNAVAILABLE, "Owner node unreachable");
+            return;
+        }
+        response.setStatus(upstream.statusCode());
+        upstream.headers().map().forEach((name, values) -> {
+            if (RESPONSE_SKIPPED.contains(name.toLowerCase(Locale.ROOT))) return;
+            for (var v : values) response.addHeader(name, v);
+        });
+        // flushed whenever the owner pauses, so a slow body passes through as it arrives
+        try (var in = upstream.body()) {
+            var out = response.getOutputStream();
+            var buf = new byte[8192];
+            for (int n; (n = in.read(buf)) >= 0; ) {
+                out.write(buf, 0, n);
+                if (in.available() == 0) out.flush();
+            }
+        }
+    }
+
+    // The {id} of /api/game/{id}/... or /ws/game/{id}, or null for other paths
+    private static String gameId(String uri) {
+        for (var prefix : PREFIXES) {
+            if (!uri.startsWith(prefix)) continue;
+            int end = uri.indexOf('/', prefix.length());
+            var id = end < 0 ? uri.substring(prefix.length()) : uri.substring(prefix.length(), end);
+            return id.isEmpty() || id.equals("replay") ? null : id;
+        }
+        return null;
+    }
+
+    private static void fail(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        var body = "{\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + message + "\"}";
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
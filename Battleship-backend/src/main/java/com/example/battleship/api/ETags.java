@@ -0,0 +1,37 @@
+package com.example.battleship.api;
+
+import com.example.battleship.service.GameService;
+
+// Game versions as HTTP entity tags: responses carry ETag "<version>", and a command sent with If-Match
+// applies only if the game is still at that version.
+public final class ETags {
+    // expected version no game ever has, for preconditions that can never hold
+    static final long NEVER = -2;
+    // tags for the versions a game reaches during play: placements plus at most 200 shots
+    private static final String[] COMMON = new String[256];
+
+    static {
+        for (int v = 0; v < COMMON.length; v++) COMMON[v] = "\"" + v + "\"";
+    }
+
+    private ETags() {}
+
+    public static String of(long version) {
+        return version >= 0 && version < COMMON.length ? COMMON[(int) version] : "\"" + version + "\"";
+    }
+
+    // Version an If-Match header requires: ANY_VERSION when absent or "*". Only a single strong tag can
+    // match; weak tags, lists and anything unparsable give NEVER, so the command fails with 412.
+    public static long expectedVersion(String ifMatch) {
+        if (ifMatch == null) return GameService.ANY_VERSION;
+        var tag = ifMatch.strip();
+        if (tag.equals("*")) return GameService.ANY_VERSION;
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') return NEVER;
+        try {
+            long version = Long.parseLong(tag, 1, tag.length() - 1, 10);
+            return version >= 0 ? version : NEVER;
+        } catch (NumberFormatException e) {
+            return NEVER;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.battleship.api;
+
+import com.example.battleship.util.FastJson;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+// Write-only JSON converter for the hot response DTOs; everything else falls through to Jackson
+public class FastJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public FastJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return FastJson.supports(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object dto, HttpOutputMessage outputMessage) throws IOException {
+        FastJson.writeTo(dto, outputMessage.getBody());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.battleship.api;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FootprintReport;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.service.GameStore;
+import com.example.battleship.util.Footprint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// GET /actuator/footprint: estimated heap held by live games, by state, and how many would fit in the heap
+@Component
+@Endpoint(id = "footprint")
+public class FootprintEndpoint {
+    private final GameStore store;
+    // a game with both fleets placed, the size most live games have
+    private final long placedGameBytes;
+    // store bookkeeping per game once the store is large
+    private final long entryBytes = Footprint.storeOverhead(1 << 20) >> 20;
+
+    public FootprintEndpoint(GameStore store) {
+        this.store = store;
+        var g = new Game(UUID.randomUUID().toString());
+        var rnd = new SplittableRandom(1);
+        GameEngine.randomPlacement(g, Player.P1, rnd);
+        GameEngine.randomPlacement(g, Player.P2, rnd);
+        this.placedGameBytes = Footprint.game(g);
+    }
+
+    @ReadOperation
+    public FootprintReport footprint() {
+        int states = GameState.values().length;
+        var counts = new int[states];
+        var bytes = new long[states];
+        store.forEach(g -> {
+            // size and state from one consistent read; a command landing mid-read means reading again
+            for (;;) {
+                long version = g.beginRead();
+                try {
+                    long size = Footprint.game(g);
+                    int state = g.getState().ordinal();
+                    if (g.validateRead(version)) {
+                        counts[state]++;
+                        bytes[state] += size;
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    // the ship list changed under the walk
+                }
+            }
+        });
+
+        var byState = new EnumMap<GameState, FootprintReport.StateFootprint>(GameState.class);
+        int games = 0;
+        long gameBytes = 0;
+        for (var s : GameState.values()) {
+            byState.put(s, new FootprintReport.StateFootprint(counts[s.ordinal()], bytes[s.ordinal()]));
+            games += counts[s.ordinal()];
+            gameBytes += bytes[s.ordinal()];
+        }
+        long overhead = Footprint.storeOverhead(games);
+        long average = games == 0 ? placedGameBytes : gameBytes / games;
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        return new FootprintReport(games, gameBytes + overhead, overhead, average, maxHeap,
+                maxHeap / (average + entryBytes), byState);
+    }
+}
@@ -1,15 +1,26 @@
 package com.example.battleship.api;
 
 import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
 import com.example.battleship.domain.Player;
 import com.example.battleship.dto.*;
 import com.example.battleship.service.GameService;
+import com.example.battleship.service.Outcome;
+import com.example.battleship.service.Rejection;
+import com.example.battleship.service.SpectatorHub;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
-@CrossOrigin(origins = "http://localhost:5173")
+import java.io.IOException;
+import java.time.Instant;
+
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = HttpHeaders.ETAG)
 @RestController
 @RequestMapping("/api/game")
 public class GameController {
@@ -17,6 +28,8 @@ public class GameController {
     @Autowired
     private GameService svc;
 
+    @Autowired
+    private SpectatorHub spectators;
 
     // POST /api/game players
     @PostMapping
@@ -25,33 +38,114 @@ public class GameController {
         Game g = svc.createGame(p1, p2);
         return new CreateGameResponse(g.getId());
     }
+
+    // GET /api/game games by state, player or finish time, a page at a time; pass `next` back as cursor
+    @GetMapping
+    public GamePageDto list(@RequestParam(required = false) GameState state,
+                            @RequestParam(required = false) String player,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant finishedSince,
+                            @RequestParam(required = false) String cursor,
+                            @RequestParam(defaultValue = "50") int limit) {
+        return svc.list(state, player, finishedSince, cursor, limit);
+    }
+
     // GET /api/game/ player 1
     @GetMapping("/{id}")
-    public GameViewDto view(@PathVariable String id, @RequestParam Player viewer) {
+    public ResponseEntity<GameViewDto> view(@PathVariable String id, @RequestParam Player viewer) {
         var g = svc.getGameOr404(id);
-        return svc.view(g, viewer);
+        var view = svc.view(g, viewer);
+        return ResponseEntity.ok().eTag(ETags.of(view.version())).body(view);
     }
 
-    // POST /api/game/ place ship
-    @PostMapping("/{id}/place-ship")
-    public ResponseEntity<?> place(@PathVariable String id, @RequestBody @Valid PlaceShipRequest req) {
+    // GET /api/game/ both player views from one snapshot, for hot-seat and debugging clients
+    @GetMapping("/{id}/views")
+    public ResponseEntity<GameViewsDto> views(@PathVariable String id) {
         var g = svc.getGameOr404(id);
-        svc.placeShip(g, req);
-        return ResponseEntity.ok().build();
+        var views = svc.views(g);
+        return ResponseEntity.ok().eTag(ETags.of(views.p1().version())).body(views);
     }
 
-    // POST /api/game/ random placement
-    @PostMapping("/{id}/random-placement")
-    public ResponseEntity<?> random(@PathVariable String id, @RequestBody @Valid RandomPlacementRequest req) {
+    // GET /api/game/ spectator view, both boards masked
+    @GetMapping("/{id}/spectate")
+    public SpectatorViewDto spectate(@PathVariable String id) {
+        var g = svc.getGameOr404(id);
+        return svc.spectate(g);
+    }
+
+    // GET /api/game/ spectator stream, one server-sent event per state change
+    @GetMapping("/{id}/spectate/stream")
+    public ResponseEntity<ResponseBodyEmitter> spectateStream(@PathVariable String id) {
         var g = svc.getGameOr404(id);
-        svc.randomPlacement(g, req.player());
-        return ResponseEntity.ok().build();
+        var emitter = new ResponseBodyEmitter(0L);
+        var sub = spectators.subscribe(g, new SpectatorHub.Sink() {
+            @Override
+            public void send(byte[] frame) throws IOException {
+                emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(() -> spectators.unsubscribe(sub));
+        emitter.onTimeout(() -> spectators.unsubscribe(sub));
+        emitter.onError(e -> spectators.unsubscribe(sub));
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+
+    // POST /api/game/ place ship; with If-Match only at that version
+    @PostMapping("/{id}/place-ship")
+    public ResponseEntity<?> place(@PathVariable String id, @RequestBody @Valid PlaceShipRequest req,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        var out = svc.tryPlaceShip(g, req, ETags.expectedVersion(ifMatch));
+        return respond(out);
+    }
+
+    // POST /api/game/ random placement; with If-Match only at that version
+    @PostMapping("/{id}/random-placement")
+    public ResponseEntity<?> random(@PathVariable String id, @RequestBody @Valid RandomPlacementRequest req,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        var out = svc.tryRandomPlacement(g, req.player(), ETags.expectedVersion(ifMatch));
+        return respond(out);
     }
 
-    // POST /api/game/try to fire
+    // POST /api/game/try to fire; with If-Match only at that version
     @PostMapping("/{id}/fire")
-    public FireResponse fire(@PathVariable String id, @RequestBody @Valid FireRequest req) {
+    public ResponseEntity<?> fire(@PathVariable String id, @RequestBody @Valid FireRequest req,
+                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        var out = svc.tryFire(g, req, ETags.expectedVersion(ifMatch));
+        return respond(out);
+    }
+
+    // GET /api/game/ export binary replay
+    @GetMapping("/{id}/replay")
+    public ResponseEntity<byte[]> exportReplay(@PathVariable String id,
+                                               @RequestParam(defaultValue = "false") boolean compress) {
         var g = svc.getGameOr404(id);
-        return svc.fire(g, req);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + id + ".bsr\"")
+                .body(svc.exportReplay(g, compress));
+    }
+
+    // 200 with the new version as ETag, or the prebuilt rejection
+    private static ResponseEntity<?> respond(Outcome<?> out) {
+        if (!out.isOk()) return RejectionResponses.of(out.rejection());
+        var ok = ResponseEntity.ok().eTag(ETags.of(out.version()));
+        return out.value() == null ? ok.build() : ok.body(out.value());
+    }
+
+    // POST /api/game/ import binary replay as a new game
+    @PostMapping(value = "/replay", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public CreateGameResponse importReplay(@RequestBody byte[] data) {
+        Game g = svc.importReplay(data);
+        return new CreateGameResponse(g.getId());
     }
 }
@@ -0,0 +1,166 @@
+package com.example.battleship.api;
+
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.FireResponse;
+import com.example.battleship.dto.PlaceShipRequest;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameSocketHub;
+import com.example.battleship.service.Outcome;
+import com.example.battleship.service.Rejection;
+import com.example.battleship.util.WireCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+// The game WebSocket /ws/game/{id}?player=P1|P2: binary commands in, results and state pushes out.
+// Commands go through the same GameService calls as the HTTP API; a socket that falls behind is closed.
+@Component
+public class GameSocketHandler extends BinaryWebSocketHandler implements HandshakeInterceptor {
+    private static final String GAME = "game", PLAYER = "player", OUT = "out", PEER = "peer";
+
+    @Autowired
+    private GameService svc;
+
+    @Autowired
+    private GameSocketHub hub;
+
+    @Autowired
+    private AdmissionFilter admission;
+
+    @Value("${battleship.socket.idle-timeout:10m}")
+    private Duration idleTimeout;
+
+    @Value("${battleship.socket.send-time-limit:10s}")
+    private Duration sendTimeLimit;
+
+    @Value("${battleship.socket.send-buffer:16KB}")
+    private DataSize sendBuffer;
+
+    // /ws/game/{id}?player=P1|P2: refused with 404 for an unknown game, 400 without a seat
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        var uri = UriComponentsBuilder.fromUri(request.getURI()).build();
+        var segments = uri.getPathSegments();
+        var id = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        var seat = uri.getQueryParams().getFirst("player");
+        if (!"P1".equals(seat) && !"P2".equals(seat)) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+        if (id == null || svc.findGame(id) == null) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return false;
+        }
+        attributes.put(GAME, id);
+        attributes.put(PLAYER, Player.valueOf(seat));
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        if (session instanceof NativeWebSocketSession n
+                && n.getNativeSession(jakarta.websocket.Session.class) instanceof jakarta.websocket.Session s)
+            s.setMaxIdleTimeout(idleTimeout.toMillis());
+        var out = new ConcurrentWebSocketSessionDecorator(session, (int) sendTimeLimit.toMillis(),
+                (int) sendBuffer.toBytes(), ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+        var game = svc.findGame(gameId(session));
+        if (game == null) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Game not found"));
+            return;
+        }
+        var player = player(session);
+        session.getAttributes().put(OUT, out);
+        session.getAttributes().put(PEER, hub.join(game, player, new GameSocketHub.Sink() {
+            @Override
+            public void send(byte[] frame) throws IOException {
+                out.sendMessage(new BinaryMessage(frame));
+            }
+
+            @Override
+            public void close() {
+                try {
+                    out.close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException ignored) {
+                    // already gone
+                }
+            }
+        }));
+        // a fresh socket starts from the game as it stands
+        out.sendMessage(new BinaryMessage(WireCodec.view(0, svc.view(game, player))));
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        var out = (WebSocketSession) session.getAttributes().get(OUT);
+        var payload = message.getPayload();
+        var frame = new byte[payload.remaining()];
+        payload.get(frame);
+        out.sendMessage(new BinaryMessage(execute(gameId(session), player(session), frame)));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        var peer = (GameSocketHub.Peer) session.getAttributes().get(PEER);
+        if (peer != null) hub.leave(peer);
+    }
+
+    // Runs one command frame and returns the reply frame
+    private byte[] execute(String id, Player player, byte[] frame) {
+        var cmd = WireCodec.decode(frame);
+        int tag = frame.length > 1 ? frame[1] & 0xFF : 0;
+        if (cmd == null) return WireCodec.result(tag, WireCodec.MALFORMED, 0, WireCodec.NO_SHOT);
+        var game = svc.findGame(id);
+        if (game == null) return rejected(tag, Rejection.GAME_NOT_FOUND, 0);
+        // commands draw on the game's bucket like HTTP ones; the handshake was the only request the filter saw
+        if (cmd.op() != WireCodec.VIEW && admission.admitGameCommand(id) > 0)
+            return WireCodec.result(tag, WireCodec.RATE_LIMITED, game.getVersion(), WireCodec.NO_SHOT);
+        long expected = cmd.version() < 0 ? GameService.ANY_VERSION : cmd.version();
+        Outcome<?> outcome = switch (cmd.op()) {
+            case WireCodec.FIRE -> svc.tryFire(game, new FireRequest(player, cmd.row(), cmd.col()), expected);
+            case WireCodec.PLACE -> svc.tryPlaceShip(game,
+                    new PlaceShipRequest(player, cmd.shipType(), cmd.row(), cmd.col(), cmd.orientation()), expected);
+            case WireCodec.RANDOM -> svc.tryRandomPlacement(game, player, expected);
+            default -> null;
+        };
+        if (outcome == null) return WireCodec.view(tag, svc.view(game, player));
+        if (!outcome.isOk()) return rejected(tag, outcome.rejection(), game.getVersion());
+        int shot = outcome.value() instanceof FireResponse r ? FireResponse.indexOf(r) : WireCodec.NO_SHOT;
+        return WireCodec.result(tag, WireCodec.OK, outcome.version(), shot);
+    }
+
+    private static byte[] rejected(int tag, Rejection r, long version) {
+        return WireCodec.result(tag, 1 + r.ordinal(), version, WireCodec.NO_SHOT);
+    }
+
+    private static String gameId(WebSocketSession session) {
+        return (String) session.getAttributes().get(GAME);
+    }
+
+    private static Player player(WebSocketSession session) {
+        return (Player) session.getAttributes().get(PLAYER);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.battleship.api;
+
+import com.example.battleship.dto.PlayerStatsDto;
+import com.example.battleship.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    @Autowired
+    private LeaderboardService leaderboard;
+
+
+    // GET /api/leaderboard top players by wins
+    @GetMapping
+    public List<PlayerStatsDto> top() {
+        return leaderboard.top();
+    }
+
+    // GET /api/leaderboard/players/ stats of one player
+    @GetMapping("/players/{name}")
+    public PlayerStatsDto player(@PathVariable String name) {
+        var stats = leaderboard.stats(name);
+        if (stats == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Player not found");
+        return stats;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.battleship.api;
+
+import com.example.battleship.dto.MatchResponse;
+import com.example.battleship.service.MatchmakingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/matchmaking")
+public class MatchmakingController {
+
+    private static final long MAX_WAIT_MS = 60_000;
+
+    @Autowired
+    private MatchmakingService matchmaking;
+
+
+    // POST /api/matchmaking join the queue; a retry with the same Idempotency-Key gets the same ticket
+    @PostMapping
+    public MatchResponse join(@RequestParam String name,
+                              @RequestHeader(value = "Idempotency-Key", required = false) String key) {
+        return matchmaking.join(name, key);
+    }
+
+    // GET /api/matchmaking/ long-poll until matched or timeout
+    @GetMapping("/{ticketId}")
+    public CompletableFuture<MatchResponse> await(@PathVariable String ticketId,
+                                                  @RequestParam(defaultValue = "30000") long timeoutMs) {
+        return matchmaking.await(ticketId, Math.max(0, Math.min(timeoutMs, MAX_WAIT_MS)));
+    }
+
+    // DELETE /api/matchmaking/ leave the queue
+    @DeleteMapping("/{ticketId}")
+    public MatchResponse cancel(@PathVariable String ticketId) {
+        return matchmaking.cancel(ticketId);
+    }
+}
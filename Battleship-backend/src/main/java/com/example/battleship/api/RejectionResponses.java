@@ -0,0 +1,29 @@
+package com.example.battleship.api;
+
+import com.example.battleship.service.Rejection;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+// One prebuilt error response per Rejection, so a refused move costs no exception and no serialization
+public final class RejectionResponses {
+    private static final ResponseEntity<?>[] RESPONSES = new ResponseEntity<?>[Rejection.values().length];
+
+    static {
+        for (var r : Rejection.values()) {
+            var body = "{\"status\":" + r.status.value()
+                    + ",\"error\":\"" + r.status.getReasonPhrase()
+                    + "\",\"message\":\"" + r.message + "\"}";
+            RESPONSES[r.ordinal()] = ResponseEntity.status(r.status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private RejectionResponses() {}
+
+    public static ResponseEntity<?> of(Rejection r) {
+        return RESPONSES[r.ordinal()];
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.battleship.api;
+
+import com.example.battleship.dto.TournamentDto;
+import com.example.battleship.dto.TournamentRequest;
+import com.example.battleship.service.Strategies;
+import com.example.battleship.service.TournamentService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/tournaments")
+public class TournamentController {
+
+    @Autowired
+    private TournamentService tournaments;
+
+
+    // GET /api/tournaments/strategies built-in strategies that can enter
+    @GetMapping("/strategies")
+    public Set<String> strategies() {
+        return Strategies.names();
+    }
+
+    // POST /api/tournaments start a tournament; it runs in the background
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public TournamentDto create(@RequestBody @Valid TournamentRequest req) {
+        return tournaments.create(req);
+    }
+
+    // GET /api/tournaments/ progress and standings
+    @GetMapping("/{id}")
+    public TournamentDto get(@PathVariable String id) {
+        return tournaments.get(id);
+    }
+
+    // DELETE /api/tournaments/ stop handing out matches
+    @DeleteMapping("/{id}")
+    public TournamentDto cancel(@PathVariable String id) {
+        return tournaments.cancel(id);
+    }
+}
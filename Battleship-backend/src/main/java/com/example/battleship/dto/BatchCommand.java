@@ -0,0 +1,16 @@
+package com.example.battleship.dto;
+
+import com.example.battleship.domain.Orientation;
+import com.example.battleship.domain.Player;
+import com.example.battleship.domain.ShipType;
+
+public record BatchCommand(
+        String op,                // fire, place-ship, random-placement or view
+        String gameId,
+        Player player,            // shooter, placer or viewer
+        Integer row,              // fire and place-ship
+        Integer col,
+        ShipType shipType,        // place-ship only
+        Orientation orientation,  // place-ship only
+        Long version              // optional: apply only at this game version, like If-Match
+) {}
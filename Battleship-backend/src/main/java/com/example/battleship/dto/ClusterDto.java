@@ -0,0 +1,11 @@
+package com.example.battleship.dto;
+
+import java.util.List;
+
+// This node's place in the cluster: its URL (null when clustering is off), the live members and its games
+public record ClusterDto(
+        String self,
+        List<String> members,
+        int games
+) {
+}
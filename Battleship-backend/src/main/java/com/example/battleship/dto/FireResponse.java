@@ -1,6 +1,8 @@
 package com.example.battleship.dto;
 
+import com.example.battleship.domain.GameState;
 import com.example.battleship.domain.Player;
+import com.example.battleship.domain.ShipType;
 
 public record FireResponse(
         boolean hit,
@@ -8,4 +10,49 @@ public record FireResponse(
         String sunkShipType,   // null if not sunk
         String nextState,
         Player winner          // null unless game finished
-) {}
+) {
+    private static final ShipType[] TYPES = ShipType.values();
+    private static final GameState[] STATES = GameState.values();
+    private static final Player[] PLAYERS = Player.values();
+    public static final int COUNT = 2 * (TYPES.length + 1) * STATES.length * (PLAYERS.length + 1);
+    // every response a shot can produce, so the shot path shares them instead of allocating
+    private static final FireResponse[] ALL = new FireResponse[COUNT];
+
+    static {
+        for (var hit : new boolean[]{false, true})
+            for (int t = -1; t < TYPES.length; t++)
+                for (var state : STATES)
+                    for (int w = -1; w < PLAYERS.length; w++) {
+                        var type = t < 0 ? null : TYPES[t];
+                        var winner = w < 0 ? null : PLAYERS[w];
+                        ALL[index(hit, type, state, winner)] = new FireResponse(hit, type != null,
+                                type == null ? null : type.name(), state.name(), winner);
+                    }
+    }
+
+    public static FireResponse of(boolean hit, ShipType sunk, GameState nextState, Player winner) {
+        return ALL[index(hit, sunk, nextState, winner)];
+    }
+
+    public static FireResponse get(int index) { return ALL[index]; }
+
+    // Position of an equal shared response, or -1 when this one has values no shot produces
+    public static int indexOf(FireResponse r) {
+        var type = r.sunkShipType == null ? null : byName(TYPES, r.sunkShipType);
+        var state = r.nextState == null ? null : byName(STATES, r.nextState);
+        if (state == null || r.sunk != (type != null) || (r.sunkShipType != null && type == null)) return -1;
+        return index(r.hit, type, state, r.winner);
+    }
+
+    private static int index(boolean hit, ShipType sunk, GameState state, Player winner) {
+        int i = hit ? 1 : 0;
+        i = i * (TYPES.length + 1) + (sunk == null ? 0 : sunk.ordinal() + 1);
+        i = i * STATES.length + state.ordinal();
+        return i * (PLAYERS.length + 1) + (winner == null ? 0 : winner.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E byName(E[] values, String name) {
+        for (var v : values) if (v.name().equals(name)) return v;
+        return null;
+    }
+}
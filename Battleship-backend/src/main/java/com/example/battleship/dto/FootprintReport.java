@@ -0,0 +1,18 @@
+package com.example.battleship.dto;
+
+import com.example.battleship.domain.GameState;
+
+import java.util.Map;
+
+// Estimated heap held by the game store, in bytes
+public record FootprintReport(
+        int games,
+        long bytes,                 // games plus store bookkeeping
+        long storeOverheadBytes,
+        long averageBytesPerGame,
+        long maxHeapBytes,
+        long gamesFitInMaxHeap,     // at the current average (or a placed game when empty), nothing else on the heap
+        Map<GameState, StateFootprint> byState
+) {
+    public record StateFootprint(int games, long bytes) {}
+}
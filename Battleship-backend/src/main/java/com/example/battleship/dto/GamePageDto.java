@@ -0,0 +1,8 @@
+package com.example.battleship.dto;
+
+import java.util.List;
+
+public record GamePageDto(
+        List<GameSummaryDto> games,
+        String next    // cursor for the following page, null after the last one
+) {}
@@ -0,0 +1,13 @@
+package com.example.battleship.dto;
+
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+
+public record GameSummaryDto(
+        String gameId,
+        GameState state,
+        Player winner,
+        String p1Name,
+        String p2Name,
+        long version
+) {}
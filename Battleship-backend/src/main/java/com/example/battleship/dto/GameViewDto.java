@@ -12,5 +12,6 @@ public record GameViewDto(
         String p1Name,
         String p2Name,
         CellState[][] yourBoard,
-        CellState[][] opponentBoardMasked
+        CellState[][] opponentBoardMasked,
+        long version
 ) {}
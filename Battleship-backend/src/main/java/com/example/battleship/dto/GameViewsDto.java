@@ -0,0 +1,7 @@
+package com.example.battleship.dto;
+
+// Both players' views of one game, built from the same snapshot
+public record GameViewsDto(
+        GameViewDto p1,
+        GameViewDto p2
+) {}
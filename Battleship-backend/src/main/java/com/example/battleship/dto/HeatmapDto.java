@@ -0,0 +1,14 @@
+package com.example.battleship.dto;
+
+import java.util.List;
+
+public record HeatmapDto(
+        long games,                 // live and archived
+        long archivedGames,
+        long shots,
+        long hits,
+        long[][] placements,        // ship cells placed on each cell, both fleets of every game
+        long[][] firstShots,        // where each player fired first
+        List<ShipTypeStatsDto> ships,
+        long elapsedMs
+) {}
@@ -0,0 +1,10 @@
+package com.example.battleship.dto;
+
+import com.example.battleship.domain.Player;
+
+public record MatchResponse(
+        String ticketId,
+        String status,   // WAITING, MATCHED or CANCELLED
+        String gameId,   // null until matched
+        Player player    // seat in the created game, null until matched
+) {}
@@ -0,0 +1,12 @@
+package com.example.battleship.dto;
+
+public record PlayerStatsDto(
+        String player,
+        long games,
+        long wins,
+        long losses,
+        long shots,
+        long hits,
+        double accuracy,        // hits / shots
+        double avgGameLength    // total shots of both players per finished game
+) {}
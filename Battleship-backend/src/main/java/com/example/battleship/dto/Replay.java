@@ -0,0 +1,15 @@
+package com.example.battleship.dto;
+
+import com.example.battleship.domain.Player;
+
+import java.util.List;
+
+// Everything needed to rebuild a game: names, both fleets in placement order, the shots in order, then the
+// winner, which only the shots do not show when a player forfeited
+public record Replay(
+        String p1Name,
+        String p2Name,
+        List<PlaceShipRequest> placements,
+        List<FireRequest> shots,
+        Player winner
+) {}
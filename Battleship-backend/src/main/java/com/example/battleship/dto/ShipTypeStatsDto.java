@@ -0,0 +1,11 @@
+package com.example.battleship.dto;
+
+import com.example.battleship.domain.ShipType;
+
+public record ShipTypeStatsDto(
+        ShipType type,
+        long placed,        // ships of this type placed
+        long cellsHit,      // hits landed on them
+        long sunk,
+        double hitRate      // cellsHit / cells placed
+) {}
@@ -0,0 +1,13 @@
+package com.example.battleship.dto;
+
+public record StandingDto(
+        int rank,
+        String entrant,        // strategy name, with #2, #3... for repeated entries
+        String strategy,
+        long played,
+        long wins,
+        long losses,
+        long byes,
+        long points,           // wins + byes
+        double avgShotsToWin   // 0 without wins
+) {}
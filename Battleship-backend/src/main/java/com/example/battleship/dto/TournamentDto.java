@@ -0,0 +1,15 @@
+package com.example.battleship.dto;
+
+import java.util.List;
+
+public record TournamentDto(
+        String id,
+        TournamentRequest.Format format,
+        String state,          // RUNNING, FINISHED, CANCELLED or FAILED
+        int round,             // current round, 1-based
+        int rounds,
+        long matches,
+        long matchesPlayed,
+        long elapsedMs,
+        List<StandingDto> standings
+) {}
@@ -0,0 +1,15 @@
+package com.example.battleship.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TournamentRequest(
+        @NotNull Format format,
+        @NotNull @Size(min = 2, max = 1024) List<String> strategies,  // built-in names; repeats enter again
+        @Min(1) Integer rounds   // round robin: times each pair meets; Swiss: rounds; null for the default
+) {
+    public enum Format { ROUND_ROBIN, SWISS }
+}
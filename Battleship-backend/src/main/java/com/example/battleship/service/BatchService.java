@@ -0,0 +1,185 @@
+package com.example.battleship.service;
+
+import com.example.battleship.dto.BatchCommand;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.PlaceShipRequest;
+import com.example.battleship.util.FastJson;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Executes batches of commands that span many games: each game's commands run in order on one thread,
+// different games in parallel, and results stream back per game as NDJSON. See the README.
+@Service
+public class BatchService {
+
+    // 0 when a command for this game may run, otherwise the nanoseconds until one could
+    public interface Admission {
+        long admit(String gameId);
+    }
+
+    // Receives result lines; calls are never concurrent
+    public interface Sink {
+        void write(byte[] lines, int length) throws IOException;
+    }
+
+    private static final byte[][] REJECTED = new byte[Rejection.values().length][];
+    private static final byte[] RATE_LIMITED = error(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
+
+    static {
+        for (var r : Rejection.values()) REJECTED[r.ordinal()] = error(r.status, r.message);
+    }
+
+    private final GameService svc;
+    private final Executor executor;
+    private final int parallelism;
+    private final int maxCommands;
+
+    public BatchService(GameService svc,
+                        @Qualifier("applicationTaskExecutor") Executor executor,
+                        @Value("${battleship.batch.parallelism:0}") int parallelism,
+                        @Value("${battleship.batch.max-commands:10000}") int maxCommands) {
+        this.svc = svc;
+        this.executor = executor;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxCommands = maxCommands;
+    }
+
+    public int getMaxCommands() { return maxCommands; }
+
+    // Runs every command and returns once all results have been written
+    public void execute(List<BatchCommand> commands, Admission admission, Sink sink)
+            throws IOException, InterruptedException {
+        var groups = group(commands);
+        var next = new AtomicInteger();
+        var pending = new CountDownLatch(groups.size());
+        var failure = new AtomicReference<Exception>();
+        var sinkLock = new ReentrantLock();
+
+        Runnable drain = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < groups.size()) {
+                try {
+                    // after a failure the remaining groups are only counted off
+                    if (failure.get() != null) continue;
+                    var out = new ByteArrayOutputStream(groups.get(i).length * 128);
+                    for (int index : groups.get(i)) run(index, commands.get(index), admission, out);
+                    sinkLock.lock();
+                    try {
+                        sink.write(out.toByteArray(), out.size());
+                    } finally {
+                        sinkLock.unlock();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    pending.countDown();
+                }
+            }
+        };
+        for (int h = Math.min(parallelism, groups.size()) - 1; h > 0; h--) executor.execute(drain);
+        drain.run();
+        pending.await();
+        var e = failure.get();
+        if (e instanceof IOException io) throw io;
+        if (e != null) throw (RuntimeException) e;
+    }
+
+    // Command indexes by game, each in submission order
+    private static List<int[]> group(List<BatchCommand> commands) {
+        var byGame = new HashMap<String, Integer>();
+        var counts = new ArrayList<Integer>();
+        var groupOf = new int[commands.size()];
+        for (int i = 0; i < commands.size(); i++) {
+            var id = commands.get(i).gameId();
+            int g = byGame.computeIfAbsent(id == null ? "" : id, k -> {
+                counts.add(0);
+                return counts.size() - 1;
+            });
+            counts.set(g, counts.get(g) + 1);
+            groupOf[i] = g;
+        }
+        var groups = new ArrayList<int[]>(counts.size());
+        for (int count : counts) groups.add(new int[count]);
+        var filled = new int[counts.size()];
+        for (int i = 0; i < commands.size(); i++) groups.get(groupOf[i])[filled[groupOf[i]]++] = i;
+        return groups;
+    }
+
+    private void run(int index, BatchCommand c, Admission admission, ByteArrayOutputStream out) throws IOException {
+        ascii(out, "{\"index\":" + index);
+        var missing = missing(c);
+        if (missing != null) {
+            out.write(error(HttpStatus.BAD_REQUEST, missing));
+            return;
+        }
+        var g = svc.findGame(c.gameId());
+        if (g == null) {
+            out.write(REJECTED[Rejection.GAME_NOT_FOUND.ordinal()]);
+            return;
+        }
+        if (admission.admit(c.gameId()) > 0) {
+            out.write(RATE_LIMITED);
+            return;
+        }
+        long expected = c.version() == null ? GameService.ANY_VERSION : c.version();
+        Outcome<?> outcome = switch (c.op()) {
+            case "fire" -> svc.tryFire(g, new FireRequest(c.player(), c.row(), c.col()), expected);
+            case "place-ship" -> svc.tryPlaceShip(g,
+                    new PlaceShipRequest(c.player(), c.shipType(), c.row(), c.col(), c.orientation()), expected);
+            case "random-placement" -> svc.tryRandomPlacement(g, c.player(), expected);
+            default -> {
+                var view = svc.view(g, c.player());
+                yield Outcome.ok(view, view.version());
+            }
+        };
+        if (!outcome.isOk()) {
+            out.write(REJECTED[outcome.rejection().ordinal()]);
+            return;
+        }
+        ascii(out, ",\"status\":200,\"version\":" + outcome.version());
+        if (outcome.value() != null) {
+            ascii(out, ",\"body\":");
+            FastJson.writeTo(outcome.value(), out);
+        }
+        ascii(out, "}\n");
+    }
+
+    // What a command lacks for its op, or null when it can run
+    private static String missing(BatchCommand c) {
+        if (c.op() == null) return "Missing op";
+        if (c.gameId() == null) return "Missing gameId";
+        if (c.player() == null) return "Missing player";
+        if (c.version() != null && c.version() < 0) return "Invalid version";
+        return switch (c.op()) {
+            case "fire" -> c.row() == null || c.col() == null ? "fire needs row and col" : null;
+            case "place-ship" -> c.row() == null || c.col() == null || c.shipType() == null || c.orientation() == null
+                    ? "place-ship needs shipType, row, col and orientation" : null;
+            case "random-placement", "view" -> null;
+            default -> "Unknown op";
+        };
+    }
+
+    // The rest of an error line, after its index
+    private static byte[] error(HttpStatus status, String message) {
+        return (",\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + message + "\"}\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void ascii(ByteArrayOutputStream out, String s) {
+        out.writeBytes(s.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.battleship.service;
+
+import com.example.battleship.util.HashRing;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+// Which cluster node owns which game: the node whose tag ends the game's id, while it is a member, else
+// the one the id hashes to on a HashRing of member URLs. Members are a fixed list (STATIC) or found through
+// heartbeat files in a shared directory (LOCAL).
+@Service
+public class ClusterMembership implements GameService.Ownership {
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+    private static final String SUFFIX = ".node";
+    private static final char TAG_SEPARATOR = '.';
+
+    public enum Discovery { STATIC, LOCAL }
+
+    private final List<String> nodes;
+    // heartbeat directory, or null for a fixed list
+    private final Path dir;
+    private final long ttlMillis;
+    private final int vnodes;
+    private final LongSupplier clock;
+    private GameService svc;
+    private Duration heartbeat;
+    private volatile String self;
+    // null until this node has joined
+    private volatile HashRing ring;
+    // the addresses each other member's requests come from, resolved when the ring is built
+    private volatile Map<String, List<InetAddress>> peers = Map.of();
+    // each member by the tag its game ids end with
+    private volatile Map<String, String> byTag = Map.of();
+    private Thread heartbeatThread;
+    private volatile boolean closed;
+
+    @Autowired
+    public ClusterMembership(GameService svc,
+                             @Value("${battleship.cluster.enabled:false}") boolean enabled,
+                             @Value("${battleship.cluster.self:}") String self,
+                             @Value("${battleship.cluster.nodes:}") List<String> nodes,
+                             @Value("${battleship.cluster.discovery:STATIC}") Discovery discovery,
+                             @Value("${battleship.cluster.dir:${java.io.tmpdir}/battleship-cluster}") Path dir,
+                             @Value("${battleship.cluster.heartbeat:1s}") Duration heartbeat,
+                             @Value("${battleship.cluster.ttl:5s}") Duration ttl,
+                             @Value("${battleship.cluster.vnodes:512}") int vnodes) {
+        this(nodes, discovery == Discovery.LOCAL ? dir : null, ttl, vnodes, System::currentTimeMillis);
+        if (!enabled) return;
+        this.svc = svc;
+        this.heartbeat = heartbeat;
+        // without a configured URL, the node joins once it knows its port
+        if (!self.isBlank()) start(self);
+    }
+
+    // Joined and refreshed by the caller
+    ClusterMembership(Collection<String> nodes, Path dir, Duration ttl, int vnodes, LongSupplier clock) {
+        this.nodes = nodes.stream().filter(n -> !n.isBlank()).map(ClusterMembership::normalize).toList();
+        this.dir = dir;
+        this.ttlMillis = ttl.toMillis();
+        this.vnodes = vnodes;
+        this.clock = clock;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        // the management server, when it has its own port, is not a member
+        if (svc == null || self != null || event.getApplicationContext().getServerNamespace() != null) return;
+        start("http://localhost:" + event.getWebServer().getPort());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        if (heartbeatThread != null) LockSupport.unpark(heartbeatThread);
+        if (dir != null && self != null) {
+            try {
+                Files.deleteIfExists(heartbeatFile());
+            } catch (IOException e) {
+                log.debug("Could not remove heartbeat file", e);
+            }
+        }
+    }
+
+    private void start(String url) {
+        join(url);
+        svc.setOwnership(this);
+        if (dir != null)
+            heartbeatThread = Thread.ofPlatform().daemon().name("cluster-heartbeat").start(this::run);
+    }
+
+    // Takes this node's place in the cluster under `url`, the base URL the other members reach it at
+    void join(String url) {
+        self = normalize(url);
+        if (dir != null) {
+            refresh();
+            return;
+        }
+        if (!nodes.contains(self))
+            throw new IllegalStateException("battleship.cluster.self " + self + " is not in battleship.cluster.nodes");
+        setMembers(nodes);
+    }
+
+    // Once joined, requests for games owned elsewhere are routed
+    public boolean isActive() { return ring != null; }
+
+    // This node's base URL, or null before it joins
+    public String self() { return self; }
+
+    public List<String> members() {
+        var r = ring;
+        return r == null ? List.of() : r.nodes();
+    }
+
+    // A random id ending with this node's tag, so it stays routed here when other members join or leave
+    @Override
+    public String newId() {
+        var id = UUID.randomUUID().toString();
+        return self == null ? id : id + TAG_SEPARATOR + tag(self);
+    }
+
+    public boolean owns(String id) {
+        return ring == null || self.equals(ownerOf(id));
+    }
+
+    // Whether a request claiming to be forwarded by `forwardedBy` really comes from that other member
+    public boolean isForwardedByPeer(String forwardedBy, String remoteAddr) {
+        if (forwardedBy == null || ring == null) return false;
+        var addresses = peers.get(forwardedBy);
+        if (addresses == null) return false;
+        try {
+            // a literal address, so nothing is looked up
+            return addresses.contains(InetAddress.getByName(remoteAddr));
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    // Base URL of the node the game belongs to: its creator if that is still a member, else by hash
+    public String ownerOf(String id) {
+        var r = ring;
+        if (r == null) return self;
+        int sep = id.lastIndexOf(TAG_SEPARATOR);
+        var creator = sep < 0 ? null : byTag.get(id.substring(sep + 1));
+        return creator != null ? creator : r.owner(id);
+    }
+
+    // LOCAL discovery: renews this node's heartbeat and rebuilds the ring if the live members changed
+    void refresh() {
+        long now = clock.getAsLong();
+        var alive = new TreeSet<String>();
+        alive.add(self);
+        try {
+            Files.createDirectories(dir);
+            var file = heartbeatFile();
+            var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, self + "\n" + now);
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            try (var files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+                for (var f : files) {
+                    var member = readHeartbeat(f, now);
+                    if (member != null) alive.add(member);
+                }
+            }
+        } catch (IOException e) {
+            // keep the members we had; the next heartbeat tries again
+            log.warn("Cluster discovery in {} failed", dir, e);
+            if (ring != null) return;
+        }
+        var r = ring;
+        if (r == null || !r.nodes().equals(new ArrayList<>(alive))) setMembers(alive);
+    }
+
+    private void setMembers(Collection<String> members) {
+        var addresses = new HashMap<String, List<InetAddress>>();
+        for (var m : members) {
+            if (m.equals(self)) continue;
+            try {
+                addresses.put(m, List.of(InetAddress.getAllByName(URI.create(m).getHost())));
+            } catch (UnknownHostException | IllegalArgumentException e) {
+                log.warn("Cannot resolve cluster member {}; requests it forwards will not be trusted", m);
+            }
+        }
+        var tags = new HashMap<String, String>();
+        for (var m : members) tags.put(tag(m), m);
+        peers = addresses;
+        byTag = tags;
+        ring = new HashRing(members, vnodes);
+        log.info("Cluster members: {}", ring.nodes());
+    }
+
+    // The member a heartbeat file names if it is young enough, else null
+    private String readHeartbeat(Path f, long now) throws IOException {
+        try {
+            var lines = Files.readAllLines(f);
+            if (lines.size() != 2) return null;
+            return now - Long.parseLong(lines.get(1)) <= ttlMillis ? lines.get(0) : null;
+        } catch (NoSuchFileException | NumberFormatException e) {
+            // removed by a node shutting down, or not ours
+            return null;
+        }
+    }
+
+    private Path heartbeatFile() {
+        return dir.resolve(self.replaceAll("[^A-Za-z0-9]+", "_") + SUFFIX);
+    }
+
+    private void run() {
+        while (!closed) {
+            LockSupport.parkNanos(heartbeat.toNanos());
+            if (closed) return;
+            refresh();
+        }
+    }
+
+    // Short name of a member for game ids; String.hashCode is the same in every JVM
+    private static String tag(String member) {
+        return String.format("%08x", member.hashCode());
+    }
+
+    private static String normalize(String url) {
+        return url.trim().replaceAll("/+$", "");
+    }
+}
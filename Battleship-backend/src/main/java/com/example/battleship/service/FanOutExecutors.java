@@ -0,0 +1,25 @@
+package com.example.battleship.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Executors for the push hubs, kept apart from applicationTaskExecutor so a burst of slow clients cannot
+// hold up batches or other async work
+final class FanOutExecutors {
+
+    private FanOutExecutors() {}
+
+    // A thread per task in virtual mode, else at most `threads` platform threads (0 = 4 per core); the
+    // queue is unbounded but the hubs coalesce their tasks, so it holds at most one per channel and socket
+    static ExecutorService create(String name, boolean virtual, int threads) {
+        if (virtual) return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 0).factory());
+        int n = threads > 0 ? threads : 4 * Runtime.getRuntime().availableProcessors();
+        var pool = new ThreadPoolExecutor(n, n, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().daemon().name(name, 0).factory());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
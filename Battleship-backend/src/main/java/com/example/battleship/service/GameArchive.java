@@ -0,0 +1,361 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.util.ArchiveCodec;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+// Cold storage for finished games: a sweeper moves them from the GameStore into compressed segment files,
+// and load reads one back through a small LRU cache. A block is written before its games leave the store.
+@Service
+public class GameArchive implements GameService.ColdStore {
+    private static final Logger log = LoggerFactory.getLogger(GameArchive.class);
+    private static final Pattern SEGMENT = Pattern.compile("archive-(\\d{6})\\.bsa");
+    // a block's place: segment number above, offset in the segment below
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    private final GameStore store;
+    private final Path dir;
+    private final long afterMillis;
+    private final int blockGames;
+    private final long segmentBytes;
+    private final int cacheSize;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Long> blocks = new ConcurrentHashMap<>();
+    // every block's place in write order; written by open, then the sweeper, and published through the count
+    private long[] blockList = new long[64];
+    private volatile int blockCount;
+    // by segment number; replaced whole when a segment is added or reopened
+    private volatile FileChannel[] segments = new FileChannel[0];
+    private final ReentrantLock segmentLock = new ReentrantLock();
+    // end of the last segment; sweeper only, once opened
+    private long writePos;
+    private final LinkedHashMap<String, Game> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private Thread sweeper;
+    private volatile boolean closed;
+
+    @Autowired
+    public GameArchive(GameService svc, GameStore store,
+                       @Value("${battleship.archive.enabled:false}") boolean enabled,
+                       @Value("${battleship.archive.dir:archive}") Path dir,
+                       @Value("${battleship.archive.after:10m}") Duration after,
+                       @Value("${battleship.archive.interval:30s}") Duration interval,
+                       @Value("${battleship.archive.block-games:256}") int blockGames,
+                       @Value("${battleship.archive.segment-size:64MB}") DataSize segmentSize,
+                       @Value("${battleship.archive.cache-size:256}") int cacheSize) {
+        this(store, dir, after, blockGames, segmentSize.toBytes(), cacheSize, System::currentTimeMillis);
+        if (!enabled) return;
+        open();
+        svc.setColdStore(this);
+        sweeper = Thread.ofPlatform().daemon().name("game-archiver").start(() -> run(interval.toNanos()));
+    }
+
+    // Without a sweeper: the caller opens the archive and sweeps
+    GameArchive(GameStore store, Path dir, Duration after, int blockGames, long segmentBytes, int cacheSize,
+                LongSupplier clock) {
+        if (blockGames < 1 || blockGames > 0xFFFF) throw new IllegalArgumentException("block-games out of range");
+        this.store = store;
+        this.dir = dir;
+        this.afterMillis = after.toMillis();
+        this.blockGames = blockGames;
+        this.segmentBytes = segmentBytes;
+        this.cacheSize = cacheSize;
+        this.clock = clock;
+    }
+
+    // Not interrupted: that would close the segment channel under a read in flight
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        if (sweeper != null) LockSupport.unpark(sweeper);
+        segmentLock.lock();
+        try {
+            for (var ch : segments) closeQuietly(ch);
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    // Games in the archive
+    public int archived() { return blocks.size(); }
+
+    // Place of the block holding the game, or -1; places grow in write order
+    public long blockOf(String id) {
+        var at = blocks.get(id);
+        return at == null ? -1 : at;
+    }
+
+    // Places of the blocks written so far, for scans that split the archive between threads
+    public long[] blocks() {
+        int n = blockCount;
+        return Arrays.copyOf(blockList, n);
+    }
+
+    // Hands every game in the block at `at` to the visitor as its stored record
+    public void forEachRecord(long at, ArchiveCodec.RecordVisitor visitor) {
+        try {
+            var block = readBlock(at);
+            ArchiveCodec.forEachRecord(block[0], block[1], visitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading archive block " + at, e);
+        }
+    }
+
+    public int cached() {
+        cacheLock.lock();
+        try {
+            return cache.size();
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    @Override
+    public Game load(String id) {
+        var at = blocks.get(id);
+        if (at == null) return null;
+        cacheLock.lock();
+        try {
+            var g = cache.get(id);
+            if (g != null) return g;
+        } finally {
+            cacheLock.unlock();
+        }
+        Game g;
+        try {
+            var block = readBlock(at);
+            var record = ArchiveCodec.find(block[0], block[1], id);
+            if (record == null) throw new IllegalStateException("Game " + id + " missing from its archive block");
+            g = ArchiveCodec.decodeGame(id, record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading archived game " + id, e);
+        }
+        cacheLock.lock();
+        try {
+            // two readers raced: keep the first, so callers see one instance
+            var first = cache.putIfAbsent(id, g);
+            if (first != null) return first;
+            if (cache.size() > cacheSize) {
+                var eldest = cache.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            return g;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    // A block's index and compressed body
+    private byte[][] readBlock(long at) throws IOException {
+        int seg = (int) (at >>> OFFSET_BITS);
+        long pos = at & OFFSET_MASK;
+        var header = read(seg, pos, ArchiveCodec.HEADER);
+        var index = read(seg, pos + ArchiveCodec.HEADER, ArchiveCodec.indexLength(header));
+        var body = read(seg, pos + ArchiveCodec.HEADER + index.length, ArchiveCodec.bodyLength(header));
+        return new byte[][] {index, body};
+    }
+
+    private void addBlock(long at) {
+        int n = blockCount;
+        if (n == blockList.length) blockList = Arrays.copyOf(blockList, n * 2);
+        blockList[n] = at;
+        blockCount = n + 1;
+    }
+
+    // Reads the segments already on disk and indexes their blocks
+    void open() {
+        try {
+            Files.createDirectories(dir);
+            var found = new ArrayList<Integer>();
+            try (var files = Files.list(dir)) {
+                files.forEach(f -> {
+                    var m = SEGMENT.matcher(f.getFileName().toString());
+                    if (m.matches()) found.add(Integer.parseInt(m.group(1)));
+                });
+            }
+            found.sort(null);
+            var chs = new FileChannel[found.isEmpty() ? 1 : found.get(found.size() - 1) + 1];
+            for (int seg : found) {
+                chs[seg] = openSegment(seg);
+                writePos = scan(seg, chs[seg]);
+            }
+            if (found.isEmpty()) chs[0] = openSegment(0);
+            segments = chs;
+            log.info("Game archive in {}: {} games in {} segments", dir, blocks.size(), found.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Opening game archive in " + dir, e);
+        }
+    }
+
+    // Moves every game finished longer ago than the delay into the archive; returns how many moved
+    int sweep() {
+        long cutoff = clock.getAsLong() - afterMillis;
+        int moved = 0;
+        while (true) {
+            var games = store.finishedBy(cutoff, blockGames);
+            if (games.isEmpty()) return moved;
+            var ids = new ArrayList<String>(games.size());
+            var records = new ArrayList<byte[]>(games.size());
+            int raw = 0;
+            for (var g : games) {
+                if (raw >= ArchiveCodec.MAX_BODY) break;
+                // a finished game changes no more, but a refused command may still hold it for a moment
+                var record = g.read(version -> ArchiveCodec.encodeGame(g, version));
+                ids.add(g.getId());
+                records.add(record);
+                raw += record.length;
+            }
+            long at;
+            try {
+                at = append(ArchiveCodec.encodeBlock(ids, records));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Writing to game archive in " + dir, e);
+            }
+            addBlock(at);
+            for (int i = 0; i < ids.size(); i++) {
+                blocks.put(ids.get(i), at);
+                var g = games.get(i);
+                if (store.get(g.getId()) == g) store.delete(g.getId());
+            }
+            moved += ids.size();
+        }
+    }
+
+    private void run(long intervalNanos) {
+        while (!closed) {
+            LockSupport.parkNanos(intervalNanos);
+            if (closed) return;
+            try {
+                int moved = sweep();
+                if (moved > 0) log.debug("Archived {} finished games", moved);
+            } catch (RuntimeException e) {
+                log.warn("Archiving finished games failed", e);
+            }
+        }
+    }
+
+    // Writes a block at the end of the last segment, or of a new one once that is full; returns its place
+    private long append(byte[] block) throws IOException {
+        var chs = segments;
+        int seg = chs.length - 1;
+        if (writePos > 0 && writePos + block.length > segmentBytes) {
+            seg++;
+            var ch = openSegment(seg);
+            segmentLock.lock();
+            try {
+                chs = Arrays.copyOf(segments, seg + 1);
+                chs[seg] = ch;
+                segments = chs;
+            } finally {
+                segmentLock.unlock();
+            }
+            writePos = 0;
+        }
+        var ch = chs[seg];
+        long at = writePos;
+        var buf = ByteBuffer.wrap(block);
+        while (buf.hasRemaining()) ch.write(buf, at + buf.position());
+        // on disk before the games leave memory
+        ch.force(false);
+        writePos = at + block.length;
+        return (long) seg << OFFSET_BITS | at;
+    }
+
+    // Indexes a segment's blocks from their headers; returns where the next block goes
+    private long scan(int seg, FileChannel ch) throws IOException {
+        long size = ch.size(), pos = 0;
+        try {
+            while (pos + ArchiveCodec.HEADER <= size) {
+                var header = readFully(ch, pos, ArchiveCodec.HEADER);
+                long end = pos + ArchiveCodec.HEADER
+                        + ArchiveCodec.indexLength(header) + (long) ArchiveCodec.bodyLength(header);
+                if (end > size) break;
+                var index = readFully(ch, pos + ArchiveCodec.HEADER, ArchiveCodec.indexLength(header));
+                long at = (long) seg << OFFSET_BITS | pos;
+                for (var id : ArchiveCodec.ids(index)) blocks.put(id, at);
+                addBlock(at);
+                pos = end;
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Bad block in archive segment {} at {}: {}", seg, pos, e.getMessage());
+        }
+        if (pos < size) {
+            log.warn("Cutting archive segment {} from {} to {} bytes", seg, size, pos);
+            ch.truncate(pos);
+        }
+        return pos;
+    }
+
+    // A positional read, reopening the segment if another reader was interrupted and so closed it
+    private byte[] read(int seg, long pos, int length) throws IOException {
+        var ch = segments[seg];
+        try {
+            return readFully(ch, pos, length);
+        } catch (ClosedChannelException e) {
+            // this reader was the one interrupted, or the archive is shut
+            if (closed || Thread.currentThread().isInterrupted()) throw e;
+            return readFully(reopen(seg, ch), pos, length);
+        }
+    }
+
+    private FileChannel reopen(int seg, FileChannel closed) throws IOException {
+        segmentLock.lock();
+        try {
+            var chs = segments;
+            if (chs[seg] != closed) return chs[seg];
+            chs = chs.clone();
+            chs[seg] = openSegment(seg);
+            segments = chs;
+            return chs[seg];
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private FileChannel openSegment(int seg) throws IOException {
+        return FileChannel.open(dir.resolve(String.format("archive-%06d.bsa", seg)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static byte[] readFully(FileChannel ch, long pos, int length) throws IOException {
+        var buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining())
+            if (ch.read(buf, pos + buf.position()) < 0) throw new IOException("Archive segment ends early");
+        return buf.array();
+    }
+
+    private static void closeQuietly(FileChannel ch) {
+        if (ch == null) return;
+        try {
+            ch.close();
+        } catch (IOException ignored) {
+            // shutting down
+        }
+    }
+}
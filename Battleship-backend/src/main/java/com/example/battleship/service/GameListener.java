@@ -0,0 +1,15 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Game;
+
+// Hook for components that react to game changes, registered with GameService.addListener.
+// Called on the request thread, so keep it cheap.
+public interface GameListener {
+    // Called once the game is in the store, before any command can reach it
+    default void onGameCreated(Game game) {}
+
+    default void onGameUpdated(Game game) {}
+
+    // Called once, right after fire or a forfeit sets the winner and before onGameUpdated
+    default void onGameFinished(Game game) {}
+}
@@ -2,221 +2,414 @@ package com.example.battleship.service;
 
 import com.example.battleship.domain.*;
 import com.example.battleship.dto.*;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.engine.RuleViolation;
 import com.example.battleship.util.Masking;
+import com.example.battleship.util.ReplayCodec;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class GameService {
+    // expected version meaning "whatever is current": the command waits a moment for a concurrent one to finish
+    // instead of failing at once
+    public static final long ANY_VERSION = -1;
+    private static final int SPINS_BEFORE_YIELD = 100;
+    // how long that moment is; a game held past it is reported as CONCURRENT_UPDATE, as with If-Match
+    private static final long CLAIM_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final GameStore store;
-    private final SecureRandom rnd = new SecureRandom();
+    private final long claimWaitNanos;
+    // where games that have left the store may still be found
+    private volatile ColdStore cold = id -> null;
+    private volatile Ownership ownership = () -> UUID.randomUUID().toString();
+    // copied on add (startup only), so notifying walks a plain array without allocating an iterator
+    private volatile GameListener[] listeners = new GameListener[0];
+    private final ReentrantLock listenerLock = new ReentrantLock();
+    // SecureRandom reads /dev/urandom inside a JDK monitor; taking it behind a ReentrantLock means a
+    // virtual thread waiting for it parks instead of pinning its carrier
+    private final SecureRandom seeds = new SecureRandom();
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    @Autowired
+    public GameService(GameStore store) { this(store, CLAIM_WAIT_NANOS); }
+
+    GameService(GameStore store, long claimWaitNanos) {
+        this.store = store;
+        this.claimWaitNanos = claimWaitNanos;
+    }
 
-    public GameService(GameStore store) { this.store = store; }
+    public void addListener(GameListener listener) {
+        listenerLock.lock();
+        try {
+            var grown = Arrays.copyOf(listeners, listeners.length + 1);
+            grown[grown.length - 1] = listener;
+            listeners = grown;
+        } finally {
+            listenerLock.unlock();
+        }
+    }
 
     // Create a new game
     public Game createGame(String p1Name, String p2Name) {
-        var id = UUID.randomUUID().toString();
-        var g = new Game(id);
+        checkPlayerName(p1Name);
+        checkPlayerName(p2Name);
+        var g = new Game(ownership.newId());
         if (p1Name != null && !p1Name.isBlank()) g.setPlayerName(Player.P1, p1Name);
         if (p2Name != null && !p2Name.isBlank()) g.setPlayerName(Player.P2, p2Name);
         store.put(g);
+        for (var l : listeners) l.onGameCreated(g);
         return g;
     }
 
+    // Refuses a name too long for a replay to hold; a char is at most 3 UTF-8 bytes, so most skip encoding
+    public static void checkPlayerName(String name) {
+        if (name == null || name.length() * 3 <= ReplayCodec.MAX_NAME_BYTES) return;
+        if (name.getBytes(StandardCharsets.UTF_8).length > ReplayCodec.MAX_NAME_BYTES)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Player name longer than " + ReplayCodec.MAX_NAME_BYTES + " bytes");
+    }
+
+    // Games that are no longer in the store, such as archived ones, are looked up here on a miss
+    public interface ColdStore {
+        // The game rebuilt, or null when it is not there either
+        Game load(String id);
+    }
+
+    public void setColdStore(ColdStore cold) { this.cold = cold; }
+
+    // Where new game ids come from; in a cluster, ids that name the node creating them
+    public interface Ownership {
+        String newId();
+    }
+
+    public void setOwnership(Ownership ownership) { this.ownership = ownership; }
+
     public Game getGameOr404(String id) {
-        var g = store.get(id);
-        if (g == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found");
+        var g = findGame(id);
+        if (g == null) throw Rejection.GAME_NOT_FOUND.toException();
         return g;
     }
 
+    // null when there is no such game
+    public Game findGame(String id) {
+        var g = store.get(id);
+        return g != null ? g : cold.load(id);
+    }
+
     // Placement of ships
     public void placeShip(Game game, PlaceShipRequest req) {
-        ensurePlacingPhase(game, req.player());
-
-        var board = game.getBoard(req.player());
-        var cells = computeCells(req.row(), req.col(), req.orientation(), req.shipType().length);
-
-        if (!canPlaceShip(board, cells))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid placement (overlap/touch/out of bounds)");
+        tryPlaceShip(game, req).orThrow();
+    }
 
-        // place
-        var ship = new Ship(req.shipType(), cells);
-        board.getShips().add(ship);
-        for (var c : cells) board.getGrid()[c.row()][c.col()] = CellState.SHIP;
+    public Outcome<Void> tryPlaceShip(Game game, PlaceShipRequest req) {
+        return tryPlaceShip(game, req, ANY_VERSION);
+    }
 
-        // if all 5 ships placed -> advance state
-        if (board.getShips().size() == 5) {
-            if (game.getState() == GameState.PLACING_P1) game.setState(GameState.PLACING_P2);
-            else if (game.getState() == GameState.PLACING_P2) game.setState(GameState.TURN_P1);
+    public Outcome<Void> tryPlaceShip(Game game, PlaceShipRequest req, long expectedVersion) {
+        var claim = begin(game, expectedVersion);
+        if (claim != null) return Outcome.rejected(claim);
+        RuleViolation v;
+        long version;
+        // until the command says otherwise: one that throws may have left the game half-changed
+        boolean changed = true;
+        try {
+            var before = game.getState();
+            v = GameEngine.placeShip(game, req.player(), req.shipType(), req.row(), req.col(), req.orientation());
+            if (game.getState() != before) store.stateChanged(game, before);
+            changed = v == null;
+        } finally {
+            version = release(game, changed);
         }
+        if (v != null) return Outcome.rejected(Rejection.of(v));
+        return committed(game, null, version);
     }
 
     // Random placement of ships
     public void randomPlacement(Game game, Player player) {
-        ensurePlacingPhase(game, player);
-        var board = game.getBoard(player);
-        board.getShips().clear();
-        for (int r=0;r<Board.SIZE;r++)
-            for (int c=0;c<Board.SIZE;c++)
-                board.getGrid()[r][c] = CellState.EMPTY;
-
-        for (var type : ShipType.values()) {
-            boolean placed = false;
-            for (int tries = 0; tries < 500 && !placed; tries++) {
-                var ori = rnd.nextBoolean() ? Orientation.HORIZONTAL : Orientation.VERTICAL;
-                int row = rnd.nextInt(Board.SIZE);
-                int col = rnd.nextInt(Board.SIZE);
-                var cells = computeCells(row, col, ori, type.length);
-                if (canPlaceShip(board, cells)) {
-                    var ship = new Ship(type, cells);
-                    board.getShips().add(ship);
-                    for (var cell : cells) board.getGrid()[cell.row()][cell.col()] = CellState.SHIP;
-                    placed = true;
-                }
-            }
-            if (!placed)
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Random placement failed, try again.");
+        tryRandomPlacement(game, player).orThrow();
+    }
+
+    public Outcome<Void> tryRandomPlacement(Game game, Player player) {
+        return tryRandomPlacement(game, player, ANY_VERSION);
+    }
+
+    public Outcome<Void> tryRandomPlacement(Game game, Player player, long expectedVersion) {
+        var rnd = new SplittableRandom(nextSeed());
+        var claim = begin(game, expectedVersion);
+        if (claim != null) return Outcome.rejected(claim);
+        RuleViolation v;
+        long version;
+        // until the command says otherwise: one that throws may have left the game half-changed
+        boolean changed = true;
+        try {
+            var before = game.getState();
+            v = GameEngine.randomPlacement(game, player, rnd);
+            if (game.getState() != before) store.stateChanged(game, before);
+            // a failed attempt has already cleared the board, so it still counts as a change
+            changed = v == null || v == RuleViolation.RANDOM_PLACEMENT_FAILED;
+        } finally {
+            version = release(game, changed);
         }
+        if (v != null) return Outcome.rejected(Rejection.of(v));
+        return committed(game, null, version);
+    }
 
-        if (game.getState() == GameState.PLACING_P1) game.setState(GameState.PLACING_P2);
-        else if (game.getState() == GameState.PLACING_P2) game.setState(GameState.TURN_P1);
+    private long nextSeed() {
+        seedLock.lock();
+        try {
+            return seeds.nextLong();
+        } finally {
+            seedLock.unlock();
+        }
     }
 
     // Fire at opponent
     public FireResponse fire(Game game, FireRequest request) {
-        ensureTurnPhase(game, request.player());
-
-        var attacker = request.player();
-        var defender = attacker == Player.P1 ? Player.P2 : Player.P1;
-        var defBoard = game.getBoard(defender);
-
-        if (!defBoard.inBounds(request.row(), request.col()))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Shot out of bounds");
+        return tryFire(game, request).orThrow();
+    }
 
-        var st = defBoard.getGrid()[request.row()][request.col()];
+    public Outcome<FireResponse> tryFire(Game game, FireRequest request) {
+        return tryFire(game, request, ANY_VERSION);
+    }
 
-        // ✅ already-fired cell: throw error
-        if (st == CellState.HIT) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cell already targeted");
+    public Outcome<FireResponse> tryFire(Game game, FireRequest request, long expectedVersion) {
+        var claim = begin(game, expectedVersion);
+        if (claim != null) return Outcome.rejected(claim);
+        int result;
+        GameState state;
+        Player winner;
+        long version;
+        // until the command says otherwise: one that throws may have left the game half-changed
+        boolean changed = true;
+        try {
+            var before = game.getState();
+            result = GameEngine.fire(game, request.player(), request.row(), request.col());
+            state = game.getState();
+            winner = game.getWinner();
+            // a turn change is a no-op for the indexes; only a win moves the game
+            if (state != before) store.stateChanged(game, before);
+            changed = !GameEngine.isRejected(result) && !GameEngine.isRepeat(result);
+        } finally {
+            version = release(game, changed);
         }
+        if (GameEngine.isRejected(result)) return Outcome.rejected(Rejection.of(GameEngine.violation(result)));
 
-        if (st == CellState.MISS || st == CellState.SUNK) {
-            return new FireResponse(
-                    false,                  // hit
-                    false,                  // sunk
-                    null,                   // sunkType
-                    game.getState().name(), // nextState (unchanged)
-                    game.getWinner()        // winner (unchanged, usually null)
-            );
-        }
+        var response = FireResponse.of(GameEngine.isHit(result), GameEngine.sunkType(result), state, winner);
+        if (!changed) return Outcome.ok(response, version);
 
-        boolean hit = false;
-        boolean sunk = false;
-        String sunkType = null;
-        var target = new Coord(request.row(), request.col());
-
-        if (st == CellState.SHIP) {
-            hit = true;
-            defBoard.getGrid()[request.row()][request.col()] = CellState.HIT;
-
-            for (var ship : defBoard.getShips()) {
-                if (ship.registerHit(target)) {
-                    if (ship.isSunk()) {
-                        sunk = true;
-                        sunkType = ship.getType().name();
-                        for (var c : ship.getCells())
-                            defBoard.getGrid()[c.row()][c.col()] = CellState.SUNK;
-                    }
-                    break;
-                }
-            }
-        } else {
-            defBoard.getGrid()[request.row()][request.col()] = CellState.MISS;
-        }
+        if (GameEngine.isWin(result))
+            for (var l : listeners) l.onGameFinished(game);
+        return committed(game, response, version);
+    }
 
-        // check the loser
-        if (defBoard.getShips().stream().allMatch(Ship::isSunk)) {
-            game.setWinner(attacker);
-            game.setState(GameState.FINISHED);
-            return new FireResponse(hit, sunk, sunkType, game.getState().name(), game.getWinner());
+    // Ends the game in the loser's opponent's favour, whatever phase it is in
+    public Outcome<Void> tryForfeit(Game game, Player loser, long expectedVersion) {
+        var claim = begin(game, expectedVersion);
+        if (claim != null) return Outcome.rejected(claim);
+        RuleViolation v;
+        long version;
+        // until the command says otherwise: one that throws may have left the game half-changed
+        boolean changed = true;
+        try {
+            var before = game.getState();
+            v = GameEngine.forfeit(game, loser);
+            if (v == null) store.stateChanged(game, before);
+            changed = v == null;
+        } finally {
+            version = release(game, changed);
         }
+        if (v != null) return Outcome.rejected(Rejection.of(v));
 
-        // advance turn
-        if (game.getState() == GameState.TURN_P1) game.setState(GameState.TURN_P2);
-        else if (game.getState() == GameState.TURN_P2) game.setState(GameState.TURN_P1);
+        for (var l : listeners) l.onGameFinished(game);
+        return committed(game, null, version);
+    }
 
-        return new FireResponse(hit, sunk, sunkType, game.getState().name(), null);
+    // Claims the game for one command, or says why not. With an expected version the claim is a single
+    // compare-and-set; without one it retries for a bounded time while another command is in the way.
+    private Rejection begin(Game game, long expectedVersion) {
+        if (expectedVersion != ANY_VERSION) {
+            if (game.tryBeginUpdate(expectedVersion)) return null;
+            return game.getVersion() == expectedVersion ? Rejection.CONCURRENT_UPDATE : Rejection.VERSION_MISMATCH;
+        }
+        long deadline = 0;
+        for (int spins = 0; !game.tryBeginUpdate(game.getVersion()); spins++) {
+            if (spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (spins == SPINS_BEFORE_YIELD) deadline = System.nanoTime() + claimWaitNanos;
+            else if (System.nanoTime() - deadline > 0) return Rejection.CONCURRENT_UPDATE;
+            Thread.yield();
+        }
+        return null;
     }
 
+    // Ends the claim from begin, in a finally so a command that throws still lets the game go; returns the
+    // version the command left the game at. A throwing command ends as a change, so a reader that overlapped
+    // it cannot validate a half-changed game against the version it started from.
+    private static long release(Game game, boolean changed) {
+        long version = game.getVersion() + (changed ? 1 : 0);
+        game.endUpdate(changed);
+        return version;
+    }
 
+    // Listeners hear about a change only after it is released, so they can read the game again
+    private <T> Outcome<T> committed(Game game, T value, long version) {
+        notifyUpdated(game);
+        return Outcome.ok(value, version);
+    }
 
-    // View game state
+    // View game state, as of one version
     public GameViewDto view(Game game, Player viewer) {
-        var your = copyGrid(game.getBoard(viewer).getGrid());
-        var oppMasked = Masking.maskOpponent(game.getOpponentBoard(viewer).getGrid());
-        return new GameViewDto(
-                game.getId(),
-                game.getState(),
-                game.getWinner(),
-                game.getPlayerName(Player.P1),
-                game.getPlayerName(Player.P2),
-                your,
-                oppMasked
-        );
+        for (;;) {
+            long version = game.beginRead();
+            var view = new GameViewDto(
+                    game.getId(),
+                    game.getState(),
+                    game.getWinner(),
+                    game.getPlayerName(Player.P1),
+                    game.getPlayerName(Player.P2),
+                    copyGrid(game.getBoard(viewer).getGrid()),
+                    Masking.maskOpponent(game.getOpponentBoard(viewer).getGrid()),
+                    version
+            );
+            if (game.validateRead(version)) return view;
+        }
     }
 
+    // Both players' views from one read of the game: each board is copied once, and that copy is both its
+    // owner's board and (masked) the opponent's view of it, so the two views cannot disagree
+    public GameViewsDto views(Game game) {
+        long version;
+        GameState state;
+        Player winner;
+        String p1Name, p2Name;
+        CellState[][] p1Board, p2Board;
+        do {
+            version = game.beginRead();
+            state = game.getState();
+            winner = game.getWinner();
+            p1Name = game.getPlayerName(Player.P1);
+            p2Name = game.getPlayerName(Player.P2);
+            p1Board = copyGrid(game.getBoard(Player.P1).getGrid());
+            p2Board = copyGrid(game.getBoard(Player.P2).getGrid());
+        } while (!game.validateRead(version));
+
+        var id = game.getId();
+        return new GameViewsDto(
+                new GameViewDto(id, state, winner, p1Name, p2Name, p1Board, maskShared(p2Board), version),
+                new GameViewDto(id, state, winner, p1Name, p2Name, p2Board, maskShared(p1Board), version)
+        );
+    }
 
-
-    //
-    private void ensurePlacingPhase(Game game, Player player) {
-        if (player == Player.P1 && game.getState() != GameState.PLACING_P1)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not in PLACING_P1");
-        if (player == Player.P2 && game.getState() != GameState.PLACING_P2)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not in PLACING_P2");
+    // Spectator view: both boards masked
+    public SpectatorViewDto spectate(Game game) {
+        for (;;) {
+            long version = game.beginRead();
+            var view = new SpectatorViewDto(
+                    game.getId(),
+                    game.getState(),
+                    game.getWinner(),
+                    game.getPlayerName(Player.P1),
+                    game.getPlayerName(Player.P2),
+                    Masking.maskOpponent(game.getBoard(Player.P1).getGrid()),
+                    Masking.maskOpponent(game.getBoard(Player.P2).getGrid())
+            );
+            if (game.validateRead(version)) return view;
+        }
     }
 
-    // Ensure it's the player's turn
-    private void ensureTurnPhase(Game game, Player player) {
-        if (player == Player.P1 && game.getState() != GameState.TURN_P1)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not your turn");
-        if (player == Player.P2 && game.getState() != GameState.TURN_P2)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not your turn");
+    // Page of games from the store's secondary indexes, each summarized as of one version
+    public GamePageDto list(GameState state, String player, Instant finishedSince, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        IGameStore.Page page;
+        try {
+            page = store.list(state, player, finishedSince == null ? null : finishedSince.toEpochMilli(), cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        var games = new ArrayList<GameSummaryDto>(page.games().size());
+        for (var g : page.games()) {
+            var summary = summary(g);
+            // the index may lag a command that just finished
+            if (state == null || summary.state() == state) games.add(summary);
+        }
+        return new GamePageDto(games, page.next());
     }
 
-    // Compute the list of cells a ship would occupy
-    private List<Coord> computeCells(int row, int col, Orientation o, int len) {
-        var cells = new ArrayList<Coord>(len);
-        for (int i=0;i<len;i++) {
-            int r = o == Orientation.HORIZONTAL ? row : row + i;
-            int c = o == Orientation.HORIZONTAL ? col + i : col;
-            cells.add(new Coord(r, c));
+    private static GameSummaryDto summary(Game game) {
+        for (;;) {
+            long version = game.beginRead();
+            var summary = new GameSummaryDto(game.getId(), game.getState(), game.getWinner(),
+                    game.getPlayerName(Player.P1), game.getPlayerName(Player.P2), version);
+            if (game.validateRead(version)) return summary;
         }
-        return cells;
     }
 
-    // Check if a ship can be placed at the given cells
-    private boolean canPlaceShip(Board b, List<Coord> cells) {
+    // Export game as binary replay
+    public byte[] exportReplay(Game game, boolean compress) {
+        return game.read(version -> ReplayCodec.encode(game, compress));
+    }
 
-        for (var c : cells) {
-            if (!b.inBounds(c.row(), c.col())) return false;
+    // Rebuild a game from a binary replay by playing it again through the engine; listeners only hear
+    // that the finished rebuild was created, so importing a replay does not count it as played again
+    public Game importReplay(byte[] data) {
+        Replay replay;
+        try {
+            replay = ReplayCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid replay: " + e.getMessage());
         }
 
-        for (var c : cells) {
-            for (int dr=-1; dr<=1; dr++) {
-                for (int dc=-1; dc<=1; dc++) {
-                    int rr = c.row()+dr, cc = c.col()+dc;
-                    if (b.inBounds(rr, cc) && b.getGrid()[rr][cc] == CellState.SHIP)
-                        return false;
-                }
-            }
+        var g = new Game(ownership.newId());
+        g.setPlayerName(Player.P1, replay.p1Name());
+        g.setPlayerName(Player.P2, replay.p2Name());
+        for (var p : replay.placements()) {
+            var v = GameEngine.placeShip(g, p.player(), p.shipType(), p.row(), p.col(), p.orientation());
+            if (v != null) throw invalidReplay(v);
+        }
+        for (var shot : replay.shots()) {
+            int result = GameEngine.fire(g, shot.player(), shot.row(), shot.col());
+            if (GameEngine.isRejected(result)) throw invalidReplay(GameEngine.violation(result));
+        }
+        var winner = replay.winner();
+        if (winner != null && g.getState() != GameState.FINISHED) {
+            // forfeited: the winner's opponent gave up in whatever phase the replay stops at
+            GameEngine.forfeit(g, winner == Player.P1 ? Player.P2 : Player.P1);
+        } else if (winner != null && winner != g.getWinner()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid replay: winner does not match the shots");
         }
-        return true;
+        store.put(g);
+        for (var l : listeners) l.onGameCreated(g);
+        return g;
+    }
+
+    private static ResponseStatusException invalidReplay(RuleViolation v) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid replay: " + Rejection.of(v).message);
     }
 
+    private void notifyUpdated(Game game) {
+        for (var l : listeners) l.onGameUpdated(game);
+    }
+
+    // Masked copy of a private snapshot, or the snapshot itself when it has no ships left to hide
+    private static CellState[][] maskShared(CellState[][] g) {
+        for (var row : g)
+            for (var cell : row)
+                if (cell == CellState.SHIP) return Masking.maskOpponent(g);
+        return g;
+    }
 
     private CellState[][] copyGrid(CellState[][] g) {
         var out = new CellState[Board.SIZE][Board.SIZE];
@@ -0,0 +1,121 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.Player;
+import com.example.battleship.util.WireCodec;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes each seat's view to the game's open sockets after every change, one snapshot per game per push.
+// Pushes can overtake the result of the command that caused them; versions order the two.
+@Component
+public class GameSocketHub implements GameListener {
+
+    // One socket's outbound side; send must be safe to call from several threads
+    public interface Sink {
+        void send(byte[] frame) throws IOException;
+        void close();
+    }
+
+    private final GameService svc;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger sockets = new AtomicInteger();
+
+    public GameSocketHub(GameService svc,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtual,
+                         @Value("${battleship.socket.push-threads:0}") int threads) {
+        this.svc = svc;
+        this.executor = FanOutExecutors.create("socket-push-", virtual, threads);
+        svc.addListener(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void onGameUpdated(Game game) {
+        var ch = channels.get(game.getId());
+        if (ch == null) return;
+        ch.dirty = true;
+        if (ch.scheduled.compareAndSet(false, true))
+            executor.execute(() -> publish(ch, game));
+    }
+
+    public Peer join(Game game, Player player, Sink sink) {
+        var peer = new Peer(game.getId(), player, sink);
+        channels.compute(game.getId(), (id, existing) -> {
+            var c = existing != null ? existing : new Channel();
+            c.peers.add(peer);
+            return c;
+        });
+        sockets.incrementAndGet();
+        return peer;
+    }
+
+    public void leave(Peer peer) {
+        if (!peer.joined.compareAndSet(true, false)) return;
+        sockets.decrementAndGet();
+        channels.computeIfPresent(peer.gameId, (id, ch) -> {
+            ch.peers.remove(peer);
+            return ch.peers.isEmpty() ? null : ch;
+        });
+    }
+
+    // Open sockets across all games
+    public int sockets() { return sockets.get(); }
+
+    // Only one publish per channel runs at a time, so each socket gets pushes in version order
+    private void publish(Channel ch, Game game) {
+        do {
+            do {
+                ch.dirty = false;
+                var views = svc.views(game);
+                byte[] p1 = null, p2 = null;
+                for (var peer : ch.peers) {
+                    byte[] frame;
+                    if (peer.player == Player.P1) frame = p1 != null ? p1 : (p1 = WireCodec.view(0, views.p1()));
+                    else frame = p2 != null ? p2 : (p2 = WireCodec.view(0, views.p2()));
+                    try {
+                        peer.sink.send(frame);
+                    } catch (IOException | RuntimeException e) {
+                        leave(peer);
+                        peer.sink.close();
+                    }
+                }
+            } while (ch.dirty);
+            ch.scheduled.set(false);
+        } while (ch.dirty && ch.scheduled.compareAndSet(false, true));
+    }
+
+    private static class Channel {
+        final CopyOnWriteArrayList<Peer> peers = new CopyOnWriteArrayList<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean dirty;
+    }
+
+    public static final class Peer {
+        private final String gameId;
+        private final Player player;
+        private final Sink sink;
+        private final AtomicBoolean joined = new AtomicBoolean(true);
+
+        Peer(String gameId, Player player, Sink sink) {
+            this.gameId = gameId;
+            this.player = player;
+            this.sink = sink;
+        }
+
+        public Player player() { return player; }
+    }
+}
@@ -1,27 +1,75 @@
 package com.example.battleship.service;
 
 import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
+// Games by id, plus skip-list indexes by state and by player name whose cursor is the last key a listing
+// returned. Index updates trail the game change, so listings recheck each game's state; see the README.
 @Component
 public class GameStore implements IGameStore {
-    private final ConcurrentHashMap<String, Game> store = new ConcurrentHashMap<>();
+    private static final String NO_PLAYER = "";
+    private static final int PLACING_P1 = 0, PLACING_P2 = 1, PLAYING = 2, FINISHED = 3;
+    private static final int[] INDEX = new int[GameState.values().length];
+    // keys visited per requested game when the filter is narrower than the index walked
+    private static final int SCAN_FACTOR = 16;
+
+    static {
+        INDEX[GameState.PLACING_P1.ordinal()] = PLACING_P1;
+        INDEX[GameState.PLACING_P2.ordinal()] = PLACING_P2;
+        INDEX[GameState.TURN_P1.ordinal()] = PLAYING;
+        INDEX[GameState.TURN_P2.ordinal()] = PLAYING;
+        INDEX[GameState.FINISHED.ordinal()] = FINISHED;
+    }
+
+    private final ConcurrentHashMap<String, Entry> store = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final ConcurrentSkipListSet<IndexKey>[] byState = new ConcurrentSkipListSet[FINISHED + 1];
+    private final ConcurrentSkipListSet<IndexKey> byPlayer = new ConcurrentSkipListSet<>();
+    private final LongSupplier clock;
+
+    public GameStore() { this(System::currentTimeMillis); }
+
+    GameStore(LongSupplier clock) {
+        this.clock = clock;
+        for (int i = 0; i < byState.length; i++) byState[i] = new ConcurrentSkipListSet<>();
+    }
 
     @Override
     public void put(Game g) {
-        store.put(g.getId(), g);
+        long now = clock.getAsLong();
+        var p1 = g.getPlayerName(Player.P1);
+        var p2 = g.getPlayerName(Player.P2);
+        var e = new Entry(g, new IndexKey(p1, now, g.getId()),
+                p2.equals(p1) ? null : new IndexKey(p2, now, g.getId()),
+                new IndexKey(NO_PLAYER, now, g.getId()), INDEX[g.getState().ordinal()]);
+        var old = store.put(g.getId(), e);
+        if (old != null) unindex(old);
+        byPlayer.add(e.p1);
+        if (e.p2 != null) byPlayer.add(e.p2);
+        byState[e.index].add(e.stateKey);
+        // lost a race with delete or another put of this id
+        if (store.get(g.getId()) != e) unindex(e);
     }
 
     @Override
     public Game get(String id) {
-        return store.get(id);
+        var e = store.get(id);
+        return e == null ? null : e.game;
     }
 
     @Override
     public void delete(String id) {
-        store.remove(id);
+        var e = store.remove(id);
+        if (e != null) unindex(e);
     }
 
     @Override
@@ -29,10 +77,117 @@ public class GameStore implements IGameStore {
         return store.containsKey(id);
     }
 
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    // Weakly consistent: sees each game present for the whole iteration, maybe some added or removed during it
+    @Override
+    public void forEach(Consumer<Game> action) {
+        store.values().forEach(e -> action.accept(e.game));
+    }
+
     @Override
     public void clear() {
         store.clear();
+        byPlayer.clear();
+        for (var index : byState) index.clear();
     }
 
+    // Called by the command that holds the game; a turn change returns after comparing two ints
+    @Override
+    public void stateChanged(Game g, GameState from) {
+        int to = INDEX[g.getState().ordinal()];
+        if (to == INDEX[from.ordinal()]) return;
+        var e = store.get(g.getId());
+        if (e == null || e.game != g) return;
+        var key = new IndexKey(NO_PLAYER, clock.getAsLong(), g.getId());
+        var old = e.stateKey;
+        int oldIndex = e.index;
+        e.index = to;
+        e.stateKey = key;
+        byState[oldIndex].remove(old);
+        byState[to].add(key);
+        // deleted meanwhile: delete may have read the old key, so take the new one out here too
+        if (store.get(g.getId()) != e) byState[to].remove(key);
+    }
+
+    @Override
+    public Page list(GameState state, String player, Long finishedSince, String cursor, int limit) {
+        ConcurrentSkipListSet<IndexKey> index;
+        IndexKey from;
+        if (player != null) {
+            index = byPlayer;
+            from = new IndexKey(player, Long.MIN_VALUE, "");
+        } else if (finishedSince != null) {
+            index = byState[FINISHED];
+            from = new IndexKey(NO_PLAYER, finishedSince, "");
+        } else if (state != null) {
+            index = byState[INDEX[state.ordinal()]];
+            from = new IndexKey(NO_PLAYER, Long.MIN_VALUE, "");
+        } else {
+            throw new IllegalArgumentException("Filter by state, player or finish time");
+        }
+        var after = cursor == null ? null : IndexKey.parse(player != null ? player : NO_PLAYER, cursor);
+        if (cursor != null && after == null) throw new IllegalArgumentException("Invalid cursor");
+        boolean inclusive = true;
+        if (after != null && after.compareTo(from) >= 0) {
+            from = after;
+            inclusive = false;
+        }
+        // walking a state index needs no filter unless it is a shared turn index
+        boolean exact = player == null && (finishedSince != null || state == null || INDEX[state.ordinal()] != PLAYING);
+        int budget = exact ? limit : limit * SCAN_FACTOR;
+
+        var games = new ArrayList<Game>(Math.min(limit, 64));
+        var it = index.tailSet(from, inclusive).iterator();
+        IndexKey last = null;
+        while (games.size() < limit && budget-- > 0 && it.hasNext()) {
+            var key = it.next();
+            if (player != null && !key.player().equals(player)) return new Page(games, null);
+            last = key;
+            var e = store.get(key.id());
+            if (e == null) continue;
+            if (state != null && e.game.getState() != state) continue;
+            if (finishedSince != null && (e.index != FINISHED || e.stateKey.at() < finishedSince)) continue;
+            games.add(e.game);
+        }
+        return new Page(games, it.hasNext() && last != null ? last.cursor() : null);
+    }
+
+    @Override
+    public List<Game> finishedBy(long time, int limit) {
+        var games = new ArrayList<Game>(Math.min(limit, 64));
+        for (var key : byState[FINISHED].headSet(new IndexKey(NO_PLAYER, time + 1, ""))) {
+            if (games.size() >= limit) break;
+            var e = store.get(key.id());
+            if (e != null && e.index == FINISHED) games.add(e.game);
+        }
+        return games;
+    }
+
+    // The state key is read once and taken out of every state index, since a move may be under way
+    private void unindex(Entry e) {
+        byPlayer.remove(e.p1);
+        if (e.p2 != null) byPlayer.remove(e.p2);
+        var key = e.stateKey;
+        for (var index : byState) index.remove(key);
+    }
+
+    private static final class Entry {
+        final Game game;
+        final IndexKey p1;
+        final IndexKey p2;    // null when both players have the same name
+        volatile IndexKey stateKey;
+        volatile int index;
 
+        Entry(Game game, IndexKey p1, IndexKey p2, IndexKey stateKey, int index) {
+            this.game = game;
+            this.p1 = p1;
+            this.p2 = p2;
+            this.stateKey = stateKey;
+            this.index = index;
+        }
+    }
 }
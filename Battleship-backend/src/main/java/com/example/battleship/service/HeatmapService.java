@@ -0,0 +1,230 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Board;
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.Orientation;
+import com.example.battleship.domain.Player;
+import com.example.battleship.domain.ShipType;
+import com.example.battleship.dto.HeatmapDto;
+import com.example.battleship.dto.Replay;
+import com.example.battleship.dto.ShipTypeStatsDto;
+import com.example.battleship.util.ArchiveCodec;
+import com.example.battleship.util.ReplayCodec;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Ship placement and shot heatmaps over every live and archived game, one fork/join pass at a time.
+// The store is snapshotted before the archive's block list, so a game archived mid-pass counts exactly once.
+@Service
+public class HeatmapService {
+    private static final Logger log = LoggerFactory.getLogger(HeatmapService.class);
+    private static final int N = Board.SIZE;
+    private static final int CELLS = N * N;
+    private static final ShipType[] TYPES = ShipType.values();
+    // leaf sizes: live games are cheap to read, a block holds up to a few hundred games
+    private static final int GAMES_PER_TASK = 2048;
+    private static final int BLOCKS_PER_TASK = 4;
+
+    private final GameStore store;
+    private final GameArchive archive;
+    private final ForkJoinPool pool;
+    private final long maxAgeNanos;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by lock
+    private HeatmapDto last;
+    private long lastAt;
+
+    @Autowired
+    public HeatmapService(GameStore store, GameArchive archive,
+                          @Value("${battleship.analytics.parallelism:0}") int parallelism,
+                          @Value("${battleship.analytics.max-age:60s}") Duration maxAge) {
+        this(store, archive, parallelism, maxAge, System::nanoTime);
+    }
+
+    HeatmapService(GameStore store, GameArchive archive, int parallelism, Duration maxAge, LongSupplier clock) {
+        this.store = store;
+        this.archive = archive;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxAgeNanos = maxAge.toNanos();
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public HeatmapDto heatmap() {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            if (last != null && now - lastAt < maxAgeNanos) return last;
+            last = scan();
+            lastAt = now;
+            return last;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private HeatmapDto scan() {
+        long start = System.nanoTime();
+        var live = new ArrayList<Game>(store.size());
+        store.forEach(live::add);
+        var blocks = archive.blocks();
+        long lastBlock = blocks.length == 0 ? -1 : blocks[blocks.length - 1];
+
+        var games = live.toArray(new Game[0]);
+        var tally = pool.invoke(new Scan(games, blocks, lastBlock, 0, games.length + blocks.length));
+        if (tally.skipped > 0) log.warn("Heatmap skipped {} unreadable archived games", tally.skipped);
+        return tally.toDto((System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Indexes below games.length are live games, the rest archive blocks; a leaf holds one kind only
+    private final class Scan extends RecursiveTask<Tally> {
+        private final Game[] games;
+        private final long[] blocks;
+        private final long lastBlock;
+        private final int lo, hi;
+
+        Scan(Game[] games, long[] blocks, long lastBlock, int lo, int hi) {
+            this.games = games;
+            this.blocks = blocks;
+            this.lastBlock = lastBlock;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Tally compute() {
+            int split = games.length;
+            boolean mixed = lo < split && hi > split;
+            int grain = lo < split ? GAMES_PER_TASK : BLOCKS_PER_TASK;
+            if (!mixed && hi - lo <= grain) return leaf();
+            int mid = mixed ? split : (lo + hi) >>> 1;
+            var left = new Scan(games, blocks, lastBlock, lo, mid);
+            left.fork();
+            var tally = new Scan(games, blocks, lastBlock, mid, hi).compute();
+            return tally.add(left.join());
+        }
+
+        private Tally leaf() {
+            var tally = new Tally();
+            if (lo < games.length) {
+                for (int i = lo; i < hi; i++) {
+                    var g = games[i];
+                    long at = archive.blockOf(g.getId());
+                    // archived before the block list was taken: counted from there
+                    if (at >= 0 && at <= lastBlock) continue;
+                    tally.game(ReplayCodec.decode(g.read(version -> ReplayCodec.encode(g, false))), false);
+                }
+            } else {
+                for (int i = lo; i < hi; i++)
+                    archive.forEachRecord(blocks[i - games.length], (raw, offset, length) -> {
+                        Replay replay;
+                        try {
+                            replay = ArchiveCodec.replay(raw, offset, length);
+                        } catch (IllegalArgumentException e) {
+                            tally.skipped++;
+                            return;
+                        }
+                        tally.game(replay, true);
+                    });
+            }
+            return tally;
+        }
+    }
+
+    // Counts for part of the games; one per leaf, merged pairwise
+    static final class Tally {
+        final long[] placements = new long[CELLS];
+        final long[] firstShots = new long[CELLS];
+        final long[] placed = new long[TYPES.length];
+        final long[] cellsHit = new long[TYPES.length];
+        final long[] sunk = new long[TYPES.length];
+        long games, archived, shots, hits, skipped;
+        // per game: which type sits on each cell of either board (0 = water), and hits taken per ship
+        private final byte[] board = new byte[2 * CELLS];
+        private final int[] damage = new int[2 * TYPES.length];
+
+        void game(Replay replay, boolean fromArchive) {
+            Arrays.fill(board, (byte) 0);
+            Arrays.fill(damage, 0);
+            for (var p : replay.placements()) {
+                int base = p.player() == Player.P1 ? 0 : CELLS;
+                int type = p.shipType().ordinal();
+                int step = p.orientation() == Orientation.HORIZONTAL ? 1 : N;
+                int cell = p.row() * N + p.col();
+                placed[type]++;
+                for (int i = 0; i < p.shipType().length; i++, cell += step) {
+                    board[base + cell] = (byte) (type + 1);
+                    placements[cell]++;
+                }
+            }
+            boolean p1Fired = false, p2Fired = false;
+            for (var s : replay.shots()) {
+                int cell = s.row() * N + s.col();
+                boolean p1 = s.player() == Player.P1;
+                if (p1 ? !p1Fired : !p2Fired) firstShots[cell]++;
+                if (p1) p1Fired = true; else p2Fired = true;
+                shots++;
+                int defender = p1 ? 1 : 0;
+                int type = board[defender * CELLS + cell] - 1;
+                if (type < 0) continue;
+                hits++;
+                cellsHit[type]++;
+                if (++damage[defender * TYPES.length + type] == TYPES[type].length) sunk[type]++;
+            }
+            games++;
+            if (fromArchive) archived++;
+        }
+
+        Tally add(Tally o) {
+            for (int i = 0; i < CELLS; i++) {
+                placements[i] += o.placements[i];
+                firstShots[i] += o.firstShots[i];
+            }
+            for (int t = 0; t < TYPES.length; t++) {
+                placed[t] += o.placed[t];
+                cellsHit[t] += o.cellsHit[t];
+                sunk[t] += o.sunk[t];
+            }
+            games += o.games;
+            archived += o.archived;
+            shots += o.shots;
+            hits += o.hits;
+            skipped += o.skipped;
+            return this;
+        }
+
+        HeatmapDto toDto(long elapsedMs) {
+            var ships = new ArrayList<ShipTypeStatsDto>(TYPES.length);
+            for (var type : TYPES) {
+                int t = type.ordinal();
+                long cells = placed[t] * type.length;
+                ships.add(new ShipTypeStatsDto(type, placed[t], cellsHit[t], sunk[t],
+                        cells == 0 ? 0 : (double) cellsHit[t] / cells));
+            }
+            return new HeatmapDto(games, archived, shots, hits, grid(placements), grid(firstShots), ships, elapsedMs);
+        }
+
+        private static long[][] grid(long[] cells) {
+            var g = new long[N][];
+            for (int r = 0; r < N; r++) g[r] = Arrays.copyOfRange(cells, r * N, r * N + N);
+            return g;
+        }
+    }
+}
@@ -2,12 +2,32 @@ package com.example.battleship.service;
 
 
 import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface IGameStore {
     void put(Game game);
     Game get(String id);
     void delete(String id);
     boolean exists(String id);
+    int size();
+    void forEach(Consumer<Game> action);
     void clear();
+
+    // Keeps the secondary indexes current; called while the caller still holds the game
+    void stateChanged(Game game, GameState from);
+
+    // Games in `state`, of `player` or finished since a time (epoch millis), whichever filters are given,
+    // continuing after `cursor`; throws IllegalArgumentException without a filter or for a bad cursor
+    Page list(GameState state, String player, Long finishedSince, String cursor, int limit);
+
+    // Up to `limit` games that finished at or before `time` (epoch millis), the longest finished first
+    List<Game> finishedBy(long time, int limit);
+
+    // One page of a listing; `next` is null once the index is exhausted. A page may hold fewer games than
+    // asked for, even none, when the filter is narrower than the index behind it.
+    record Page(List<Game> games, String next) {}
 }
 
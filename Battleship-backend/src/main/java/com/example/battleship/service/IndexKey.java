@@ -0,0 +1,27 @@
+package com.example.battleship.service;
+
+// A game's place in a secondary index: player name (empty in the state indexes), when it got there, then id
+public record IndexKey(String player, long at, String id) implements Comparable<IndexKey> {
+
+    @Override
+    public int compareTo(IndexKey o) {
+        int c = player.compareTo(o.player);
+        if (c != 0) return c;
+        c = Long.compare(at, o.at);
+        return c != 0 ? c : id.compareTo(o.id);
+    }
+
+    // The position as a page cursor; the player is part of the query, not the cursor
+    public String cursor() { return at + "_" + id; }
+
+    // null for anything cursor() cannot have produced
+    public static IndexKey parse(String player, String cursor) {
+        int sep = cursor.indexOf('_');
+        if (sep <= 0 || sep == cursor.length() - 1) return null;
+        try {
+            return new IndexKey(player, Long.parseLong(cursor, 0, sep, 10), cursor.substring(sep + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.CellState;
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.PlayerStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-player aggregates, updated once per game when fire sets the winner, and a top-K snapshot that is
+// only rebuilt when a finished game can change it. See the README.
+@Service
+public class LeaderboardService implements GameListener {
+    private static final Comparator<PlayerStatsDto> RANKING =
+            Comparator.comparingLong(PlayerStatsDto::wins).reversed().thenComparing(PlayerStatsDto::player);
+
+    private final int size;
+    private final ConcurrentHashMap<String, Stats> players = new ConcurrentHashMap<>();
+    private final ReentrantLock rankLock = new ReentrantLock();
+    private volatile List<PlayerStatsDto> top = List.of();
+
+    public LeaderboardService(GameService games, @Value("${battleship.leaderboard.size:10}") int size) {
+        this.size = size;
+        games.addListener(this);
+    }
+
+    @Override
+    public void onGameFinished(Game game) {
+        int length = game.getShotCount();
+        var winner = game.getWinner();
+        for (var p : Player.values()) {
+            var stats = players.computeIfAbsent(game.getPlayerName(p), Stats::new);
+            var target = game.getOpponentBoard(p).getGrid();
+            long shots = 0, hits = 0;
+            for (int i = 0; i < length; i++) {
+                if (game.getShotPlayer(i) != p) continue;
+                shots++;
+                var cell = target[game.getShotRow(i)][game.getShotCol(i)];
+                if (cell == CellState.HIT || cell == CellState.SUNK) hits++;
+            }
+            stats.games.increment();
+            (p == winner ? stats.wins : stats.losses).increment();
+            stats.shots.add(shots);
+            stats.hits.add(hits);
+            stats.gameLength.add(length);
+        }
+        rerank(game.getPlayerName(winner), game.getPlayerName(winner == Player.P1 ? Player.P2 : Player.P1));
+    }
+
+    public List<PlayerStatsDto> top() { return top; }
+
+    public PlayerStatsDto stats(String player) {
+        var s = players.get(player);
+        return s == null ? null : s.snapshot();
+    }
+
+    private void rerank(String winner, String loser) {
+        var current = top;
+        boolean winnerIn = contains(current, winner), loserIn = contains(current, loser);
+        if (!winnerIn && !loserIn && current.size() == size
+                && RANKING.compare(players.get(winner).snapshot(), current.get(size - 1)) > 0)
+            return;
+
+        rankLock.lock();
+        try {
+            var candidates = new ArrayList<PlayerStatsDto>(top.size() + 1);
+            for (var e : top) candidates.add(players.get(e.player()).snapshot());
+            if (!contains(top, winner)) candidates.add(players.get(winner).snapshot());
+            candidates.sort(RANKING);
+            top = List.copyOf(candidates.subList(0, Math.min(size, candidates.size())));
+        } finally {
+            rankLock.unlock();
+        }
+    }
+
+    private static boolean contains(List<PlayerStatsDto> list, String player) {
+        for (var e : list) if (e.player().equals(player)) return true;
+        return false;
+    }
+
+    private static class Stats {
+        final String player;
+        final LongAdder games = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final LongAdder losses = new LongAdder();
+        final LongAdder shots = new LongAdder();
+        final LongAdder hits = new LongAdder();
+        final LongAdder gameLength = new LongAdder();
+
+        Stats(String player) { this.player = player; }
+
+        PlayerStatsDto snapshot() {
+            long g = games.sum(), s = shots.sum(), h = hits.sum();
+            return new PlayerStatsDto(player, g, wins.sum(), losses.sum(), s, h,
+                    s == 0 ? 0 : (double) h / s,
+                    g == 0 ? 0 : (double) gameLength.sum() / g);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.MatchResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+// Pairs queued players into games through a single lock-free slot holding at most one waiting ticket;
+// the second player to arrive creates the game on the spot. See the README.
+@Service
+public class MatchmakingService {
+    private static final int WAITING = 0, MATCHED = 1, CANCELLED = 2;
+    private static final long RETENTION_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final GameService games;
+    private final long idleNanos;
+    private final LongSupplier clock;
+    private final AtomicReference<Ticket> slot = new AtomicReference<>();
+    private final ConcurrentHashMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+    // Idempotency-Key -> the ticket its first join made
+    private final ConcurrentHashMap<String, Ticket> byKey = new ConcurrentHashMap<>();
+    // matched tickets in match order, forgotten after RETENTION_NANOS if nobody collects them
+    private final ConcurrentLinkedQueue<Ticket> matched = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public MatchmakingService(GameService games,
+                              @Value("${battleship.matchmaking.idle-timeout:2m}") Duration idleTimeout) {
+        this(games, idleTimeout, System::nanoTime);
+    }
+
+    MatchmakingService(GameService games, Duration idleTimeout, LongSupplier clock) {
+        this.games = games;
+        this.idleNanos = idleTimeout.toNanos();
+        this.clock = clock;
+    }
+
+    public MatchResponse join(String name) {
+        return join(name, null);
+    }
+
+    // `key`, when not null, makes a retried join return the ticket the first one got
+    public MatchResponse join(String name, String key) {
+        GameService.checkPlayerName(name);
+        expireMatched();
+        var me = new Ticket(UUID.randomUUID().toString(), name, key, clock.getAsLong());
+        tickets.put(me.id, me);
+        if (key != null) {
+            var earlier = byKey.putIfAbsent(key, me);
+            if (earlier != null) {
+                tickets.remove(me.id);
+                earlier.lastSeen = clock.getAsLong();
+                return earlier.response();
+            }
+        }
+        for (;;) {
+            var waiting = slot.get();
+            if (waiting == null) {
+                if (slot.compareAndSet(null, me)) return me.response();
+            } else if (isIdle(waiting)) {
+                // abandoned: its player stopped polling, so nobody would take the seat
+                if (slot.compareAndSet(waiting, null) && waiting.state.compareAndSet(WAITING, CANCELLED))
+                    forget(waiting);
+            } else if (slot.compareAndSet(waiting, null) && waiting.state.compareAndSet(WAITING, MATCHED)) {
+                // the earlier player gets P1 and the first move
+                me.state.set(MATCHED);
+                var g = games.createGame(waiting.name, name);
+                waiting.complete(g.getId(), Player.P1);
+                me.complete(g.getId(), Player.P2);
+                matched.add(waiting);
+                matched.add(me);
+                return me.response();
+            }
+        }
+    }
+
+    // Completes with the match, or with the still-waiting status once timeoutMs passes
+    public CompletableFuture<MatchResponse> await(String ticketId, long timeoutMs) {
+        var t = getTicketOr404(ticketId);
+        if (t.result.isDone()) {
+            tickets.remove(ticketId);
+            return t.result;
+        }
+        t.polls.incrementAndGet();
+        var poll = t.result.copy().completeOnTimeout(t.response(), timeoutMs, TimeUnit.MILLISECONDS);
+        poll.whenComplete((r, e) -> {
+            t.lastSeen = clock.getAsLong();
+            t.polls.decrementAndGet();
+        });
+        return poll;
+    }
+
+    public MatchResponse cancel(String ticketId) {
+        var t = getTicketOr404(ticketId);
+        if (!t.state.compareAndSet(WAITING, CANCELLED))
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ticket already matched");
+        slot.compareAndSet(t, null);
+        forget(t);
+        return t.response();
+    }
+
+    public boolean isWaiting() { return slot.get() != null; }
+
+    private Ticket getTicketOr404(String ticketId) {
+        var t = tickets.get(ticketId);
+        if (t == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found");
+        return t;
+    }
+
+    // Waiting with no long-poll open, and none for idle-timeout
+    private boolean isIdle(Ticket t) {
+        return t.polls.get() == 0 && clock.getAsLong() - t.lastSeen > idleNanos;
+    }
+
+    // Drops a cancelled ticket and wakes anyone still polling it
+    private void forget(Ticket t) {
+        tickets.remove(t.id);
+        if (t.key != null) byKey.remove(t.key, t);
+        t.result.complete(t.response());
+    }
+
+    private void expireMatched() {
+        long now = clock.getAsLong();
+        Ticket t;
+        while ((t = matched.peek()) != null && now - t.matchedAt > RETENTION_NANOS) {
+            if (matched.remove(t)) {
+                tickets.remove(t.id);
+                if (t.key != null) byKey.remove(t.key, t);
+            }
+        }
+    }
+
+    private class Ticket {
+        final String id;
+        final String name;
+        final String key;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        final CompletableFuture<MatchResponse> result = new CompletableFuture<>();
+        // long-polls open on the ticket, and when the last one ended
+        final AtomicInteger polls = new AtomicInteger();
+        volatile long lastSeen;
+        volatile long matchedAt;
+
+        Ticket(String id, String name, String key, long now) {
+            this.id = id;
+            this.name = name;
+            this.key = key;
+            this.lastSeen = now;
+        }
+
+        void complete(String gameId, Player player) {
+            matchedAt = clock.getAsLong();
+            result.complete(new MatchResponse(id, "MATCHED", gameId, player));
+        }
+
+        MatchResponse response() {
+            var r = result.getNow(null);
+            if (r != null) return r;
+            return new MatchResponse(id, state.get() == CANCELLED ? "CANCELLED" : "WAITING", null, null);
+        }
+    }
+}
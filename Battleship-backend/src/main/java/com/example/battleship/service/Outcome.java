@@ -0,0 +1,38 @@
+package com.example.battleship.service;
+
+// Result of a game command: a value and the game version it left behind, or the Rejection that stopped
+// it. Rejected outcomes are shared constants, so refusing a move allocates nothing.
+public final class Outcome<T> {
+    private static final Outcome<?>[] REJECTED = new Outcome<?>[Rejection.values().length];
+
+    static {
+        for (var r : Rejection.values()) REJECTED[r.ordinal()] = new Outcome<>(null, r, -1);
+    }
+
+    private final T value;
+    private final Rejection rejection;
+    private final long version;
+
+    private Outcome(T value, Rejection rejection, long version) {
+        this.value = value;
+        this.rejection = rejection;
+        this.version = version;
+    }
+
+    public static <T> Outcome<T> ok(T value, long version) { return new Outcome<>(value, null, version); }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Outcome<T> rejected(Rejection r) { return (Outcome<T>) REJECTED[r.ordinal()]; }
+
+    public boolean isOk() { return rejection == null; }
+    public T value() { return value; }
+    public Rejection rejection() { return rejection; }
+    // game version after the command; -1 when rejected
+    public long version() { return version; }
+
+    // For callers that still want the exception-based contract
+    public T orThrow() {
+        if (rejection != null) throw rejection.toException();
+        return value;
+    }
+}
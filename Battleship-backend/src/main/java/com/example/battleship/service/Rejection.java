@@ -0,0 +1,41 @@
+package com.example.battleship.service;
+
+import com.example.battleship.engine.RuleViolation;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// Why a command was refused, with the HTTP status and message clients have always seen for it
+public enum Rejection {
+    GAME_NOT_FOUND(HttpStatus.NOT_FOUND, "Game not found"),
+    NOT_IN_PLACING_P1(HttpStatus.BAD_REQUEST, "Not in PLACING_P1"),
+    NOT_IN_PLACING_P2(HttpStatus.BAD_REQUEST, "Not in PLACING_P2"),
+    INVALID_PLACEMENT(HttpStatus.BAD_REQUEST, "Invalid placement (overlap/touch/out of bounds)"),
+    RANDOM_PLACEMENT_FAILED(HttpStatus.BAD_REQUEST, "Random placement failed, try again."),
+    NOT_YOUR_TURN(HttpStatus.BAD_REQUEST, "Not your turn"),
+    OUT_OF_BOUNDS(HttpStatus.BAD_REQUEST, "Shot out of bounds"),
+    CELL_ALREADY_TARGETED(HttpStatus.BAD_REQUEST, "Cell already targeted"),
+    GAME_OVER(HttpStatus.BAD_REQUEST, "Game is over"),
+    VERSION_MISMATCH(HttpStatus.PRECONDITION_FAILED, "Game has changed since the given version"),
+    CONCURRENT_UPDATE(HttpStatus.CONFLICT, "Game is being changed by another request, try again");
+
+    // engine violations share their names with the matching rejections
+    private static final Rejection[] BY_VIOLATION = new Rejection[RuleViolation.values().length];
+
+    static {
+        for (var v : RuleViolation.values()) BY_VIOLATION[v.ordinal()] = valueOf(v.name());
+    }
+
+    public final HttpStatus status;
+    public final String message;
+
+    Rejection(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    public static Rejection of(RuleViolation v) { return BY_VIOLATION[v.ordinal()]; }
+
+    public ResponseStatusException toException() {
+        return new ResponseStatusException(status, message);
+    }
+}
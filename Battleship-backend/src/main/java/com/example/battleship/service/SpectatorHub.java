@@ -0,0 +1,215 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.util.FastJson;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans spectator frames out to subscribers: each change is serialized once into a server-sent-event frame
+// that every subscriber's bounded queue shares, written on the hub's own threads. See the README.
+@Component
+public class SpectatorHub implements GameListener {
+
+    // Writes one frame to a subscriber; may block on a slow client
+    public interface Sink {
+        void send(byte[] frame) throws IOException;
+
+        // Ends the subscriber's stream once the hub has given up on it; called on the thread that last sent
+        default void close() {}
+    }
+
+    private final GameService svc;
+    private final Executor executor;
+    private final int bufferSize;
+    private final long sendTimeLimitNanos;
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SpectatorHub(GameService svc,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtual,
+                        @Value("${battleship.spectator.threads:0}") int threads,
+                        @Value("${battleship.spectator.buffer-size:16}") int bufferSize,
+                        @Value("${battleship.spectator.send-time-limit:10s}") Duration sendTimeLimit) {
+        this(svc, FanOutExecutors.create("spectator-", virtual, threads), bufferSize, sendTimeLimit);
+    }
+
+    SpectatorHub(GameService svc, Executor executor, int bufferSize, Duration sendTimeLimit) {
+        this.svc = svc;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+        svc.addListener(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService es) es.shutdownNow();
+    }
+
+    @Override
+    public void onGameUpdated(Game game) {
+        var ch = channels.get(game.getId());
+        if (ch == null) return;
+        ch.dirty = true;
+        if (ch.scheduled.compareAndSet(false, true))
+            executor.execute(() -> publish(ch, game));
+    }
+
+    public Subscription subscribe(Game game, Sink sink) {
+        var sub = new Subscription(game.getId(), sink, bufferSize);
+        var ch = channels.compute(game.getId(), (id, existing) -> {
+            var c = existing != null ? existing : new Channel();
+            c.subscribers.add(sub);
+            return c;
+        });
+        // a new subscriber starts from the latest frame, building one if nobody has yet
+        var frame = ch.lastFrame;
+        if (frame == null) frame = encode(ch, game);
+        sub.offer(frame);
+        executor.execute(sub::drain);
+        return sub;
+    }
+
+    public void unsubscribe(Subscription sub) {
+        sub.closed = true;
+        channels.computeIfPresent(sub.gameId, (id, ch) -> {
+            ch.subscribers.remove(sub);
+            return ch.subscribers.isEmpty() ? null : ch;
+        });
+    }
+
+    public int subscriberCount(String gameId) {
+        var ch = channels.get(gameId);
+        return ch == null ? 0 : ch.subscribers.size();
+    }
+
+    // Only one publish per channel runs at a time, so frames reach each queue in sequence order
+    private void publish(Channel ch, Game game) {
+        do {
+            do {
+                ch.dirty = false;
+                var frame = encode(ch, game);
+                for (var sub : ch.subscribers) {
+                    sub.offer(frame);
+                    if (sub.draining.compareAndSet(false, true))
+                        executor.execute(sub::drainClaimed);
+                }
+            } while (ch.dirty);
+            ch.scheduled.set(false);
+        } while (ch.dirty && ch.scheduled.compareAndSet(false, true));
+    }
+
+    private byte[] encode(Channel ch, Game game) {
+        var json = FastJson.write(svc.spectate(game));
+        var head = ("id: " + ch.seq.incrementAndGet() + "\nevent: state\ndata: ").getBytes(StandardCharsets.US_ASCII);
+        var frame = new byte[head.length + json.length + 2];
+        System.arraycopy(head, 0, frame, 0, head.length);
+        System.arraycopy(json, 0, frame, head.length, json.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        ch.lastFrame = frame;
+        return frame;
+    }
+
+    private static class Channel {
+        final CopyOnWriteArrayList<Subscription> subscribers = new CopyOnWriteArrayList<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean dirty;
+        final AtomicLong seq = new AtomicLong();
+        volatile byte[] lastFrame;
+    }
+
+    public class Subscription {
+        private final String gameId;
+        private final Sink sink;
+        private final ArrayBlockingQueue<byte[]> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicInteger dropped = new AtomicInteger();
+        private volatile boolean closed;
+        // when the send in progress began, 0 between sends
+        private volatile long sendStarted;
+        // set when the hub gives up on the subscriber; whoever drains next closes the sink
+        private final AtomicBoolean cutOff = new AtomicBoolean();
+        private volatile boolean sinkClosed;
+
+        Subscription(String gameId, Sink sink, int capacity) {
+            this.gameId = gameId;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        public int getDropped() { return dropped.get(); }
+
+        void offer(byte[] frame) {
+            while (!queue.offer(frame)) {
+                long started = sendStarted;
+                if (started != 0 && System.nanoTime() - started > sendTimeLimitNanos) {
+                    // stalled: one send has not returned in the time limit, so stop feeding it
+                    cutOff();
+                    return;
+                }
+                // slow consumer: throw away the backlog, the newest snapshot replaces it
+                dropped.addAndGet(queue.size());
+                queue.clear();
+            }
+        }
+
+        private void cutOff() {
+            if (!cutOff.compareAndSet(false, true)) return;
+            unsubscribe(this);
+            queue.clear();
+            // the stalled send's thread closes the sink when it returns; this only covers one that just did
+            executor.execute(this::drain);
+        }
+
+        void drain() {
+            if (draining.compareAndSet(false, true)) drainClaimed();
+        }
+
+        // Runs with the draining flag held; only one writer per subscriber at a time
+        void drainClaimed() {
+            do {
+                try {
+                    byte[] frame;
+                    while (!closed && (frame = queue.poll()) != null) {
+                        sendStarted = System.nanoTime();
+                        sink.send(frame);
+                        sendStarted = 0;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    unsubscribe(this);
+                } finally {
+                    sendStarted = 0;
+                    if (closed && cutOff.get()) closeSink();
+                    draining.set(false);
+                }
+                // a frame, or the cut-off, may have arrived after the last check but before the flag was released
+            } while ((closed ? cutOff.get() && !sinkClosed : !queue.isEmpty()) && draining.compareAndSet(false, true));
+        }
+
+        // With the draining flag held
+        private void closeSink() {
+            if (sinkClosed) return;
+            sinkClosed = true;
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                // already gone
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Board;
+import com.example.battleship.domain.CellState;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// The built-in tournament strategies, by name. Ties are reservoir-sampled while scanning, so choosing a
+// shot allocates nothing.
+public final class Strategies {
+    private static final int N = Board.SIZE;
+    private static final Map<String, Strategy> BUILT_IN;
+
+    static {
+        var m = new LinkedHashMap<String, Strategy>();
+        m.put("sweep", Strategies::sweep);
+        m.put("random", Strategies::random);
+        m.put("hunt-target", (t, rnd) -> huntTarget(t, rnd, false));
+        m.put("parity", (t, rnd) -> huntTarget(t, rnd, true));
+        BUILT_IN = Collections.unmodifiableMap(m);
+    }
+
+    private Strategies() {}
+
+    public static Set<String> names() { return BUILT_IN.keySet(); }
+
+    // null when there is no strategy by that name
+    public static Strategy get(String name) { return BUILT_IN.get(name); }
+
+    static int sweep(CellState[][] t, SplittableRandom rnd) {
+        for (int r = 0; r < N; r++)
+            for (int c = 0; c < N; c++)
+                if (t[r][c] == CellState.EMPTY) return r * N + c;
+        return -1;
+    }
+
+    static int random(CellState[][] t, SplittableRandom rnd) {
+        int pick = -1, seen = 0;
+        for (int r = 0; r < N; r++)
+            for (int c = 0; c < N; c++)
+                if (t[r][c] == CellState.EMPTY && rnd.nextInt(++seen) == 0) pick = r * N + c;
+        return pick;
+    }
+
+    static int huntTarget(CellState[][] t, SplittableRandom rnd, boolean parity) {
+        // target: unknown cells next to a hit that is not sunk yet, best of all those continuing a line of hits
+        int pick = -1, best = 0, seen = 0;
+        for (int r = 0; r < N; r++) {
+            for (int c = 0; c < N; c++) {
+                if (t[r][c] != CellState.EMPTY) continue;
+                int score = targetScore(t, r, c);
+                if (score > best) {
+                    pick = r * N + c;
+                    best = score;
+                    seen = 1;
+                } else if (score == best && score > 0 && rnd.nextInt(++seen) == 0) {
+                    pick = r * N + c;
+                }
+            }
+        }
+        if (pick >= 0) return pick;
+
+        // hunt
+        seen = 0;
+        for (int r = 0; r < N; r++)
+            for (int c = 0; c < N; c++)
+                if (t[r][c] == CellState.EMPTY && (!parity || (r + c) % 2 == 0) && rnd.nextInt(++seen) == 0)
+                    pick = r * N + c;
+        return pick >= 0 || !parity ? pick : random(t, rnd);
+    }
+
+    // 2 when the cell extends two hits in a line, 1 when it only touches a hit, else 0
+    private static int targetScore(CellState[][] t, int r, int c) {
+        int score = 0;
+        for (int d = 0; d < 4; d++) {
+            int dr = d == 0 ? 1 : d == 1 ? -1 : 0;
+            int dc = d == 2 ? 1 : d == 3 ? -1 : 0;
+            if (!hit(t, r + dr, c + dc)) continue;
+            if (hit(t, r + 2 * dr, c + 2 * dc)) return 2;
+            score = 1;
+        }
+        return score;
+    }
+
+    private static boolean hit(CellState[][] t, int r, int c) {
+        return r >= 0 && r < N && c >= 0 && c < N && t[r][c] == CellState.HIT;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.CellState;
+
+import java.util.SplittableRandom;
+
+// A bot's shot selection, as played in tournaments: given the opponent's board as seen so far, the next
+// cell as row * Board.SIZE + col. Shared by every match, so it keeps no state; see the README.
+@FunctionalInterface
+public interface Strategy {
+    int nextShot(CellState[][] target, SplittableRandom rnd);
+}
@@ -0,0 +1,375 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.StandingDto;
+import com.example.battleship.dto.TournamentDto;
+import com.example.battleship.dto.TournamentRequest;
+import com.example.battleship.dto.TournamentRequest.Format;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Runs bot tournaments in-process on a fixed worker pool against a private GameService, handing out one
+// match at a time to each tournament in turn. See the README.
+@Service
+public class TournamentService {
+    private static final Logger log = LoggerFactory.getLogger(TournamentService.class);
+    private static final int N = Board.SIZE;
+    private static final int RUNNING = 0, FINISHED = 1, CANCELLED = 2, FAILED = 3;
+    private static final String[] STATES = {"RUNNING", "FINISHED", "CANCELLED", "FAILED"};
+
+    private final GameService engine = new GameService(new GameStore());
+    private final long maxMatches;
+    private final int retained;
+    private final LinkedBlockingQueue<Tournament> runQueue = new LinkedBlockingQueue<>();
+    private final ConcurrentHashMap<String, Tournament> tournaments = new ConcurrentHashMap<>();
+    // ended tournaments in the order they ended; the oldest are forgotten beyond `retained`
+    private final ConcurrentLinkedQueue<Tournament> ended = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger endedCount = new AtomicInteger();
+    private final Thread[] workers;
+
+    public TournamentService(@Value("${battleship.tournament.parallelism:0}") int parallelism,
+                             @Value("${battleship.tournament.max-matches:1000000}") long maxMatches,
+                             @Value("${battleship.tournament.retained:100}") int retained) {
+        this.maxMatches = maxMatches;
+        this.retained = retained;
+        // by default leave half the cores to request handling
+        int n = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        var factory = Thread.ofPlatform().daemon().name("tournament-", 0).factory();
+        workers = new Thread[n];
+        for (int i = 0; i < n; i++) {
+            workers[i] = factory.newThread(this::work);
+            workers[i].start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (var w : workers) w.interrupt();
+    }
+
+    public TournamentDto create(TournamentRequest req) {
+        var requested = req.strategies();
+        int n = requested.size();
+        if (n < 2) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A tournament needs two entrants");
+        var names = new String[n];
+        var strategies = new Strategy[n];
+        var entries = new HashMap<String, Integer>();
+        for (int i = 0; i < n; i++) {
+            var name = requested.get(i);
+            strategies[i] = name == null ? null : Strategies.get(name);
+            if (strategies[i] == null)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown strategy: " + name);
+            int entry = entries.merge(name, 1, Integer::sum);
+            names[i] = entry == 1 ? name : name + "#" + entry;
+        }
+
+        int rounds = req.rounds() != null ? req.rounds()
+                : req.format() == Format.SWISS ? 32 - Integer.numberOfLeadingZeros(n - 1) : 1;
+        long matches = req.format() == Format.ROUND_ROBIN ? (long) rounds * n * (n - 1) / 2 : (long) rounds * (n / 2);
+        if (rounds < 1 || matches > maxMatches)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A tournament may have between 1 and " + maxMatches + " matches");
+
+        var t = new Tournament(UUID.randomUUID().toString(), req.format(), names, requested, strategies, rounds, matches);
+        tournaments.put(t.id, t);
+        runQueue.add(t);
+        return t.snapshot();
+    }
+
+    public TournamentDto get(String id) { return getTournamentOr404(id).snapshot(); }
+
+    // Stops handing out matches; those already being played still count
+    public TournamentDto cancel(String id) {
+        var t = getTournamentOr404(id);
+        if (!t.end(CANCELLED)) throw new ResponseStatusException(HttpStatus.CONFLICT, "Tournament already ended");
+        retire(t);
+        return t.snapshot();
+    }
+
+    private Tournament getTournamentOr404(String id) {
+        var t = tournaments.get(id);
+        if (t == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Tournament not found");
+        return t;
+    }
+
+    // Called once a tournament has ended, by whoever saw it first
+    private void retire(Tournament t) {
+        if (!t.retired.compareAndSet(false, true)) return;
+        ended.add(t);
+        if (endedCount.incrementAndGet() > retained) {
+            var old = ended.poll();
+            if (old != null) {
+                tournaments.remove(old.id);
+                endedCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void work() {
+        var rnd = new SplittableRandom();
+        var views = new CellState[2][N][N];
+        try {
+            for (;;) {
+                var t = runQueue.take();
+                int match = t.claim();
+                if (match < 0) continue;
+                // back of the queue, so the next worker serves the next tournament
+                if (t.hasReady()) runQueue.add(t);
+                int result;
+                try {
+                    result = play(t.strategies[seat(match, 0)], t.strategies[seat(match, 1)], rnd, views);
+                } catch (RuntimeException e) {
+                    log.error("Tournament {} failed", t.id, e);
+                    t.end(FAILED);
+                    retire(t);
+                    continue;
+                }
+                if (t.complete(match, result)) runQueue.add(t);
+                if (t.state != RUNNING) retire(t);
+            }
+        } catch (InterruptedException e) {
+            // shutting down
+        }
+    }
+
+    // Plays one game between two strategies; a strategy that makes an illegal shot loses on the spot
+    private int play(Strategy first, Strategy second, SplittableRandom rnd, CellState[][][] views) {
+        var g = new Game("tournament");
+        for (var p : Player.values()) {
+            while (!engine.tryRandomPlacement(g, p).isOk()) { }
+        }
+        for (var view : views)
+            for (var row : view) Arrays.fill(row, CellState.EMPTY);
+
+        int shots1 = 0, shots2 = 0;
+        for (;;) {
+            var shooter = g.getState() == GameState.TURN_P1 ? Player.P1 : Player.P2;
+            int s = shooter.ordinal();
+            var view = views[s];
+            int cell = (s == 0 ? first : second).nextShot(view, rnd);
+            if (cell < 0 || cell >= N * N || view[cell / N][cell % N] != CellState.EMPTY)
+                return result(1 - s, s == 0 ? shots2 : shots1);
+
+            var fired = engine.tryFire(g, new FireRequest(shooter, cell / N, cell % N)).value();
+            if (s == 0) shots1++;
+            else shots2++;
+            // only this thread touches the game, so its grid can be read directly
+            var grid = g.getOpponentBoard(shooter).getGrid();
+            if (fired.sunk()) {
+                for (int r = 0; r < N; r++)
+                    for (int c = 0; c < N; c++)
+                        if (grid[r][c] == CellState.SUNK) view[r][c] = CellState.SUNK;
+            } else {
+                view[cell / N][cell % N] = grid[cell / N][cell % N];
+            }
+            if (fired.winner() != null) return result(s, s == 0 ? shots1 : shots2);
+        }
+    }
+
+    // A match is the two entrants packed as first << 16 | second; the first one moves first
+    private static int match(int first, int second) { return first << 16 | second; }
+
+    private static int seat(int match, int seat) { return seat == 0 ? match >>> 16 : match & 0xFFFF; }
+
+    // A result is the winner's shot count and seat, packed as shots << 1 | seat
+    private static int result(int winnerSeat, int shots) { return shots << 1 | winnerSeat; }
+
+    private static final class Tournament {
+        final String id;
+        final Format format;
+        final String[] names;
+        final List<String> strategyNames;
+        final Strategy[] strategies;
+        final int rounds;
+        final long matches;
+        final long startedAt = System.nanoTime();
+        final AtomicBoolean retired = new AtomicBoolean();
+        final ReentrantLock lock = new ReentrantLock();
+        // round robin: every pair once per round, first and second seats swapped in odd rounds
+        final int[] pairs;
+        // Swiss: who has met whom, and how often each entrant moved first
+        final boolean[][] met;
+        final int[] firstMoves;
+        // standings, by entrant
+        final long[] wins, losses, byes, winningShots;
+
+        volatile int state = RUNNING;
+        long endedAt;
+        long claimed, completed;
+        int round;
+        int[] pairing;
+        int nextPair;
+
+        Tournament(String id, Format format, String[] names, List<String> strategyNames, Strategy[] strategies,
+                   int rounds, long matches) {
+            this.id = id;
+            this.format = format;
+            this.names = names;
+            this.strategyNames = List.copyOf(strategyNames);
+            this.strategies = strategies;
+            this.rounds = rounds;
+            this.matches = matches;
+            int n = names.length;
+            wins = new long[n];
+            losses = new long[n];
+            byes = new long[n];
+            winningShots = new long[n];
+            if (format == Format.ROUND_ROBIN) {
+                pairs = new int[n * (n - 1) / 2];
+                int k = 0;
+                for (int a = 0; a < n; a++)
+                    for (int b = a + 1; b < n; b++) pairs[k++] = match(a, b);
+                met = null;
+                firstMoves = null;
+                round = 1;
+            } else {
+                pairs = null;
+                met = new boolean[n][n];
+                firstMoves = new int[n];
+                pairRound();
+            }
+        }
+
+        // The next match to play, or -1 when none is ready
+        int claim() {
+            lock.lock();
+            try {
+                if (state != RUNNING) return -1;
+                if (format == Format.SWISS) return nextPair < pairing.length ? pairing[nextPair++] : -1;
+                if (claimed == matches) return -1;
+                long k = claimed++;
+                int m = pairs[(int) (k % pairs.length)];
+                return (k / pairs.length) % 2 == 0 ? m : match(seat(m, 1), seat(m, 0));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean hasReady() {
+            lock.lock();
+            try {
+                return state == RUNNING && (format == Format.SWISS ? nextPair < pairing.length : claimed < matches);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Records a played match; true when that made a new round ready
+        boolean complete(int match, int result) {
+            lock.lock();
+            try {
+                int winner = seat(match, result & 1), loser = seat(match, 1 - (result & 1));
+                wins[winner]++;
+                losses[loser]++;
+                winningShots[winner] += result >>> 1;
+                completed++;
+                if (format == Format.ROUND_ROBIN) {
+                    if (completed < matches) round = (int) (completed / pairs.length) + 1;
+                    else end(FINISHED);
+                    return false;
+                }
+                if (nextPair < pairing.length || completed < (long) round * pairing.length) return false;
+                if (round == rounds) {
+                    end(FINISHED);
+                    return false;
+                }
+                if (state != RUNNING) return false;
+                pairRound();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Moves a running tournament to a final state; false if it had already ended
+        boolean end(int finalState) {
+            lock.lock();
+            try {
+                if (state != RUNNING) return false;
+                state = finalState;
+                endedAt = System.nanoTime();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Swiss: highest score plays the next highest it has not met yet; with an odd field the lowest
+        // ranked entrant without a bye sits out for a point
+        private void pairRound() {
+            round++;
+            var pool = new ArrayList<Integer>(names.length);
+            for (int i = 0; i < names.length; i++) pool.add(i);
+            pool.sort(Comparator.comparingLong((Integer i) -> -points(i)).thenComparing(i -> i));
+            if (pool.size() % 2 == 1) {
+                int bye = pool.size() - 1;
+                for (int i = pool.size() - 1; i >= 0; i--) {
+                    if (byes[pool.get(i)] == 0) {
+                        bye = i;
+                        break;
+                    }
+                }
+                byes[pool.remove(bye)]++;
+            }
+            pairing = new int[pool.size() / 2];
+            nextPair = 0;
+            for (int k = 0; !pool.isEmpty(); k++) {
+                int a = pool.remove(0);
+                int j = 0;
+                while (j < pool.size() && met[a][pool.get(j)]) j++;
+                int b = pool.remove(j < pool.size() ? j : 0);
+                met[a][b] = met[b][a] = true;
+                // whoever has moved first less often moves first
+                boolean aFirst = firstMoves[a] <= firstMoves[b];
+                firstMoves[aFirst ? a : b]++;
+                pairing[k] = aFirst ? match(a, b) : match(b, a);
+            }
+        }
+
+        private long points(int i) { return wins[i] + byes[i]; }
+
+        TournamentDto snapshot() {
+            lock.lock();
+            try {
+                int n = names.length;
+                var order = new ArrayList<Integer>(n);
+                for (int i = 0; i < n; i++) order.add(i);
+                order.sort(Comparator.comparingLong((Integer i) -> -points(i))
+                        .thenComparingLong(i -> -wins[i])
+                        .thenComparingDouble(this::avgShotsToWin)
+                        .thenComparing(i -> names[i]));
+                var standings = new ArrayList<StandingDto>(n);
+                for (int r = 0; r < n; r++) {
+                    int i = order.get(r);
+                    standings.add(new StandingDto(r + 1, names[i], strategyNames.get(i), wins[i] + losses[i],
+                            wins[i], losses[i], byes[i], points(i), wins[i] == 0 ? 0 : avgShotsToWin(i)));
+                }
+                long elapsed = (state == RUNNING ? System.nanoTime() : endedAt) - startedAt;
+                return new TournamentDto(id, format, STATES[state], Math.min(round, rounds), rounds, matches,
+                        completed, TimeUnit.NANOSECONDS.toMillis(elapsed), standings);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // entrants without wins sort last
+        private double avgShotsToWin(int i) {
+            return wins[i] == 0 ? Double.MAX_VALUE : (double) winningShots[i] / wins[i];
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Board;
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.util.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+// Turn and game time limits: one clock per game in a TimingWheel, re-armed after every committed command.
+// An expired clock acts at the version it was armed at, so a move that got in first wins.
+@Service
+public class TurnClockService implements GameListener {
+    public enum OnTimeout { AUTO, FORFEIT }
+
+    private static final Logger log = LoggerFactory.getLogger(TurnClockService.class);
+
+    private final GameService svc;
+    private final long turnNanos;
+    private final long gameNanos;
+    private final OnTimeout onTimeout;
+    private final LongSupplier clock;
+    private final TimingWheel<Clock> wheel;
+    private final ConcurrentHashMap<String, Clock> clocks = new ConcurrentHashMap<>();
+    private final LongAdder timeouts = new LongAdder();
+    // ticker thread only
+    private final SplittableRandom rnd = new SplittableRandom();
+    private Thread ticker;
+
+    @Autowired
+    public TurnClockService(GameService svc,
+                            @Value("${battleship.clock.turn-timeout:0s}") Duration turnTimeout,
+                            @Value("${battleship.clock.game-timeout:0s}") Duration gameTimeout,
+                            @Value("${battleship.clock.on-turn-timeout:AUTO}") OnTimeout onTimeout,
+                            @Value("${battleship.clock.tick:100ms}") Duration tick) {
+        this(svc, turnTimeout, gameTimeout, onTimeout, tick, System::nanoTime);
+        if (!enabled()) return;
+        ticker = Thread.ofPlatform().daemon().name("turn-clock").start(() -> run(tick.toNanos()));
+        svc.addListener(this);
+    }
+
+    // Without a ticker: the caller advances the clocks
+    TurnClockService(GameService svc, Duration turnTimeout, Duration gameTimeout, OnTimeout onTimeout,
+                     Duration tick, LongSupplier clock) {
+        this.svc = svc;
+        this.turnNanos = turnTimeout.toNanos();
+        this.gameNanos = gameTimeout.toNanos();
+        this.onTimeout = onTimeout;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tick.toNanos(), clock, this::expired);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) ticker.interrupt();
+    }
+
+    public boolean enabled() { return turnNanos > 0 || gameNanos > 0; }
+
+    // Games whose clock is running
+    public int armed() { return clocks.size(); }
+
+    public long timeouts() { return timeouts.sum(); }
+
+    @Override
+    public void onGameCreated(Game game) {
+        arm(game);
+    }
+
+    @Override
+    public void onGameUpdated(Game game) {
+        arm(game);
+    }
+
+    // Runs expired clocks; returns how many ran out
+    int tick() {
+        return wheel.advance();
+    }
+
+    private void run(long tickNanos) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                log.warn("Turn clock tick failed", e);
+            }
+            LockSupport.parkNanos(tickNanos);
+        }
+    }
+
+    // Starts the turn that the game is in now, or stops the clock once the game is over
+    private void arm(Game game) {
+        long version;
+        GameState state;
+        do {
+            version = game.beginRead();
+            state = game.getState();
+        } while (!game.validateRead(version));
+
+        var c = clocks.get(game.getId());
+        if (state == GameState.FINISHED) {
+            if (c != null && clocks.remove(game.getId(), c)) wheel.cancel(c);
+            return;
+        }
+        long now = clock.getAsLong();
+        if (c == null)
+            c = clocks.computeIfAbsent(game.getId(), id -> new Clock(game, gameNanos > 0 ? now + gameNanos : TimingWheel.NEVER));
+        if (c.game != game) return;
+        // the deadline goes first: whoever reads the version then sees a deadline at least this late
+        wheel.schedule(c, turnNanos > 0 ? Math.min(now + turnNanos, c.gameDeadline) : c.gameDeadline);
+        c.version = version;
+    }
+
+    private void expired(Clock c) {
+        var game = c.game;
+        if (svc.findGame(game.getId()) != game) {
+            clocks.remove(game.getId(), c);
+            return;
+        }
+        long version = c.version;
+        long now = clock.getAsLong();
+        // armed again after the wheel looked at it
+        if (c.deadline() - now > 0) {
+            wheel.schedule(c, c.deadline());
+            return;
+        }
+        Outcome<?> outcome;
+        try {
+            outcome = act(game, version, c.gameDeadline != TimingWheel.NEVER && now - c.gameDeadline >= 0);
+        } catch (RuntimeException e) {
+            log.warn("Timeout in game {} failed", game.getId(), e);
+            outcome = null;
+        }
+        if (outcome != null && outcome.isOk()) {
+            timeouts.increment();
+            return;
+        }
+        // a player moved first, or the action failed: time the turn the game is in now
+        arm(game);
+    }
+
+    // Plays or forfeits for the player to move, as long as the game is still at `version`
+    private Outcome<?> act(Game game, long version, boolean gameOver) {
+        var state = game.getState();
+        if (state == GameState.FINISHED) return null;
+        var player = state == GameState.PLACING_P1 || state == GameState.TURN_P1 ? Player.P1 : Player.P2;
+        if (gameOver || onTimeout == OnTimeout.FORFEIT) return svc.tryForfeit(game, player, version);
+        if (state == GameState.PLACING_P1 || state == GameState.PLACING_P2)
+            return svc.tryRandomPlacement(game, player, version);
+
+        var view = svc.view(game, player);
+        if (view.version() != version) return null;
+        int cell = Strategies.random(view.opponentBoardMasked(), rnd);
+        if (cell < 0) return null;
+        return svc.tryFire(game, new FireRequest(player, cell / Board.SIZE, cell % Board.SIZE), version);
+    }
+
+    static final class Clock extends TimingWheel.Timer {
+        final Game game;
+        final long gameDeadline;
+        // the game version this turn started at
+        volatile long version;
+
+        Clock(Game game, long gameDeadline) {
+            this.game = game;
+            this.gameDeadline = gameDeadline;
+        }
+    }
+}
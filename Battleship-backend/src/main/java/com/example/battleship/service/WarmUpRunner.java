@@ -0,0 +1,203 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.util.FastJson;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+// Plays synthetic games before the instance reports ready: first in-process until the JIT settles, then a
+// few over loopback HTTP. See the README.
+@Component
+@ConditionalOnProperty(name = "battleship.warmup.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+    private static final int GAMES_PER_ROUND = 200;
+    private static final int QUIET_ROUNDS = 2;
+    private static final int MAX_ROUNDS_WITHOUT_JIT_STATS = 50;
+    private static final int SHOTS_PER_HTTP_GAME = 20;
+    private static final Pattern GAME_ID = Pattern.compile("\"gameId\":\"([^\"]+)\"");
+
+    private final ApplicationContext context;
+    private final GameStore store;
+    private final Duration maxDuration;
+    private final int httpGames;
+    // total JIT compilation time so far, or null when the JVM does not report it
+    private final LongSupplier jitTime;
+    private volatile long durationNanos;
+    private volatile long rounds;
+    private volatile double beforeNanos;
+    private volatile double afterNanos;
+    private volatile double httpBeforeNanos;
+    private volatile double httpAfterNanos;
+
+    @Autowired
+    public WarmUpRunner(ApplicationContext context, GameStore store, MeterRegistry registry,
+                        @Value("${battleship.warmup.max-duration:30s}") Duration maxDuration,
+                        @Value("${battleship.warmup.http-games:50}") int httpGames) {
+        this(context, store, registry, maxDuration, httpGames, jitTime());
+    }
+
+    WarmUpRunner(ApplicationContext context, GameStore store, MeterRegistry registry, Duration maxDuration,
+                 int httpGames, LongSupplier jitTime) {
+        this.context = context;
+        this.store = store;
+        this.maxDuration = maxDuration;
+        this.httpGames = httpGames;
+        this.jitTime = jitTime;
+        TimeGauge.builder("battleship.warmup.duration", this, TimeUnit.NANOSECONDS, w -> w.durationNanos)
+                .description("Time spent warming up before reporting ready")
+                .register(registry);
+        Gauge.builder("battleship.warmup.rounds", this, w -> w.rounds).register(registry);
+        // mean cost of one fire plus a serialized view, in the first and in the last round
+        TimeGauge.builder("battleship.warmup.op.latency", this, TimeUnit.NANOSECONDS, w -> w.beforeNanos)
+                .tag("phase", "before").register(registry);
+        TimeGauge.builder("battleship.warmup.op.latency", this, TimeUnit.NANOSECONDS, w -> w.afterNanos)
+                .tag("phase", "after").register(registry);
+        // mean loopback request time in the first and in the last HTTP game
+        TimeGauge.builder("battleship.warmup.http.latency", this, TimeUnit.NANOSECONDS, w -> w.httpBeforeNanos)
+                .tag("phase", "before").register(registry);
+        TimeGauge.builder("battleship.warmup.http.latency", this, TimeUnit.NANOSECONDS, w -> w.httpAfterNanos)
+                .tag("phase", "after").register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long t0 = System.nanoTime();
+        long deadline = t0 + maxDuration.toNanos();
+        warmService(deadline);
+        if (context instanceof WebServerApplicationContext web && web.getWebServer() != null)
+            warmHttp(web.getWebServer().getPort(), deadline);
+        durationNanos = System.nanoTime() - t0;
+        log.info("Warm-up finished after {} rounds in {} ms; fire+view {} ns -> {} ns; http request {} us -> {} us",
+                rounds, durationNanos / 1_000_000, (long) beforeNanos, (long) afterNanos,
+                (long) httpBeforeNanos / 1000, (long) httpAfterNanos / 1000);
+    }
+
+    // Plays rounds until QUIET_ROUNDS in a row compile nothing, or until the deadline
+    void warmService(long deadline) {
+        var svc = new GameService(new GameStore());
+        var rnd = new SplittableRandom(42);
+
+        int quiet = 0;
+        long compiled = jitTime != null ? jitTime.getAsLong() : 0;
+        while (System.nanoTime() < deadline) {
+            double opNanos = round(svc, rnd);
+            if (rounds++ == 0) beforeNanos = opNanos;
+            afterNanos = opNanos;
+
+            if (jitTime == null) {
+                if (rounds >= MAX_ROUNDS_WITHOUT_JIT_STATS) break;
+                continue;
+            }
+            long now = jitTime.getAsLong();
+            quiet = now == compiled ? quiet + 1 : 0;
+            compiled = now;
+            if (quiet >= QUIET_ROUNDS) break;
+        }
+    }
+
+    long rounds() { return rounds; }
+
+    private static LongSupplier jitTime() {
+        var jit = ManagementFactory.getCompilationMXBean();
+        return jit != null && jit.isCompilationTimeMonitoringSupported() ? jit::getTotalCompilationTime : null;
+    }
+
+    // Plays GAMES_PER_ROUND random games; returns the mean nanoseconds per fire plus serialized view
+    private static double round(GameService svc, SplittableRandom rnd) {
+        long nanos = 0, ops = 0;
+        for (int i = 0; i < GAMES_PER_ROUND; i++) {
+            var g = new Game("warm-up");
+            svc.randomPlacement(g, Player.P1);
+            svc.randomPlacement(g, Player.P2);
+            while (g.getState() != GameState.FINISHED) {
+                var p = g.getState() == GameState.TURN_P1 ? Player.P1 : Player.P2;
+                var grid = g.getOpponentBoard(p).getGrid();
+                int r, c;
+                do {
+                    r = rnd.nextInt(Board.SIZE);
+                    c = rnd.nextInt(Board.SIZE);
+                } while (grid[r][c] != CellState.EMPTY && grid[r][c] != CellState.SHIP);
+
+                long s = System.nanoTime();
+                serialize(svc.tryFire(g, new FireRequest(p, r, c)).value());
+                serialize(svc.view(g, p));
+                nanos += System.nanoTime() - s;
+                ops++;
+            }
+            serialize(svc.spectate(g));
+        }
+        return (double) nanos / ops;
+    }
+
+    // Create, place, then alternate fire and view; games stop before anyone wins so no stats are recorded
+    private void warmHttp(int port, long deadline) throws Exception {
+        var client = HttpClient.newHttpClient();
+        var base = "http://localhost:" + port + "/api/game";
+        for (int i = 0; i < httpGames && (i == 0 || System.nanoTime() < deadline); i++) {
+            long s = System.nanoTime();
+            var created = send(client, post(base + "?p1=Warm&p2=Up", null));
+            var m = GAME_ID.matcher(created);
+            if (!m.find()) return;
+            var id = m.group(1);
+            try {
+                send(client, post(base + "/" + id + "/random-placement", "{\"player\":\"P1\"}"));
+                send(client, post(base + "/" + id + "/random-placement", "{\"player\":\"P2\"}"));
+                for (int shot = 0; shot < SHOTS_PER_HTTP_GAME; shot++) {
+                    var p = shot % 2 == 0 ? "P1" : "P2";
+                    send(client, post(base + "/" + id + "/fire",
+                            "{\"player\":\"" + p + "\",\"row\":" + shot / 2 + ",\"col\":" + (shot * 3) % Board.SIZE + "}"));
+                    send(client, HttpRequest.newBuilder(URI.create(base + "/" + id + "?viewer=" + p)).build());
+                }
+            } finally {
+                store.delete(id);
+            }
+            double perRequest = (System.nanoTime() - s) / (3.0 + 2 * SHOTS_PER_HTTP_GAME);
+            if (i == 0) httpBeforeNanos = perRequest;
+            httpAfterNanos = perRequest;
+        }
+    }
+
+    private static HttpRequest post(String uri, String json) {
+        var b = HttpRequest.newBuilder(URI.create(uri));
+        if (json == null) return b.POST(HttpRequest.BodyPublishers.noBody()).build();
+        return b.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static String send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static void serialize(Object dto) {
+        try {
+            FastJson.writeTo(dto, OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.battleship.util;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.Replay;
+import com.example.battleship.engine.GameEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Archive block format (version 1): many finished games' records deflated together behind an uncompressed
+// index of where each one sits. The layout is in the README.
+public class ArchiveCodec {
+    public static final int VERSION = 1;
+    public static final int HEADER = 12;
+    // inflated bytes a block is closed at, comfortably inside what inflate accepts
+    public static final int MAX_BODY = 128 * 1024;
+    private static final int RECORD_HEADER = 5;
+
+    // One finished game as stored; the caller holds a consistent read of it
+    public static byte[] encodeGame(Game game, long version) {
+        var replay = ReplayCodec.encode(game, false);
+        var out = new byte[RECORD_HEADER + replay.length];
+        var winner = game.getWinner();
+        out[0] = (byte) (winner == null ? 0 : winner.ordinal() + 1);
+        putInt(out, 1, (int) version);
+        System.arraycopy(replay, 0, out, RECORD_HEADER, replay.length);
+        return out;
+    }
+
+    // Rebuilds a game by playing its replay through the engine, then restores its outcome and version
+    public static Game decodeGame(String id, byte[] record) {
+        if (record.length < RECORD_HEADER || (record[0] & 0xFF) > 2)
+            throw new IllegalArgumentException("Bad archive record");
+        var replay = ReplayCodec.decode(Arrays.copyOfRange(record, RECORD_HEADER, record.length));
+        var g = new Game(id);
+        g.setPlayerName(Player.P1, replay.p1Name());
+        g.setPlayerName(Player.P2, replay.p2Name());
+        for (var p : replay.placements())
+            if (GameEngine.placeShip(g, p.player(), p.shipType(), p.row(), p.col(), p.orientation()) != null)
+                throw new IllegalArgumentException("Bad placement in archive record");
+        for (var s : replay.shots())
+            if (GameEngine.isRejected(GameEngine.fire(g, s.player(), s.row(), s.col())))
+                throw new IllegalArgumentException("Bad shot in archive record");
+        int winner = record[0];
+        // forfeited: the winner's opponent gave up in whatever phase the replay stops at
+        if (g.getState() != GameState.FINISHED && winner != 0)
+            GameEngine.forfeit(g, winner == 1 ? Player.P2 : Player.P1);
+        g.restoreVersion(getInt(record, 1) & 0xFFFFFFFFL);
+        return g;
+    }
+
+    // Packs records into one block, ids[i] naming records[i]
+    public static byte[] encodeBlock(List<String> ids, List<byte[]> records) {
+        int indexLength = 2, rawLength = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            indexLength += 1 + ids.get(i).length() + 8;
+            rawLength += records.get(i).length;
+        }
+        var index = new byte[indexLength];
+        var raw = new byte[rawLength];
+        index[0] = (byte) (ids.size() >>> 8);
+        index[1] = (byte) ids.size();
+        int pos = 2, at = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            var id = ids.get(i).getBytes(StandardCharsets.US_ASCII);
+            var record = records.get(i);
+            index[pos++] = (byte) id.length;
+            System.arraycopy(id, 0, index, pos, id.length);
+            pos += id.length;
+            putInt(index, pos, at);
+            putInt(index, pos + 4, record.length);
+            pos += 8;
+            System.arraycopy(record, 0, raw, at, record.length);
+            at += record.length;
+        }
+        var body = ReplayCodec.deflate(raw);
+
+        var out = new byte[HEADER + index.length + body.length];
+        out[0] = 'B'; out[1] = 'S'; out[2] = 'A';
+        out[3] = VERSION;
+        putInt(out, 4, index.length);
+        putInt(out, 8, body.length);
+        System.arraycopy(index, 0, out, HEADER, index.length);
+        System.arraycopy(body, 0, out, HEADER + index.length, body.length);
+        return out;
+    }
+
+    // Index length from a block header; the body length is bodyLength
+    public static int indexLength(byte[] header) {
+        if (header.length < HEADER || header[0] != 'B' || header[1] != 'S' || header[2] != 'A')
+            throw new IllegalArgumentException("Not an archive block");
+        if (header[3] != VERSION)
+            throw new IllegalArgumentException("Unsupported archive version " + header[3]);
+        int n = getInt(header, 4);
+        if (n < 2) throw new IllegalArgumentException("Bad archive block");
+        return n;
+    }
+
+    public static int bodyLength(byte[] header) {
+        int n = getInt(header, 8);
+        if (n < 0) throw new IllegalArgumentException("Bad archive block");
+        return n;
+    }
+
+    // The games a block holds, in order, from its index
+    public static List<String> ids(byte[] index) {
+        int count = (index[0] & 0xFF) << 8 | index[1] & 0xFF;
+        var ids = new ArrayList<String>(count);
+        try {
+            for (int i = 0, pos = 2; i < count; i++) {
+                int len = index[pos++] & 0xFF;
+                if (pos + len + 8 > index.length) throw new IllegalArgumentException("Truncated archive index");
+                ids.add(new String(index, pos, len, StandardCharsets.US_ASCII));
+                pos += len + 8;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated archive index");
+        }
+        return ids;
+    }
+
+    // Reads records in place, without copying them out of the inflated body
+    public interface RecordVisitor {
+        void visit(byte[] raw, int offset, int length);
+    }
+
+    // Inflates a block once and hands every record in it to the visitor, in order
+    public static void forEachRecord(byte[] index, byte[] body, RecordVisitor visitor) {
+        var raw = ReplayCodec.inflate(body, 0);
+        int count = (index[0] & 0xFF) << 8 | index[1] & 0xFF;
+        for (int i = 0, pos = 2; i < count; i++) {
+            pos += 1 + (index[pos] & 0xFF);
+            int at = getInt(index, pos), length = getInt(index, pos + 4);
+            if (at < 0 || length < RECORD_HEADER || at + length > raw.length)
+                throw new IllegalArgumentException("Bad archive index");
+            visitor.visit(raw, at, length);
+            pos += 8;
+        }
+    }
+
+    // The replay part of a record, for reading a game without rebuilding it
+    public static Replay replay(byte[] raw, int offset, int length) {
+        return ReplayCodec.decode(Arrays.copyOfRange(raw, offset + RECORD_HEADER, offset + length));
+    }
+
+    // The record of game `id` in a block, or null when the block does not hold it
+    public static byte[] find(byte[] index, byte[] body, String id) {
+        var key = id.getBytes(StandardCharsets.US_ASCII);
+        int count = (index[0] & 0xFF) << 8 | index[1] & 0xFF;
+        for (int i = 0, pos = 2; i < count; i++) {
+            int len = index[pos++] & 0xFF;
+            if (Arrays.equals(index, pos, pos + len, key, 0, key.length)) {
+                int at = getInt(index, pos + len), length = getInt(index, pos + len + 4);
+                var raw = ReplayCodec.inflate(body, 0);
+                if (at < 0 || length < 0 || at + length > raw.length)
+                    throw new IllegalArgumentException("Bad archive index");
+                return Arrays.copyOfRange(raw, at, at + length);
+            }
+            pos += len + 8;
+        }
+        return null;
+    }
+
+    private static void putInt(byte[] out, int pos, int v) {
+        out[pos] = (byte) (v >>> 24);
+        out[pos + 1] = (byte) (v >>> 16);
+        out[pos + 2] = (byte) (v >>> 8);
+        out[pos + 3] = (byte) v;
+    }
+
+    private static int getInt(byte[] in, int pos) {
+        return (in[pos] & 0xFF) << 24 | (in[pos + 1] & 0xFF) << 16 | (in[pos + 2] & 0xFF) << 8 | in[pos + 3] & 0xFF;
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.battleship.util;
+
+import com.example.battleship.domain.CellState;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireResponse;
+import com.example.battleship.dto.GameViewDto;
+import com.example.battleship.dto.GameViewsDto;
+import com.example.battleship.dto.SpectatorViewDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Hand-written JSON writers for the hot response DTOs, byte-for-byte what Spring Boot's default Jackson
+// ObjectMapper writes for them. See the README.
+public class FastJson {
+    private static final byte[][] CELLS = quotedNames(CellState.values());
+    private static final byte[][] STATES = quotedNames(GameState.values());
+    private static final byte[][] PLAYERS = quotedNames(Player.values());
+    private static final byte[] NULL = ascii("null");
+    private static final int MAX_CELL = maxLength(CELLS, NULL);
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private static final byte[] GAME_ID = ascii("{\"gameId\":");
+    private static final byte[] STATE = ascii(",\"state\":");
+    private static final byte[] WINNER = ascii(",\"winner\":");
+    private static final byte[] P1_NAME = ascii(",\"p1Name\":");
+    private static final byte[] P2_NAME = ascii(",\"p2Name\":");
+    private static final byte[] YOUR_BOARD = ascii(",\"yourBoard\":");
+    private static final byte[] OPPONENT_BOARD_MASKED = ascii(",\"opponentBoardMasked\":");
+    private static final byte[] VERSION = ascii(",\"version\":");
+    private static final byte[] P1_BOARD_MASKED = ascii(",\"p1BoardMasked\":");
+    private static final byte[] P2_BOARD_MASKED = ascii(",\"p2BoardMasked\":");
+    private static final byte[] P1_VIEW = ascii("{\"p1\":");
+    private static final byte[] P2_VIEW = ascii(",\"p2\":");
+    private static final byte[] HIT = ascii("{\"hit\":");
+    private static final byte[] SUNK = ascii(",\"sunk\":");
+    private static final byte[] SUNK_SHIP_TYPE = ascii(",\"sunkShipType\":");
+    private static final byte[] NEXT_STATE = ascii(",\"nextState\":");
+
+    public static byte[] write(GameViewDto v) {
+        return encode(v).toByteArray();
+    }
+
+    private static Buffer encode(GameViewDto v) {
+        var out = new Buffer(2048);
+        out.raw(GAME_ID).string(v.gameId())
+                .raw(STATE).name(v.state(), STATES)
+                .raw(WINNER).name(v.winner(), PLAYERS)
+                .raw(P1_NAME).string(v.p1Name())
+                .raw(P2_NAME).string(v.p2Name())
+                .raw(YOUR_BOARD).grid(v.yourBoard())
+                .raw(OPPONENT_BOARD_MASKED).grid(v.opponentBoardMasked())
+                .raw(VERSION).number(v.version())
+                .put('}');
+        return out;
+    }
+
+    public static byte[] write(GameViewsDto v) {
+        return encode(v).toByteArray();
+    }
+
+    // The second view copies whatever the first already encoded: the shared header fields, and any grid
+    // that is the very same array (a board with no ships left is its own masked view)
+    private static Buffer encode(GameViewsDto v) {
+        var a = v.p1();
+        var b = v.p2();
+        var out = new Buffer(4096);
+        out.raw(P1_VIEW);
+        int headerStart = out.len;
+        out.raw(GAME_ID).string(a.gameId())
+                .raw(STATE).name(a.state(), STATES)
+                .raw(WINNER).name(a.winner(), PLAYERS)
+                .raw(P1_NAME).string(a.p1Name())
+                .raw(P2_NAME).string(a.p2Name());
+        int headerEnd = out.len;
+        int yourStart = out.raw(YOUR_BOARD).len;
+        int yourEnd = out.grid(a.yourBoard()).len;
+        int oppStart = out.raw(OPPONENT_BOARD_MASKED).len;
+        int oppEnd = out.grid(a.opponentBoardMasked()).len;
+        out.raw(VERSION).number(a.version()).put('}').raw(P2_VIEW);
+
+        boolean sameHeader = a.gameId().equals(b.gameId()) && a.state() == b.state() && a.winner() == b.winner()
+                && Objects.equals(a.p1Name(), b.p1Name()) && Objects.equals(a.p2Name(), b.p2Name());
+        if (sameHeader) out.copy(headerStart, headerEnd);
+        else out.raw(GAME_ID).string(b.gameId())
+                .raw(STATE).name(b.state(), STATES)
+                .raw(WINNER).name(b.winner(), PLAYERS)
+                .raw(P1_NAME).string(b.p1Name())
+                .raw(P2_NAME).string(b.p2Name());
+        out.raw(YOUR_BOARD);
+        if (b.yourBoard() == a.opponentBoardMasked()) out.copy(oppStart, oppEnd);
+        else out.grid(b.yourBoard());
+        out.raw(OPPONENT_BOARD_MASKED);
+        if (b.opponentBoardMasked() == a.yourBoard()) out.copy(yourStart, yourEnd);
+        else out.grid(b.opponentBoardMasked());
+        return out.raw(VERSION).number(b.version()).put('}').put('}');
+    }
+
+    public static byte[] write(SpectatorViewDto v) {
+        return encode(v).toByteArray();
+    }
+
+    private static Buffer encode(SpectatorViewDto v) {
+        var out = new Buffer(2048);
+        out.raw(GAME_ID).string(v.gameId())
+                .raw(STATE).name(v.state(), STATES)
+                .raw(WINNER).name(v.winner(), PLAYERS)
+                .raw(P1_NAME).string(v.p1Name())
+                .raw(P2_NAME).string(v.p2Name())
+                .raw(P1_BOARD_MASKED).grid(v.p1BoardMasked())
+                .raw(P2_BOARD_MASKED).grid(v.p2BoardMasked())
+                .put('}');
+        return out;
+    }
+
+    // every shared FireResponse, encoded once; a shot's response is written without building anything
+    private static final byte[][] FIRE_RESPONSES = new byte[FireResponse.COUNT][];
+
+    static {
+        for (int i = 0; i < FireResponse.COUNT; i++) FIRE_RESPONSES[i] = encode(FireResponse.get(i)).toByteArray();
+    }
+
+    public static byte[] write(FireResponse r) {
+        int i = FireResponse.indexOf(r);
+        return i >= 0 ? FIRE_RESPONSES[i].clone() : encode(r).toByteArray();
+    }
+
+    private static Buffer encode(FireResponse r) {
+        var out = new Buffer(96);
+        out.raw(HIT).bool(r.hit())
+                .raw(SUNK).bool(r.sunk())
+                .raw(SUNK_SHIP_TYPE).string(r.sunkShipType())
+                .raw(NEXT_STATE).string(r.nextState())
+                .raw(WINNER).name(r.winner(), PLAYERS)
+                .put('}');
+        return out;
+    }
+
+    public static boolean supports(Class<?> type) {
+        return type == GameViewDto.class || type == GameViewsDto.class || type == SpectatorViewDto.class
+                || type == FireResponse.class;
+    }
+
+    // Writes a supported DTO straight into the stream, without an intermediate copy
+    public static void writeTo(Object dto, OutputStream out) throws IOException {
+        Buffer b;
+        if (dto instanceof GameViewDto v) b = encode(v);
+        else if (dto instanceof GameViewsDto v) b = encode(v);
+        else if (dto instanceof SpectatorViewDto v) b = encode(v);
+        else if (dto instanceof FireResponse r) {
+            int i = FireResponse.indexOf(r);
+            if (i >= 0) {
+                out.write(FIRE_RESPONSES[i]);
+                return;
+            }
+            b = encode(r);
+        }
+        else throw new IllegalArgumentException("Unsupported type " + dto.getClass());
+        out.write(b.buf, 0, b.len);
+    }
+
+    private static byte[][] quotedNames(Enum<?>[] values) {
+        var out = new byte[values.length][];
+        for (var e : values) out[e.ordinal()] = ascii("\"" + e.name() + "\"");
+        return out;
+    }
+
+    private static int maxLength(byte[][] names, byte[] other) {
+        int max = other.length;
+        for (var n : names) max = Math.max(max, n.length);
+        return max;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Growable byte buffer
+    static class Buffer {
+        private byte[] buf;
+        private int len;
+
+        Buffer(int capacity) { buf = new byte[capacity]; }
+
+        Buffer put(char c) {
+            ensure(1);
+            buf[len++] = (byte) c;
+            return this;
+        }
+
+        Buffer raw(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, len, b.length);
+            len += b.length;
+            return this;
+        }
+
+        // Appends a copy of bytes already written
+        Buffer copy(int from, int to) {
+            ensure(to - from);
+            System.arraycopy(buf, from, buf, len, to - from);
+            len += to - from;
+            return this;
+        }
+
+        // Non-negative integers only, which is all the DTOs carry
+        Buffer number(long n) {
+            ensure(19);
+            int start = len;
+            do {
+                buf[len++] = (byte) ('0' + n % 10);
+                n /= 10;
+            } while (n > 0);
+            // digits came out least significant first
+            for (int i = start, j = len - 1; i < j; i++, j--) {
+                byte t = buf[i];
+                buf[i] = buf[j];
+                buf[j] = t;
+            }
+            return this;
+        }
+
+        Buffer bool(boolean b) { return raw(b ? TRUE : FALSE); }
+
+        Buffer name(Enum<?> e, byte[][] names) { return raw(e == null ? NULL : names[e.ordinal()]); }
+
+        Buffer grid(CellState[][] g) {
+            if (g == null) return raw(NULL);
+            put('[');
+            for (int r = 0; r < g.length; r++) {
+                if (r > 0) put(',');
+                var row = g[r];
+                if (row == null) { raw(NULL); continue; }
+                // one capacity check per row: every cell is at most MAX_CELL bytes plus its comma
+                ensure(row.length * (MAX_CELL + 1) + 2);
+                var b = buf;
+                int n = len;
+                b[n++] = '[';
+                for (int c = 0; c < row.length; c++) {
+                    if (c > 0) b[n++] = ',';
+                    var cell = row[c] == null ? NULL : CELLS[row[c].ordinal()];
+                    for (int i = 0; i < cell.length; i++) b[n++] = cell[i];
+                }
+                b[n++] = ']';
+                len = n;
+            }
+            return put(']');
+        }
+
+        Buffer string(String s) {
+            if (s == null) return raw(NULL);
+            put('"');
+            int n = s.length();
+            for (int i = 0; i < n; i++) {
+                char ch = s.charAt(i);
+                if (ch >= 0x80) {
+                    // rare path: hand the rest of the string to the UTF-8 encoder
+                    utf8Tail(s, i);
+                    break;
+                }
+                escaped(ch);
+            }
+            return put('"');
+        }
+
+        private void utf8Tail(String s, int from) {
+            int n = s.length();
+            for (int i = from; i < n; ) {
+                char ch = s.charAt(i);
+                if (ch < 0x80) { escaped(ch); i++; continue; }
+                int end = i + 1;
+                while (end < n && s.charAt(end) >= 0x80) end++;
+                raw(s.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                i = end;
+            }
+        }
+
+        private void escaped(char ch) {
+            if (ch >= 0x20 && ch != '"' && ch != '\\') {
+                put(ch);
+                return;
+            }
+            put('\\');
+            switch (ch) {
+                case '"' -> put('"');
+                case '\\' -> put('\\');
+                case '\b' -> put('b');
+                case '\t' -> put('t');
+                case '\f' -> put('f');
+                case '\n' -> put('n');
+                case '\r' -> put('r');
+                default -> {
+                    ensure(5);
+                    buf[len++] = 'u';
+                    buf[len++] = '0';
+                    buf[len++] = '0';
+                    buf[len++] = HEX[ch >> 4];
+                    buf[len++] = HEX[ch & 0xF];
+                }
+            }
+        }
+
+        private void ensure(int n) {
+            if (len + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + n));
+        }
+
+        byte[] toByteArray() { return Arrays.copyOf(buf, len); }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.battleship.util;
+
+import com.example.battleship.domain.*;
+
+// Estimated heap bytes retained by one game, for a 64-bit HotSpot with compressed references; FootprintTest
+// checks the numbers against JOL
+public final class Footprint {
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REF = 4;
+    private static final int ALIGN = 8;
+
+    static final long GAME = instance(8 * REF + 4 + 8);        // 8 references, shotCount, seq
+    static final long BOARD = instance(2 * REF);                // grid, ships
+    static final long SHIP = instance(2 * REF + 4);             // type, cells, hits
+    static final long COORD = instance(2 * 4);
+    static final long STRING = instance(REF + 4 + 1 + 1);       // value, hash, coder, hashIsZero
+    static final long ARRAY_LIST = instance(REF + 4 + 4);       // elementData, size, modCount
+    static final long LIST_12 = instance(2 * REF);
+    static final long LIST_N = instance(REF + 1);               // elements, allowNulls
+    static final long GRID = refArray(Board.SIZE) + Board.SIZE * refArray(Board.SIZE);
+    // ArrayList's first add allocates room for 10
+    private static final int LIST_DEFAULT_CAPACITY = 10;
+    // a ConcurrentHashMap node (hash, key, value, next); the key is the game's own id string
+    static final long MAP_NODE = instance(4 + 3 * REF);
+    private static final int MAP_MIN_TABLE = 16;
+    // GameStore's entry (game, three index keys, state index) and each (player, at, id) key
+    static final long STORE_ENTRY = instance(5 * REF);
+    static final long INDEX_KEY = instance(2 * REF + 8);
+    // a skip-list node (key, value, next) and a level above it (node, down, right)
+    static final long SKIP_NODE = instance(3 * REF);
+    static final long SKIP_INDEX = instance(3 * REF);
+    // keys per game: one under each player name and one in its state index
+    private static final int KEYS_PER_GAME = 3;
+    // levels are random: a quarter of the keys get a tower, two levels high on average
+    private static final double LEVELS_PER_KEY = 0.5;
+
+    private static final String DEFAULT_P1 = new Game("").getPlayerName(Player.P1);
+    private static final String DEFAULT_P2 = new Game("").getPlayerName(Player.P2);
+
+    private Footprint() {}
+
+    // Bytes owned by the game; read it while no command is changing it
+    public static long game(Game g) {
+        long bytes = GAME + string(g.getId()) + array(1, 2 * Board.SIZE * Board.SIZE);
+        var p1 = g.getPlayerName(Player.P1);
+        var p2 = g.getPlayerName(Player.P2);
+        if (p1 != DEFAULT_P1) bytes += string(p1);
+        if (p2 != DEFAULT_P2) bytes += string(p2);
+        return bytes + board(g.getBoard(Player.P1)) + board(g.getBoard(Player.P2));
+    }
+
+    // Store bookkeeping for this many games: a map node, an entry and three indexed keys each, plus the table
+    // the map grows to for them (it resizes once 75% full and never shrinks, so after mass removals the real
+    // figure is higher). Games whose players share a name have one key fewer.
+    public static long storeOverhead(int entries) {
+        if (entries == 0) return 0;
+        long table = Math.max(MAP_MIN_TABLE, Long.highestOneBit((long) (entries / 0.75)) << 1);
+        long keys = (long) entries * KEYS_PER_GAME;
+        long index = keys * (INDEX_KEY + SKIP_NODE) + (long) (keys * LEVELS_PER_KEY) * SKIP_INDEX;
+        return entries * (MAP_NODE + STORE_ENTRY) + array(REF, (int) table) + index;
+    }
+
+    static long board(Board b) {
+        long bytes = BOARD + GRID + ARRAY_LIST;
+        var ships = b.getShips();
+        int n = ships.size();
+        if (n > 0) bytes += refArray(Math.max(LIST_DEFAULT_CAPACITY, n));
+        for (int i = 0; i < n; i++) bytes += ship(ships.get(i));
+        return bytes;
+    }
+
+    static long ship(Ship s) {
+        int cells = s.getCells().size();
+        // List.copyOf keeps one or two elements in fields, more in an array
+        long list = cells <= 2 ? LIST_12 : LIST_N + refArray(cells);
+        return SHIP + list + cells * COORD;
+    }
+
+    static long string(String s) {
+        boolean latin1 = s.chars().allMatch(c -> c < 256);
+        return STRING + array(latin1 ? 1 : 2, s.length());
+    }
+
+    private static long refArray(int length) { return array(REF, length); }
+
+    private static long array(int elementSize, int length) {
+        return align(ARRAY_HEADER + (long) elementSize * length);
+    }
+
+    private static long instance(int fieldBytes) { return align(HEADER + fieldBytes); }
+
+    private static long align(long bytes) { return (bytes + ALIGN - 1) / ALIGN * ALIGN; }
+}
@@ -0,0 +1,59 @@
+package com.example.battleship.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// Consistent hashing of keys onto nodes, `vnodes` points per node on a 64-bit circle. Immutable: a
+// membership change builds a new ring.
+public final class HashRing {
+    private final List<String> nodes;
+    // sorted; owners[i] indexes nodes for points[i]
+    private final long[] points;
+    private final int[] owners;
+
+    public HashRing(Collection<String> nodes, int vnodes) {
+        if (vnodes < 1) throw new IllegalArgumentException("vnodes must be positive");
+        this.nodes = nodes.stream().distinct().sorted().toList();
+        int n = this.nodes.size() * vnodes;
+        // (point, node index) pairs; ties, which are all but impossible, go to the lower index
+        var packed = new long[n][2];
+        for (int i = 0; i < this.nodes.size(); i++)
+            for (int v = 0; v < vnodes; v++)
+                packed[i * vnodes + v] = new long[]{hash(this.nodes.get(i) + "#" + v), i};
+        Arrays.sort(packed, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        points = new long[n];
+        owners = new int[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = packed[i][0];
+            owners[i] = (int) packed[i][1];
+        }
+    }
+
+    public List<String> nodes() { return nodes; }
+
+    public boolean isEmpty() { return nodes.isEmpty(); }
+
+    // The node the key belongs to, or null on an empty ring
+    public String owner(String key) {
+        if (points.length == 0) return null;
+        int i = Arrays.binarySearch(points, hash(key));
+        if (i < 0) i = -i - 1;
+        return nodes.get(owners[i == points.length ? 0 : i]);
+    }
+
+    // FNV-1a over the chars, then MurmurHash3's finalizer to spread nearby strings across the circle
+    static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
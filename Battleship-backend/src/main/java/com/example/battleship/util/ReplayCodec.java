@@ -0,0 +1,188 @@
+package com.example.battleship.util;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.PlaceShipRequest;
+import com.example.battleship.dto.Replay;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Binary replay format: names, both fleets and the shots, 2 bytes per placement and 1 per shot, optionally
+// raw-deflated; the layout is in the README. Version 1 replays, which lack the winner byte, still decode.
+public class ReplayCodec {
+    public static final int VERSION = 2;
+    public static final int FLAG_COMPRESSED = 1;
+    // longest name a u16 length can hold
+    public static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private static final int HEADER = 5;
+    private static final int MAX_BODY = 256 * 1024;
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    public static byte[] encode(Game game, boolean compress) {
+        var p1 = game.getPlayerName(Player.P1).getBytes(StandardCharsets.UTF_8);
+        var p2 = game.getPlayerName(Player.P2).getBytes(StandardCharsets.UTF_8);
+        var f1 = game.getBoard(Player.P1).getShips();
+        var f2 = game.getBoard(Player.P2).getShips();
+        int shots = game.getShotCount();
+
+        var body = new byte[4 + p1.length + p2.length + 2 + 2 * (f1.size() + f2.size()) + 1 + shots + 1];
+        int pos = writeName(body, 0, p1);
+        pos = writeName(body, pos, p2);
+        pos = writeFleet(body, pos, game.getBoard(Player.P1));
+        pos = writeFleet(body, pos, game.getBoard(Player.P2));
+        body[pos++] = (byte) shots;
+        for (int i = 0; i < shots; i++) {
+            int player = game.getShotPlayer(i) == Player.P2 ? 0x80 : 0;
+            body[pos++] = (byte) (player | (game.getShotRow(i) * Board.SIZE + game.getShotCol(i)));
+        }
+        var winner = game.getWinner();
+        body[pos] = (byte) (winner == null ? 0 : winner.ordinal() + 1);
+
+        if (compress) body = deflate(body);
+        var out = new byte[HEADER + body.length];
+        out[0] = 'B'; out[1] = 'S'; out[2] = 'R';
+        out[3] = VERSION;
+        out[4] = (byte) (compress ? FLAG_COMPRESSED : 0);
+        System.arraycopy(body, 0, out, HEADER, body.length);
+        return out;
+    }
+
+    public static Replay decode(byte[] data) {
+        if (data == null || data.length < HEADER || data[0] != 'B' || data[1] != 'S' || data[2] != 'R')
+            throw new IllegalArgumentException("Not a replay");
+        int version = data[3];
+        if (version != 1 && version != VERSION)
+            throw new IllegalArgumentException("Unsupported replay version " + data[3]);
+
+        var body = (data[4] & FLAG_COMPRESSED) != 0
+                ? inflate(data, HEADER)
+                : Arrays.copyOfRange(data, HEADER, data.length);
+        try {
+            var in = new Reader(body);
+            var p1 = in.name();
+            var p2 = in.name();
+            var placements = new ArrayList<PlaceShipRequest>(10);
+            in.fleet(Player.P1, placements);
+            in.fleet(Player.P2, placements);
+            int count = in.u8();
+            var shots = new ArrayList<FireRequest>(count);
+            for (int i = 0; i < count; i++) {
+                int b = in.u8();
+                int cell = b & 0x7F;
+                if (cell >= Board.SIZE * Board.SIZE) throw new IllegalArgumentException("Bad shot cell " + cell);
+                var player = (b & 0x80) != 0 ? Player.P2 : Player.P1;
+                shots.add(new FireRequest(player, cell / Board.SIZE, cell % Board.SIZE));
+            }
+            Player winner = null;
+            if (version >= 2) {
+                int w = in.u8();
+                if (w > 2) throw new IllegalArgumentException("Bad winner " + w);
+                winner = w == 0 ? null : w == 1 ? Player.P1 : Player.P2;
+            }
+            if (in.pos != body.length) throw new IllegalArgumentException("Trailing bytes in replay");
+            return new Replay(p1, p2, placements, shots, winner);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated replay");
+        }
+    }
+
+    private static int writeName(byte[] out, int pos, byte[] name) {
+        if (name.length > MAX_NAME_BYTES)
+            throw new IllegalArgumentException("Name longer than " + MAX_NAME_BYTES + " bytes");
+        out[pos++] = (byte) (name.length >>> 8);
+        out[pos++] = (byte) name.length;
+        System.arraycopy(name, 0, out, pos, name.length);
+        return pos + name.length;
+    }
+
+    private static int writeFleet(byte[] out, int pos, Board board) {
+        var ships = board.getShips();
+        out[pos++] = (byte) ships.size();
+        for (var ship : ships) {
+            var cells = ship.getCells();
+            var first = cells.get(0);
+            boolean horizontal = cells.size() < 2 || cells.get(1).row() == first.row();
+            var o = horizontal ? Orientation.HORIZONTAL : Orientation.VERTICAL;
+            out[pos++] = (byte) (ship.getType().ordinal() << 1 | o.ordinal());
+            out[pos++] = (byte) (first.row() * Board.SIZE + first.col());
+        }
+        return pos;
+    }
+
+    static byte[] deflate(byte[] body) {
+        var deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            var out = new byte[body.length + 64];
+            int n = 0;
+            while (!deflater.finished()) {
+                if (n == out.length) out = Arrays.copyOf(out, out.length * 2);
+                n += deflater.deflate(out, n, out.length - n);
+            }
+            return Arrays.copyOf(out, n);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] inflate(byte[] data, int offset) {
+        var inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            var out = new byte[256];
+            int n = 0;
+            while (!inflater.finished()) {
+                if (n == out.length) {
+                    if (out.length >= MAX_BODY) throw new IllegalArgumentException("Replay too large");
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                int k = inflater.inflate(out, n, out.length - n);
+                if (k == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new IllegalArgumentException("Truncated replay");
+                n += k;
+            }
+            return Arrays.copyOf(out, n);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt replay");
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) { this.buf = buf; }
+
+        int u8() { return buf[pos++] & 0xFF; }
+
+        String name() {
+            int len = u8() << 8 | u8();
+            if (pos + len > buf.length) throw new IllegalArgumentException("Truncated replay");
+            var s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+
+        void fleet(Player player, ArrayList<PlaceShipRequest> out) {
+            int count = u8();
+            for (int i = 0; i < count; i++) {
+                int kind = u8();
+                int cell = u8();
+                if ((kind >>> 1) >= SHIP_TYPES.length || cell >= Board.SIZE * Board.SIZE)
+                    throw new IllegalArgumentException("Bad ship entry");
+                out.add(new PlaceShipRequest(player, SHIP_TYPES[kind >>> 1],
+                        cell / Board.SIZE, cell % Board.SIZE, ORIENTATIONS[kind & 1]));
+            }
+        }
+    }
+}
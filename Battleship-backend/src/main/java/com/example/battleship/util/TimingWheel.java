@@ -0,0 +1,165 @@
+package com.example.battleship.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// Hierarchical timing wheel: four levels of 64 slots, O(1) to file, push back or fire a timer.
+// Only the thread calling advance touches the slots; a deadline may only move later while its timer is armed.
+public final class TimingWheel<T extends TimingWheel.Timer> {
+    public static final long NEVER = Long.MAX_VALUE;
+    private static final int SLOT_BITS = 6, SLOTS = 1 << SLOT_BITS, SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long HORIZON = 1L << (SLOT_BITS * LEVELS);
+
+    // An entry in the wheel; subclasses carry whatever firing it needs
+    public abstract static class Timer {
+        private static final VarHandle ARMED;
+
+        static {
+            try {
+                ARMED = MethodHandles.lookup().findVarHandle(Timer.class, "armed", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long deadline = NEVER;
+        // true from schedule until the wheel drops or fires the timer
+        private volatile boolean armed;
+        private Timer next;
+
+        public long deadline() { return deadline; }
+
+        private boolean arm() { return !armed && ARMED.compareAndSet(this, false, true); }
+    }
+
+    private final long tickNanos;
+    private final long origin;
+    private final LongSupplier clock;
+    private final Consumer<T> onExpiry;
+    private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+    private final AtomicReference<Timer> incoming = new AtomicReference<>();
+    // last tick processed; advance's thread only
+    private long tick;
+    private Timer due;
+
+    public TimingWheel(long tickNanos, LongSupplier clock, Consumer<T> onExpiry) {
+        if (tickNanos <= 0) throw new IllegalArgumentException("tick must be positive");
+        this.tickNanos = tickNanos;
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        this.onExpiry = onExpiry;
+    }
+
+    // Arms the timer for `deadline` (clock time), or moves it later; any thread, no locks, no allocation
+    public void schedule(T timer, long deadline) {
+        Timer t = timer;
+        t.deadline = deadline;
+        if (t.arm()) push(t);
+    }
+
+    public void cancel(T timer) {
+        ((Timer) timer).deadline = NEVER;
+    }
+
+    // Processes every tick up to now, firing timers whose deadline has passed; returns how many fired.
+    // Call from one thread at a time. A timer pushed back at the moment it fires may still fire once,
+    // so onExpiry should check that its reason still holds.
+    public int advance() {
+        long now = (clock.getAsLong() - origin) / tickNanos;
+        var in = incoming.getAndSet(null);
+        while (in != null) {
+            var t = in;
+            in = in.next;
+            file(t);
+        }
+        int fired = fireDue();
+        while (tick < now) {
+            tick++;
+            int index = (int) tick & SLOT_MASK;
+            if (index == 0) cascade(1);
+            var t = slots[0][index];
+            slots[0][index] = null;
+            while (t != null) {
+                var next = t.next;
+                file(t);
+                t = next;
+            }
+            fired += fireDue();
+        }
+        return fired;
+    }
+
+    private void push(Timer t) {
+        Timer head;
+        do {
+            head = incoming.get();
+            t.next = head;
+        } while (!incoming.compareAndSet(head, t));
+    }
+
+    // Moves the slot of `level` that the current tick has reached down the wheel, after the one above it
+    private void cascade(int level) {
+        int index = (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+        if (index == 0 && level + 1 < LEVELS) cascade(level + 1);
+        var t = slots[level][index];
+        slots[level][index] = null;
+        while (t != null) {
+            var next = t.next;
+            file(t);
+            t = next;
+        }
+    }
+
+    // Puts a timer in the slot for its deadline, or on the due list when it is due or cancelled
+    private void file(Timer t) {
+        long deadline = t.deadline;
+        long delta = deadline == NEVER ? 0 : deadlineTick(deadline) - tick;
+        if (delta <= 0) {
+            t.next = due;
+            due = t;
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+        // past the top level: park in its furthest slot and look again when that comes round
+        long at = delta < HORIZON ? tick + delta : tick + HORIZON - 1;
+        int index = (int) (at >>> (SLOT_BITS * level)) & SLOT_MASK;
+        t.next = slots[level][index];
+        slots[level][index] = t;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int fireDue() {
+        int fired = 0;
+        while (due != null) {
+            var t = due;
+            due = t.next;
+            t.next = null;
+            if (!release(t)) continue;
+            fired++;
+            onExpiry.accept((T) t);
+        }
+        return fired;
+    }
+
+    // Takes a due or cancelled timer out of the wheel; true when it is to fire. One pushed back meanwhile
+    // is filed again instead (or left to the schedule that pushed it in again).
+    private boolean release(Timer t) {
+        t.armed = false;
+        long deadline = t.deadline;
+        if (deadline == NEVER) return false;
+        if (deadlineTick(deadline) <= tick) return true;
+        if (t.arm()) file(t);
+        return false;
+    }
+
+    // First tick at or after the deadline, so nothing fires early
+    private long deadlineTick(long deadline) {
+        long elapsed = deadline - origin;
+        return elapsed <= 0 ? 0 : (elapsed + tickNanos - 1) / tickNanos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.battleship.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+// Token buckets keyed by string in a fixed-size, two-way set-associative table. Each bucket is one long
+// in GCRA form (the time it would be full again), updated with a single CAS; see the README.
+public class TokenBuckets {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier clock;
+    private final AtomicReferenceArray<Bucket> slots;
+    private final int mask;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TokenBuckets(double ratePerSecond, int burst, int capacity) {
+        this(ratePerSecond, burst, capacity, System::nanoTime);
+    }
+
+    TokenBuckets(double ratePerSecond, int burst, int capacity, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1) throw new IllegalArgumentException("rate and burst must be positive");
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.clock = clock;
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    // 0 when admitted, otherwise the nanoseconds until the next request for this key would be
+    public long tryAcquire(String key) {
+        var b = bucket(key);
+        long now = clock.getAsLong();
+        for (;;) {
+            long tat = b.tat.get();
+            long start = Math.max(tat, now);
+            if (start - now > toleranceNanos) return start - now - toleranceNanos;
+            if (b.tat.compareAndSet(tat, start + intervalNanos)) return 0;
+        }
+    }
+
+    public long getEvictions() { return evictions.get(); }
+
+    private Bucket bucket(String key) {
+        int h = key.hashCode();
+        int i = (h ^ (h >>> 16)) & mask & ~1;
+        for (;;) {
+            var a = slots.get(i);
+            if (a != null && a.key.equals(key)) return a;
+            var b = slots.get(i + 1);
+            if (b != null && b.key.equals(key)) return b;
+
+            // claim an empty slot, else evict the bucket owed least (an idle one owes nothing)
+            int victim = a == null ? i : b == null ? i + 1 : a.tat.get() <= b.tat.get() ? i : i + 1;
+            var old = victim == i ? a : b;
+            var fresh = new Bucket(key);
+            if (slots.compareAndSet(victim, old, fresh)) {
+                if (old != null) evictions.incrementAndGet();
+                return fresh;
+            }
+            // lost a race for the slot; look again, the winner may have been this key
+        }
+    }
+
+    private static final class Bucket {
+        final String key;
+        final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(String key) { this.key = key; }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.battleship.util;
+
+import com.example.battleship.domain.Board;
+import com.example.battleship.domain.CellState;
+import com.example.battleship.domain.Orientation;
+import com.example.battleship.domain.ShipType;
+import com.example.battleship.dto.GameViewDto;
+
+// Binary frames of the game WebSocket, one command or reply per message; the layout is in the README
+public class WireCodec {
+    public static final int FIRE = 1, PLACE = 2, RANDOM = 3, VIEW = 4;
+    public static final int WITH_VERSION = 0x80;
+    public static final int RESULT = 0x10, STATE = 0x20;
+    public static final int OK = 0, RATE_LIMITED = 0xFE, MALFORMED = 0xFF;
+    public static final int NO_SHOT = -1;
+    public static final int VIEW_LENGTH = 8 + Board.SIZE * Board.SIZE;
+
+    private static final int CELLS = Board.SIZE * Board.SIZE;
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+    private static final CellState[] CELL_STATES = CellState.values();
+
+    // A decoded client command; version is -1 when none was given
+    public record Command(int op, int tag, long version, int cell, ShipType shipType, Orientation orientation) {
+        public int row() { return cell / Board.SIZE; }
+        public int col() { return cell % Board.SIZE; }
+    }
+
+    // The command in a client frame, or null when the frame is not one
+    public static Command decode(byte[] in) {
+        if (in.length < 2) return null;
+        int op = in[0] & 0x7F;
+        int tag = in[1] & 0xFF;
+        int pos = 2;
+        long version = -1;
+        if ((in[0] & WITH_VERSION) != 0) {
+            if (in.length < 6) return null;
+            version = (in[2] & 0xFFL) << 24 | (in[3] & 0xFF) << 16 | (in[4] & 0xFF) << 8 | in[5] & 0xFF;
+            pos = 6;
+        }
+        int args = in.length - pos;
+        return switch (op) {
+            case FIRE -> args == 1 && (in[pos] & 0xFF) < CELLS
+                    ? new Command(op, tag, version, in[pos] & 0xFF, null, null) : null;
+            case PLACE -> {
+                if (args != 2) yield null;
+                int kind = in[pos] & 0xFF, cell = in[pos + 1] & 0xFF;
+                if ((kind >>> 1) >= SHIP_TYPES.length || cell >= CELLS) yield null;
+                yield new Command(op, tag, version, cell, SHIP_TYPES[kind >>> 1], ORIENTATIONS[kind & 1]);
+            }
+            case RANDOM, VIEW -> args == 0 ? new Command(op, tag, version, 0, null, null) : null;
+            default -> null;
+        };
+    }
+
+    // status: OK, 1 + Rejection ordinal, RATE_LIMITED or MALFORMED; shot: a FireResponse index or NO_SHOT
+    public static byte[] result(int tag, int status, long version, int shot) {
+        var out = new byte[shot == NO_SHOT ? 7 : 8];
+        out[0] = RESULT;
+        out[1] = (byte) tag;
+        out[2] = (byte) status;
+        putVersion(out, 3, version);
+        if (shot != NO_SHOT) out[7] = (byte) shot;
+        return out;
+    }
+
+    public static byte[] view(int tag, GameViewDto view) {
+        var out = new byte[VIEW_LENGTH];
+        out[0] = STATE;
+        out[1] = (byte) tag;
+        putVersion(out, 2, view.version());
+        out[6] = (byte) view.state().ordinal();
+        out[7] = (byte) (view.winner() == null ? 0 : view.winner().ordinal() + 1);
+        packGrid(view.yourBoard(), out, 8);
+        packGrid(view.opponentBoardMasked(), out, 8 + CELLS / 2);
+        return out;
+    }
+
+    // One board out of a view frame, `opponent` picking the second
+    public static CellState[][] grid(byte[] view, boolean opponent) {
+        var g = new CellState[Board.SIZE][Board.SIZE];
+        int base = 8 + (opponent ? CELLS / 2 : 0);
+        for (int i = 0; i < CELLS; i++) {
+            int b = view[base + (i >>> 1)];
+            g[i / Board.SIZE][i % Board.SIZE] = CELL_STATES[(i & 1) == 0 ? (b >>> 4) & 0xF : b & 0xF];
+        }
+        return g;
+    }
+
+    private static void packGrid(CellState[][] g, byte[] out, int pos) {
+        for (int i = 0; i < CELLS; i += 2) {
+            int hi = g[i / Board.SIZE][i % Board.SIZE].ordinal();
+            int lo = g[(i + 1) / Board.SIZE][(i + 1) % Board.SIZE].ordinal();
+            out[pos + (i >>> 1)] = (byte) (hi << 4 | lo);
+        }
+    }
+
+    private static void putVersion(byte[] out, int pos, long version) {
+        out[pos] = (byte) (version >>> 24);
+        out[pos + 1] = (byte) (version >>> 16);
+        out[pos + 2] = (byte) (version >>> 8);
+        out[pos + 3] = (byte) version;
+    }
+}
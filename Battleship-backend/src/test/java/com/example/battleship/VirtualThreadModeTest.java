@@ -0,0 +1,106 @@
+package com.example.battleship;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.SpectatorHub;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual"})
+@DisplayName("Virtual thread mode Tests")
+class VirtualThreadModeTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private SpectatorHub hub;
+
+    @Test
+    @DisplayName("Should run Tomcat requests on virtual threads")
+    void testTomcatExecutor() {
+        var tomcat = ((TomcatWebServer) context.getWebServer()).getTomcat();
+        var executor = tomcat.getConnector().getProtocolHandler().getExecutor();
+        assertThat(executor).isInstanceOf(VirtualThreadExecutor.class);
+    }
+
+    @Test
+    @DisplayName("Should run async tasks on virtual threads")
+    void testTaskExecutor() throws Exception {
+        var virtual = new CompletableFuture<Boolean>();
+        taskExecutor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should run spectator fan-out on virtual threads")
+    void testSpectatorExecutor() throws Exception {
+        var virtual = new CompletableFuture<Boolean>();
+        hub.subscribe(gameService.createGame("Alice", "Bob"), frame -> virtual.complete(Thread.currentThread().isVirtual()));
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not pin carrier threads while playing and spectating games")
+    void testNoPinning() throws Exception {
+        var pinned = new ConcurrentLinkedQueue<String>();
+        try (var rs = new RecordingStream()) {
+            rs.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            rs.onEvent("jdk.VirtualThreadPinned", e -> pinned.add(String.valueOf(e.getStackTrace())));
+            rs.startAsync();
+
+            try (var players = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 500; i++) {
+                    players.execute(() -> {
+                        var game = gameService.createGame("Alice", "Bob");
+                        // a spectator that writes slowly, like a client on a bad connection
+                        hub.subscribe(game, frame -> sleep(1));
+                        play(game);
+                    });
+                }
+            }
+            // let the recording catch up with the last events before it is closed
+            Thread.sleep(500);
+        }
+        assertThat(pinned).isEmpty();
+    }
+
+    private void play(Game game) {
+        gameService.randomPlacement(game, Player.P1);
+        gameService.randomPlacement(game, Player.P2);
+        for (int i = 0; i < 10; i++)
+            for (var p : Player.values())
+                gameService.fire(game, new FireRequest(p, i, i));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
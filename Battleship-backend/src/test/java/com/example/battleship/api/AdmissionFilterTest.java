@@ -0,0 +1,154 @@
+package com.example.battleship.api;
+
+import com.example.battleship.service.ClusterMembership;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "battleship.admission.enabled=true",
+        "battleship.admission.client.rate=0.01", "battleship.admission.client.burst=5",
+        "battleship.admission.create.rate=0.01", "battleship.admission.create.burst=2",
+        "battleship.admission.game.rate=0.01", "battleship.admission.game.burst=3"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("AdmissionFilter Tests")
+class AdmissionFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ClusterMembership cluster;
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a client's burst is spent")
+    void testClientLimit() throws Exception {
+        for (int i = 0; i < 5; i++)
+            mockMvc.perform(from("10.0.0.1", get("/api/leaderboard"))).andExpect(status().isOk());
+
+        mockMvc.perform(from("10.0.0.1", get("/api/leaderboard")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"))
+                .andExpect(jsonPath("$.message").value("Rate limit exceeded"));
+        mockMvc.perform(from("10.0.0.2", get("/api/leaderboard"))).andExpect(status().isOk());
+        assertThat(registry.get("battleship.admission.rejected").tag("reason", "client").counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should charge the client for a request claiming to be forwarded when no member sent it")
+    void testForgedForwardedBy() throws Exception {
+        for (int i = 0; i < 5; i++)
+            mockMvc.perform(from("10.0.4.1", get("/api/leaderboard").header(ClusterRoutingFilter.FORWARDED_BY, "x")))
+                    .andExpect(status().isOk());
+
+        mockMvc.perform(from("10.0.4.1", get("/api/leaderboard").header(ClusterRoutingFilter.FORWARDED_BY, "x")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Should limit game creation separately from other requests")
+    void testCreateLimit() throws Exception {
+        for (int i = 0; i < 2; i++)
+            mockMvc.perform(from("10.0.1.1", post("/api/game?p1=a&p2=b"))).andExpect(status().isOk());
+
+        mockMvc.perform(from("10.0.1.1", post("/api/game?p1=a&p2=b"))).andExpect(status().isTooManyRequests());
+        mockMvc.perform(from("10.0.1.1", get("/api/leaderboard"))).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should limit one game across all clients")
+    void testGameLimit() throws Exception {
+        for (int i = 0; i < 3; i++)
+            mockMvc.perform(from("10.0.2." + i, get("/api/game/some-game?viewer=P1"))).andExpect(status().isNotFound());
+
+        mockMvc.perform(from("10.0.2.9", get("/api/game/some-game/spectate"))).andExpect(status().isTooManyRequests());
+        mockMvc.perform(from("10.0.2.9", get("/api/game/other-game/spectate"))).andExpect(status().isNotFound());
+        assertThat(registry.get("battleship.admission.rejected").tag("reason", "game").counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should publish the configured limits")
+    void testLimitGauges() {
+        assertThat(registry.get("battleship.admission.burst").tag("scope", "create").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("battleship.admission.limit").tag("scope", "concurrency").gauge().value()).isEqualTo(512);
+    }
+
+    @Test
+    @DisplayName("Should shed requests beyond the in-flight limit")
+    void testConcurrencyLimit() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var filter = new AdmissionFilter(registry, cluster, true, 1, 64, 1000, 1000, 1000, 1000, 1000, 1000);
+        filter.onReadiness(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var pool = Executors.newSingleThreadExecutor()) {
+            pool.execute(() -> {
+                try {
+                    filter.doFilter(request("10.0.3.1"), new MockHttpServletResponse(), (req, res) -> {
+                        entered.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            var shed = new MockHttpServletResponse();
+            filter.doFilter(request("10.0.3.2"), shed, (req, res) -> fail("should not be admitted"));
+            assertThat(shed.getStatus()).isEqualTo(429);
+            assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(registry.get("battleship.admission.in-flight").gauge().value()).isEqualTo(1);
+            release.countDown();
+        }
+
+        var after = new MockHttpServletResponse();
+        filter.doFilter(request("10.0.3.2"), after, (req, res) -> {});
+        assertThat(after.getStatus()).isEqualTo(200);
+        assertThat(registry.get("battleship.admission.rejected").tag("reason", "concurrency").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static MockHttpServletRequestBuilder from(String address, MockHttpServletRequestBuilder builder) {
+        return builder.with(req -> {
+            req.setRemoteAddr(address);
+            return req;
+        });
+    }
+
+    private static MockHttpServletRequest request(String address) {
+        var req = new MockHttpServletRequest("GET", "/api/leaderboard");
+        req.setRemoteAddr(address);
+        return req;
+    }
+}
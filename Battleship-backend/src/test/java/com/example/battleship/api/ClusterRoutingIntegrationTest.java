@@ -0,0 +1,167 @@
+package com.example.battleship.api;
+
+import com.example.battleship.BattleshipApplication;
+import com.example.battleship.service.ClusterMembership;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Two nodes in one JVM, finding each other through a heartbeat directory as separate JVMs would
+@DisplayName("Cluster Routing Integration Tests")
+class ClusterRoutingIntegrationTest {
+    private static final Pattern GAME_ID = Pattern.compile("\"gameId\":\"([^\"]+)\"");
+
+    @TempDir
+    static Path dir;
+
+    private static ConfigurableApplicationContext a, b;
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        a = node();
+        b = node();
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while ((members(a) < 2 || members(b) < 2) && System.nanoTime() < deadline) Thread.sleep(20);
+        assertThat(members(a)).isEqualTo(2);
+        assertThat(members(b)).isEqualTo(2);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (b != null) b.close();
+        if (a != null) a.close();
+    }
+
+    // ========== OWNERSHIP TESTS ==========
+
+    @Test
+    @DisplayName("Should create each game on the node that was asked, and own it there")
+    void testCreateIsLocal() throws Exception {
+        for (var node : new ConfigurableApplicationContext[]{a, b}) {
+            var id = create(node);
+            assertThat(node.getBean(ClusterMembership.class).owns(id)).isTrue();
+        }
+    }
+
+    // ========== ROUTING TESTS ==========
+
+    @Test
+    @DisplayName("Should forward reads and commands for another node's game to its owner")
+    void testForward() throws Exception {
+        var id = create(a);
+
+        var direct = send(a, "GET", "/api/game/" + id + "?viewer=P1", null, null);
+        var forwarded = send(b, "GET", "/api/game/" + id + "?viewer=P1", null, null);
+        assertThat(forwarded.statusCode()).isEqualTo(200);
+        assertThat(forwarded.body()).isEqualTo(direct.body());
+        assertThat(forwarded.headers().firstValue("ETag")).isEqualTo(direct.headers().firstValue("ETag"));
+        assertThat(forwarded.headers().firstValue(ClusterRoutingFilter.OWNER)).hasValue(url(a));
+
+        var etag = direct.headers().firstValue("ETag").orElseThrow();
+        var placed = send(b, "POST", "/api/game/" + id + "/random-placement", "{\"player\":\"P1\"}", etag);
+        assertThat(placed.statusCode()).isEqualTo(200);
+        var stale = send(b, "POST", "/api/game/" + id + "/random-placement", "{\"player\":\"P2\"}", etag);
+        assertThat(stale.statusCode()).isEqualTo(412);
+
+        var view = send(a, "GET", "/api/game/" + id + "?viewer=P1", null, null);
+        assertThat(view.body()).contains("\"state\":\"PLACING_P2\"");
+    }
+
+    @Test
+    @DisplayName("Should still route a request whose forwarded-by header no member sent")
+    void testForgedForwardedBy() throws Exception {
+        var id = create(a);
+
+        var request = HttpRequest.newBuilder(URI.create(url(b) + "/api/game/" + id + "?viewer=P1"))
+                .header(ClusterRoutingFilter.FORWARDED_BY, "http://evil.example").build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(ClusterRoutingFilter.OWNER)).hasValue(url(a));
+    }
+
+    @Test
+    @DisplayName("Should pass the owner's 404 through for a game no node has")
+    void testUnknownGame() throws Exception {
+        // an id the other node owns, so it has to be asked
+        var owner = a.getBean(ClusterMembership.class);
+        String id;
+        do id = UUID.randomUUID().toString(); while (!owner.owns(id));
+
+        var response = send(b, "GET", "/api/game/" + id + "?viewer=P1", null, null);
+        assertThat(response.statusCode()).isEqualTo(404);
+        assertThat(response.headers().firstValue(ClusterRoutingFilter.OWNER)).hasValue(url(a));
+    }
+
+    @Test
+    @DisplayName("Should redirect a WebSocket handshake to the owner")
+    void testSocketRedirect() throws Exception {
+        var id = create(a);
+
+        var response = send(b, "GET", "/ws/game/" + id + "?player=P1", null, null);
+        assertThat(response.statusCode()).isEqualTo(307);
+        assertThat(response.headers().firstValue("Location")).hasValue(url(a) + "/ws/game/" + id + "?player=P1");
+    }
+
+    @Test
+    @DisplayName("Should redirect a spectator stream to the owner instead of holding it open here")
+    void testStreamRedirect() throws Exception {
+        var id = create(a);
+
+        var response = send(b, "GET", "/api/game/" + id + "/spectate/stream", null, null);
+        assertThat(response.statusCode()).isEqualTo(307);
+        assertThat(response.headers().firstValue("Location")).hasValue(url(a) + "/api/game/" + id + "/spectate/stream");
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static ConfigurableApplicationContext node() {
+        return new SpringApplicationBuilder(BattleshipApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--battleship.cluster.enabled=true",
+                        "--battleship.cluster.discovery=LOCAL",
+                        "--battleship.cluster.dir=" + dir,
+                        "--battleship.cluster.heartbeat=50ms");
+    }
+
+    private static int members(ConfigurableApplicationContext node) {
+        return node.getBean(ClusterMembership.class).members().size();
+    }
+
+    private static String url(ConfigurableApplicationContext node) {
+        return "http://localhost:" + ((WebServerApplicationContext) node).getWebServer().getPort();
+    }
+
+    private static String create(ConfigurableApplicationContext node) throws Exception {
+        var response = send(node, "POST", "/api/game?p1=Alice&p2=Bob", null, null);
+        assertThat(response.statusCode()).isEqualTo(200);
+        var m = GAME_ID.matcher(response.body());
+        assertThat(m.find()).isTrue();
+        return m.group(1);
+    }
+
+    private static HttpResponse<String> send(ConfigurableApplicationContext node, String method, String path,
+                                             String json, String ifMatch) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(url(node) + path))
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (json != null) request.header("Content-Type", "application/json");
+        if (ifMatch != null) request.header("If-Match", ifMatch);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
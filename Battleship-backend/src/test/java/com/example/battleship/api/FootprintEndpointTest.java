@@ -0,0 +1,67 @@
+package com.example.battleship.api;
+
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FootprintReport;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import com.example.battleship.util.Footprint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.battleship.domain.GameState.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Footprint Endpoint Tests")
+class FootprintEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Test
+    @DisplayName("GET /actuator/footprint - Should estimate store memory by game state")
+    void testFootprintByState() throws Exception {
+        gameStore.clear();
+        var fresh = gameService.createGame("Alice", "Bob");
+        var playing = gameService.createGame("Alice", "Bob");
+        gameService.randomPlacement(playing, Player.P1);
+        gameService.randomPlacement(playing, Player.P2);
+
+        var json = mockMvc.perform(get("/actuator/footprint"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        var report = objectMapper.readValue(json, FootprintReport.class);
+
+        assertThat(report.games()).isEqualTo(2);
+        assertThat(report.byState().get(PLACING_P1))
+                .isEqualTo(new FootprintReport.StateFootprint(1, Footprint.game(fresh)));
+        assertThat(report.byState().get(TURN_P1))
+                .isEqualTo(new FootprintReport.StateFootprint(1, Footprint.game(playing)));
+        assertThat(report.byState().get(FINISHED).games()).isZero();
+        assertThat(report.storeOverheadBytes()).isEqualTo(Footprint.storeOverhead(2));
+        assertThat(report.bytes())
+                .isEqualTo(Footprint.game(fresh) + Footprint.game(playing) + report.storeOverheadBytes());
+        assertThat(report.gamesFitInMaxHeap())
+                .isGreaterThan(0)
+                .isLessThan(report.maxHeapBytes() / report.averageBytesPerGame());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.battleship.api;
 import com.example.battleship.domain.*;
 import com.example.battleship.dto.*;
 import com.example.battleship.service.GameService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,10 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -128,6 +133,21 @@ class GameControllerIntegrationTest {
                 .andExpect(jsonPath("$.state").value("TURN_P1"));
     }
 
+    @Test
+    @DisplayName("GET /api/game/{id} - Should serialize exactly like Jackson")
+    void testViewGameMatchesJackson() throws Exception {
+        setupGameForFiring();
+        var game = gameService.getGameOr404(gameId);
+
+        MvcResult result = mockMvc.perform(get("/api/game/{id}", gameId).param("viewer", "P2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString())
+                .isEqualTo(objectMapper.writeValueAsString(gameService.view(game, Player.P2)));
+    }
+
     @Test
     @DisplayName("GET /api/game/{id} - Should return 404 for non-existent game")
     void testViewGameNotFound() throws Exception {
@@ -145,6 +165,48 @@ class GameControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("GET /api/game/{id}/views - Should return both player views in one response")
+    void testViewsBothPlayers() throws Exception {
+        setupGameForFiring();
+        var game = gameService.getGameOr404(gameId);
+
+        MvcResult result = mockMvc.perform(get("/api/game/{id}/views", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.p1.gameId").value(gameId))
+                .andExpect(jsonPath("$.p1.state").value("TURN_P1"))
+                .andExpect(jsonPath("$.p2.state").value("TURN_P1"))
+                .andReturn();
+
+        var views = objectMapper.readValue(result.getResponse().getContentAsString(), GameViewsDto.class);
+        assertThat(objectMapper.writeValueAsString(views.p1()))
+                .isEqualTo(objectMapper.writeValueAsString(gameService.view(game, Player.P1)));
+        assertThat(objectMapper.writeValueAsString(views.p2()))
+                .isEqualTo(objectMapper.writeValueAsString(gameService.view(game, Player.P2)));
+    }
+
+    @Test
+    @DisplayName("GET /api/game/{id}/views - Should return 404 for non-existent game")
+    void testViewsNotFound() throws Exception {
+        mockMvc.perform(get("/api/game/nonexistent-id/views"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/game/{id}/spectate - Should mask both boards")
+    void testSpectateMasksBothBoards() throws Exception {
+        setupGameForFiring();
+
+        MvcResult result = mockMvc.perform(get("/api/game/{id}/spectate", gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("TURN_P1"))
+                .andExpect(jsonPath("$.p1BoardMasked").isArray())
+                .andExpect(jsonPath("$.p2BoardMasked").isArray())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("SHIP");
+    }
+
     // ========== PLACE SHIP TESTS ==========
     @Test
     @DisplayName("POST /api/game/{id}/place-ship - Should place ship successfully")
@@ -394,6 +456,21 @@ class GameControllerIntegrationTest {
                 .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    @DisplayName("POST /api/game/{id}/fire - Should explain the rejection in the body")
+    void testFireWrongTurnBody() throws Exception {
+        setupGameForFiring();
+
+        FireRequest req = new FireRequest(Player.P2, 0, 0);
+
+        mockMvc.perform(post("/api/game/{id}/fire", gameId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Not your turn"));
+    }
+
     @Test
     @DisplayName("POST /api/game/{id}/fire - Should detect sunk ship")
     void testFireSunk() throws Exception {
@@ -450,6 +527,171 @@ class GameControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // ========== VERSION TESTS ==========
+    @Test
+    @DisplayName("GET /api/game/{id} - Should tag the view with the game version")
+    void testViewETag() throws Exception {
+        setupGameForFiring();
+
+        mockMvc.perform(get("/api/game/{id}", gameId).param("viewer", "P1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"10\""))
+                .andExpect(jsonPath("$.version").value(10));
+    }
+
+    @Test
+    @DisplayName("POST /api/game/{id}/fire - Should apply with a current If-Match and return the new ETag")
+    void testFireIfMatch() throws Exception {
+        setupGameForFiring();
+
+        mockMvc.perform(post("/api/game/{id}/fire", gameId)
+                        .header("If-Match", "\"10\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FireRequest(Player.P1, 9, 9))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"11\""));
+        mockMvc.perform(post("/api/game/{id}/fire", gameId)
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new FireRequest(Player.P2, 9, 9))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"12\""));
+    }
+
+    @Test
+    @DisplayName("POST /api/game/{id}/fire - Should return 412 for a stale or weak If-Match")
+    void testFireStaleIfMatch() throws Exception {
+        setupGameForFiring();
+
+        for (var tag : new String[]{"\"9\"", "W/\"10\"", "\"abc\"", "10"}) {
+            mockMvc.perform(post("/api/game/{id}/fire", gameId)
+                            .header("If-Match", tag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new FireRequest(Player.P1, 9, 9))))
+                    .andExpect(status().isPreconditionFailed());
+        }
+        assertThat(gameService.getGameOr404(gameId).getShotCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /api/game/{id}/place-ship - Should return 409 while another command holds the game")
+    void testPlaceShipConflict() throws Exception {
+        var game = gameService.getGameOr404(gameId);
+        assertThat(game.tryBeginUpdate(0)).isTrue();
+        try {
+            mockMvc.perform(post("/api/game/{id}/place-ship", gameId)
+                            .header("If-Match", "\"0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new PlaceShipRequest(Player.P1, ShipType.CARRIER, 0, 0, Orientation.HORIZONTAL))))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.status").value(409));
+        } finally {
+            game.endUpdate(false);
+        }
+        mockMvc.perform(post("/api/game/{id}/random-placement", gameId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RandomPlacementRequest(Player.P1))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
+    // ========== BATCH TESTS ==========
+    @Test
+    @DisplayName("POST /api/batch - Should stream one NDJSON result per command")
+    void testBatch() throws Exception {
+        setupGameForFiring();
+        var other = gameService.createGame("Carol", "Dave").getId();
+        var commands = List.of(
+                new BatchCommand("fire", gameId, Player.P1, 9, 9, null, null, null),
+                new BatchCommand("random-placement", other, Player.P1, null, null, null, null, null),
+                new BatchCommand("fire", gameId, Player.P2, 9, 9, null, null, 11L),
+                new BatchCommand("view", gameId, Player.P1, null, null, null, null, null),
+                new BatchCommand("fire", gameId, Player.P1, 9, 8, null, null, 11L));
+
+        MvcResult started = mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(commands)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        var results = new JsonNode[commands.size()];
+        for (var line : body.lines().toList()) {
+            var node = objectMapper.readTree(line);
+            results[node.get("index").asInt()] = node;
+        }
+        assertThat(results[0].get("body").get("nextState").asText()).isEqualTo("TURN_P2");
+        assertThat(results[0].get("version").asLong()).isEqualTo(11);
+        assertThat(results[1].get("version").asLong()).isEqualTo(1);
+        assertThat(results[2].get("status").asInt()).isEqualTo(200);
+        assertThat(results[3].get("body").get("version").asLong()).isEqualTo(12);
+        assertThat(results[4].get("status").asInt()).isEqualTo(412);
+        assertThat(gameService.getGameOr404(gameId).getShotCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/batch - Should return 413 for too many commands")
+    void testBatchTooLarge() throws Exception {
+        var command = new BatchCommand("view", gameId, Player.P1, null, null, null, null, null);
+
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.nCopies(101, command))))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    // ========== LIST TESTS ==========
+    @Test
+    @DisplayName("GET /api/game - Should page through a player's games")
+    void testListByPlayer() throws Exception {
+        // other tests share this context, so the player is unique to this one
+        var player = "Lister-" + gameId;
+        var ids = List.of(gameService.createGame(player, "Bob").getId(), gameService.createGame("Carol", player).getId(),
+                gameService.createGame(player, "Dave").getId());
+
+        var first = objectMapper.readTree(mockMvc.perform(get("/api/game").param("player", player).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games.length()").value(2))
+                .andExpect(jsonPath("$.games[0].state").value("PLACING_P1"))
+                .andExpect(jsonPath("$.next").isString())
+                .andReturn().getResponse().getContentAsString());
+        var second = objectMapper.readTree(mockMvc.perform(get("/api/game").param("player", player)
+                        .param("cursor", first.get("next").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games.length()").value(1))
+                .andExpect(jsonPath("$.next").doesNotExist())
+                .andReturn().getResponse().getContentAsString());
+
+        var listed = new ArrayList<>(first.get("games").findValuesAsText("gameId"));
+        listed.addAll(second.get("games").findValuesAsText("gameId"));
+        assertThat(listed).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("GET /api/game - Should list finished games and reject unfiltered listings")
+    void testListFinished() throws Exception {
+        setupGameForFiring();
+        var game = gameService.getGameOr404(gameId);
+        // P1 sweeps the rows holding P2's fleet while P2 fires up from the bottom row
+        for (int cell = 0; game.getState() != GameState.FINISHED; cell++) {
+            gameService.fire(game, new FireRequest(Player.P1, cell / 5 * 2, cell % 5));
+            if (game.getState() != GameState.FINISHED) gameService.fire(game, new FireRequest(Player.P2, 9 - cell / 10, cell % 10));
+        }
+
+        mockMvc.perform(get("/api/game").param("finishedSince", "2000-01-01T00:00:00Z").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games[?(@.gameId == '" + gameId + "')].winner").value("P1"));
+        mockMvc.perform(get("/api/game"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/game").param("state", "FINISHED").param("cursor", "nope"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ========== HELPER METHODS ==========
     private void placeAllShipsForPlayer(String id, Player player) throws Exception {
         int row = 0;
@@ -0,0 +1,278 @@
+package com.example.battleship.api;
+
+import com.example.battleship.domain.CellState;
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Orientation;
+import com.example.battleship.domain.Player;
+import com.example.battleship.domain.ShipType;
+import com.example.battleship.dto.FireResponse;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameSocketHub;
+import com.example.battleship.service.Rejection;
+import com.example.battleship.util.WireCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Game WebSocket Integration Tests")
+class GameSocketIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameSocketHub hub;
+
+    @SpyBean
+    private AdmissionFilter admission;
+
+    private final List<WebSocketSession> sessions = new ArrayList<>();
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = gameService.createGame("Alice", "Bob");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (var s : sessions) s.close();
+    }
+
+    // ========== COMMAND TESTS ==========
+
+    @Test
+    @DisplayName("Should start each socket from the current view of its own seat")
+    void testInitialView() throws Exception {
+        gameService.randomPlacement(game, Player.P1);
+        var p1 = connect(Player.P1);
+
+        var view = p1.next();
+        assertThat(view[0]).isEqualTo((byte) WireCodec.STATE);
+        assertThat(view).hasSize(WireCodec.VIEW_LENGTH);
+        assertThat(view[6]).isEqualTo((byte) GameState.PLACING_P2.ordinal());
+        assertThat(count(WireCodec.grid(view, false), CellState.SHIP)).isEqualTo(17);
+        assertThat(count(WireCodec.grid(view, true), CellState.SHIP)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should place, fire and answer each command with its tag, status and version")
+    void testPlay() throws Exception {
+        var p1 = connect(Player.P1);
+        var p2 = connect(Player.P2);
+        p1.next();
+        p2.next();
+
+        var placed = p1.send(WireCodec.PLACE, 7, ShipType.CARRIER.ordinal() << 1 | Orientation.HORIZONTAL.ordinal(), 0);
+        assertThat(placed).containsExactly(WireCodec.RESULT, 7, WireCodec.OK, 0, 0, 0, 1);
+        assertThat(p1.send(WireCodec.RANDOM, 8)[2]).isEqualTo((byte) WireCodec.OK);
+        assertThat(p2.send(WireCodec.RANDOM, 9)[2]).isEqualTo((byte) WireCodec.OK);
+
+        var wrongTurn = p2.send(WireCodec.FIRE, 10, 55);
+        assertThat(wrongTurn[2]).isEqualTo((byte) (1 + Rejection.NOT_YOUR_TURN.ordinal()));
+
+        var shot = p1.send(WireCodec.FIRE, 11, 99);
+        assertThat(shot).hasSize(8);
+        assertThat(shot[2]).isEqualTo((byte) WireCodec.OK);
+        var response = FireResponse.get(shot[7] & 0xFF);
+        assertThat(response.nextState()).isEqualTo("TURN_P2");
+        assertThat(game.getShotCount()).isEqualTo(1);
+        assertThat(game.getState()).isEqualTo(GameState.TURN_P2);
+
+        int target = 0;
+        while (game.getBoard(Player.P1).getGrid()[target / 10][target % 10] != CellState.SHIP) target++;
+        var hit = p2.send(WireCodec.FIRE, 12, target);
+        assertThat(FireResponse.get(hit[7] & 0xFF).hit()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should honour an expected version like If-Match")
+    void testExpectedVersion() throws Exception {
+        var p1 = connect(Player.P1);
+        p1.next();
+        long version = game.getVersion();
+
+        var stale = p1.sendAt(version + 1, WireCodec.RANDOM, 1);
+        assertThat(stale[2]).isEqualTo((byte) (1 + Rejection.VERSION_MISMATCH.ordinal()));
+        var current = p1.sendAt(version, WireCodec.RANDOM, 2);
+        assertThat(current[2]).isEqualTo((byte) WireCodec.OK);
+    }
+
+    @Test
+    @DisplayName("Should answer malformed frames without closing the socket")
+    void testMalformed() throws Exception {
+        var p1 = connect(Player.P1);
+        p1.next();
+
+        assertThat(p1.send(WireCodec.FIRE, 3, 100)[2]).isEqualTo((byte) WireCodec.MALFORMED);
+        assertThat(p1.send(42, 4)[2]).isEqualTo((byte) WireCodec.MALFORMED);
+        var view = p1.send(WireCodec.VIEW, 5);
+        assertThat(view[0]).isEqualTo((byte) WireCodec.STATE);
+        assertThat(view[1]).isEqualTo((byte) 5);
+    }
+
+    @Test
+    @DisplayName("Should charge commands to the game's admission bucket, but not views")
+    void testRateLimited() throws Exception {
+        var p1 = connect(Player.P1);
+        p1.next();
+        doReturn(1_000_000_000L).when(admission).admitGameCommand(game.getId());
+
+        var limited = p1.send(WireCodec.RANDOM, 6);
+        assertThat(limited).containsExactly(WireCodec.RESULT, 6, WireCodec.RATE_LIMITED, 0, 0, 0, 0);
+        assertThat(game.getBoard(Player.P1).getShips()).isEmpty();
+        assertThat(p1.send(WireCodec.VIEW, 7)[0]).isEqualTo((byte) WireCodec.STATE);
+        verify(admission).admitGameCommand(game.getId());
+    }
+
+    // ========== PUSH TESTS ==========
+
+    @Test
+    @DisplayName("Should push the new view to the other seat after a move")
+    void testPush() throws Exception {
+        var p1 = connect(Player.P1);
+        var p2 = connect(Player.P2);
+        p1.next();
+        p2.next();
+
+        gameService.randomPlacement(game, Player.P1);
+
+        var pushed = p2.next();
+        assertThat(pushed[0]).isEqualTo((byte) WireCodec.STATE);
+        assertThat(pushed[1]).isZero();
+        assertThat(pushed[6]).isEqualTo((byte) GameState.PLACING_P2.ordinal());
+        // P1's ships stay hidden from P2
+        assertThat(count(WireCodec.grid(pushed, true), CellState.SHIP)).isZero();
+        assertThat(count(WireCodec.grid(p1.next(), false), CellState.SHIP)).isEqualTo(17);
+    }
+
+    @Test
+    @DisplayName("Should refuse unknown games and missing seats, and forget closed sockets")
+    void testHandshake() throws Exception {
+        var client = new StandardWebSocketClient();
+        assertThatThrownBy(() -> client.execute(new BinaryWebSocketHandler(), url("no-such-game", "P1")).get(5, TimeUnit.SECONDS))
+                .hasMessageContaining("404");
+        assertThatThrownBy(() -> client.execute(new BinaryWebSocketHandler(), url(game.getId(), "P3")).get(5, TimeUnit.SECONDS))
+                .hasMessageContaining("400");
+
+        int before = hub.sockets();
+        var p1 = connect(Player.P1);
+        p1.next();
+        assertThat(hub.sockets()).isEqualTo(before + 1);
+        p1.session.close();
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (hub.sockets() != before && System.nanoTime() < deadline) Thread.sleep(10);
+        assertThat(hub.sockets()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should push from the hub's own fan-out threads")
+    void testPushExecutor() throws Exception {
+        var thread = new CompletableFuture<String>();
+        var peer = hub.join(game, Player.P1, new GameSocketHub.Sink() {
+            @Override
+            public void send(byte[] frame) { thread.complete(Thread.currentThread().getName()); }
+
+            @Override
+            public void close() {}
+        });
+        try {
+            gameService.randomPlacement(game, Player.P1);
+            assertThat(thread.get(5, TimeUnit.SECONDS)).startsWith("socket-push-");
+        } finally {
+            hub.leave(peer);
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private String url(String id, String player) {
+        return "ws://localhost:" + port + "/ws/game/" + id + "?player=" + player;
+    }
+
+    private Client connect(Player player) throws Exception {
+        var client = new Client();
+        client.session = new StandardWebSocketClient().execute(client, url(game.getId(), player.name()))
+                .get(5, TimeUnit.SECONDS);
+        sessions.add(client.session);
+        return client;
+    }
+
+    private static int count(CellState[][] grid, CellState state) {
+        int n = 0;
+        for (var row : grid) for (var c : row) if (c == state) n++;
+        return n;
+    }
+
+    private static class Client extends BinaryWebSocketHandler {
+        final BlockingQueue<byte[]> frames = new LinkedBlockingQueue<>();
+        WebSocketSession session;
+
+        @Override
+        protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+            var payload = message.getPayload();
+            var frame = new byte[payload.remaining()];
+            payload.get(frame);
+            frames.add(frame);
+        }
+
+        byte[] next() throws InterruptedException {
+            var frame = frames.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).as("frame").isNotNull();
+            return frame;
+        }
+
+        // Sends a command and returns its reply, skipping pushes that arrive first
+        byte[] send(int op, int tag, int... args) throws Exception {
+            var frame = new byte[2 + args.length];
+            frame[0] = (byte) op;
+            frame[1] = (byte) tag;
+            for (int i = 0; i < args.length; i++) frame[2 + i] = (byte) args[i];
+            return exchange(frame, tag);
+        }
+
+        byte[] sendAt(long version, int op, int tag, int... args) throws Exception {
+            var frame = new byte[6 + args.length];
+            frame[0] = (byte) (op | WireCodec.WITH_VERSION);
+            frame[1] = (byte) tag;
+            for (int i = 0; i < 4; i++) frame[2 + i] = (byte) (version >>> (24 - 8 * i));
+            for (int i = 0; i < args.length; i++) frame[6 + i] = (byte) args[i];
+            return exchange(frame, tag);
+        }
+
+        private byte[] exchange(byte[] frame, int tag) throws Exception {
+            session.sendMessage(new BinaryMessage(frame));
+            while (true) {
+                var reply = next();
+                if (reply[1] == (byte) tag) return reply;
+            }
+        }
+    }
+}
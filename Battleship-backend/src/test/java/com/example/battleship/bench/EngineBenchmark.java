@@ -0,0 +1,65 @@
+package com.example.battleship.bench;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.engine.GameEngine;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+
+import java.util.SplittableRandom;
+
+// Full random games per second, played on GameEngine directly and through GameService. Not a unit test;
+// run with
+//   mvn test-compile exec:java -Dexec.mainClass=com.example.battleship.bench.EngineBenchmark -Dexec.classpathScope=test
+public class EngineBenchmark {
+    private static final int GAMES = 200_000;
+
+    public static void main(String[] args) {
+        var svc = new GameService(new GameStore());
+        for (int round = 0; round < 5; round++) {
+            var rnd = new SplittableRandom(round);
+            long shots = 0;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < GAMES; i++) shots += engineGame(rnd);
+            long t1 = System.nanoTime();
+            for (int i = 0; i < GAMES; i++) shots += serviceGame(svc, rnd);
+            long t2 = System.nanoTime();
+            System.out.printf("engine %,9.0f games/s   service %,9.0f games/s   (%,d shots)%n",
+                    GAMES * 1e9 / (t1 - t0), GAMES * 1e9 / (t2 - t1), shots);
+        }
+    }
+
+    private static int engineGame(SplittableRandom rnd) {
+        var g = new Game("bench");
+        GameEngine.randomPlacement(g, Player.P1, rnd);
+        GameEngine.randomPlacement(g, Player.P2, rnd);
+        while (g.getState() != GameState.FINISHED) {
+            var p = g.getState() == GameState.TURN_P1 ? Player.P1 : Player.P2;
+            var grid = g.getOpponentBoard(p).getGrid();
+            int r, c;
+            do {
+                r = rnd.nextInt(Board.SIZE);
+                c = rnd.nextInt(Board.SIZE);
+            } while (grid[r][c] != CellState.EMPTY && grid[r][c] != CellState.SHIP);
+            GameEngine.fire(g, p, r, c);
+        }
+        return g.getShotCount();
+    }
+
+    private static int serviceGame(GameService svc, SplittableRandom rnd) {
+        var g = new Game("bench");
+        svc.randomPlacement(g, Player.P1);
+        svc.randomPlacement(g, Player.P2);
+        while (g.getState() != GameState.FINISHED) {
+            var p = g.getState() == GameState.TURN_P1 ? Player.P1 : Player.P2;
+            var grid = g.getOpponentBoard(p).getGrid();
+            int r, c;
+            do {
+                r = rnd.nextInt(Board.SIZE);
+                c = rnd.nextInt(Board.SIZE);
+            } while (grid[r][c] != CellState.EMPTY && grid[r][c] != CellState.SHIP);
+            svc.fire(g, new FireRequest(p, r, c));
+        }
+        return g.getShotCount();
+    }
+}
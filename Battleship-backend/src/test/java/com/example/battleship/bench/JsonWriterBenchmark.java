@@ -0,0 +1,46 @@
+package com.example.battleship.bench;
+
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireResponse;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import com.example.battleship.util.FastJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.management.ManagementFactory;
+
+// CPU time per serialized view / fire response: Jackson reflection vs FastJson. Not a unit test; run with
+//   mvn test-compile exec:java -Dexec.mainClass=com.example.battleship.bench.JsonWriterBenchmark -Dexec.classpathScope=test
+public class JsonWriterBenchmark {
+    private static final int OPS = 2_000_000;
+
+    public static void main(String[] args) throws Exception {
+        var mapper = new ObjectMapper();
+        var svc = new GameService(new GameStore());
+        var game = ReplayCodecBenchmark.playRandomGame(svc, 1);
+        var view = svc.view(game, Player.P1);
+        var fire = new FireResponse(true, true, "CRUISER", "TURN_P2", null);
+
+        for (int round = 0; round < 3; round++) {
+            long jacksonView = cpuNanos(() -> mapper.writeValueAsBytes(view));
+            long fastView = cpuNanos(() -> FastJson.write(view));
+            long jacksonFire = cpuNanos(() -> mapper.writeValueAsBytes(fire));
+            long fastFire = cpuNanos(() -> FastJson.write(fire));
+            System.out.printf("view: jackson %6.0f ns  fast %6.0f ns  |  fire: jackson %5.0f ns  fast %5.0f ns%n",
+                    (double) jacksonView / OPS, (double) fastView / OPS,
+                    (double) jacksonFire / OPS, (double) fastFire / OPS);
+        }
+    }
+
+    interface Op { byte[] run() throws Exception; }
+
+    private static long cpuNanos(Op op) throws Exception {
+        var threads = ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        long t0 = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < OPS; i++) sink += op.run().length;
+        long t1 = threads.getCurrentThreadCpuTime();
+        if (sink == 42) System.out.println();
+        return t1 - t0;
+    }
+}
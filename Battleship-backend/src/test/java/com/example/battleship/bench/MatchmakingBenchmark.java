@@ -0,0 +1,65 @@
+package com.example.battleship.bench;
+
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import com.example.battleship.service.MatchmakingService;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Join throughput and pairing latency (waiting join until its ticket completes) of the matchmaking queue
+//   mvn test-compile exec:java -Dexec.mainClass=com.example.battleship.bench.MatchmakingBenchmark -Dexec.classpathScope=test
+public class MatchmakingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        for (int round = 0; round < 3; round++) {
+            var mm = new MatchmakingService(new GameService(new GameStore()), Duration.ofMinutes(2));
+            var latencies = new long[threads][perThread];
+            var pool = Executors.newFixedThreadPool(threads);
+            var start = new CountDownLatch(1);
+            var done = new CountDownLatch(threads);
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            long t0 = System.nanoTime();
+                            var r = mm.join("p" + i);
+                            int slot = i;
+                            if (r.gameId() == null)
+                                mm.await(r.ticketId(), 60_000)
+                                        .thenRun(() -> latencies[id][slot] = System.nanoTime() - t0);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            long t0 = System.nanoTime();
+            start.countDown();
+            done.await();
+            long elapsed = System.nanoTime() - t0;
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+
+            var waits = Arrays.stream(latencies).flatMapToLong(Arrays::stream).filter(n -> n > 0).sorted().toArray();
+            long joins = (long) threads * perThread;
+            System.out.printf("threads=%d joins=%,d  %,.0f joins/s  pairing latency p50=%.1fus p99=%.1fus max=%.1fus%n",
+                    threads, joins, joins * 1e9 / elapsed,
+                    pct(waits, 0.50) / 1e3, pct(waits, 0.99) / 1e3, waits[waits.length - 1] / 1e3);
+        }
+    }
+
+    private static long pct(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+}
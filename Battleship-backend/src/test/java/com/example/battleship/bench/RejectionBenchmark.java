@@ -0,0 +1,42 @@
+package com.example.battleship.bench;
+
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import org.springframework.web.server.ResponseStatusException;
+
+// Cost of refusing an out-of-turn shot: throw/catch with a stack trace against the Outcome path. Not a
+// unit test; run with
+//   mvn test-compile exec:java -Dexec.mainClass=com.example.battleship.bench.RejectionBenchmark -Dexec.classpathScope=test
+public class RejectionBenchmark {
+    private static final int OPS = 2_000_000;
+
+    public static void main(String[] args) {
+        var svc = new GameService(new GameStore());
+        var game = svc.createGame("A", "B");
+        svc.randomPlacement(game, Player.P1);
+        svc.randomPlacement(game, Player.P2);
+        var outOfTurn = new FireRequest(Player.P2, 0, 0);
+
+        for (int round = 0; round < 3; round++) {
+            long sink = 0;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < OPS; i++) {
+                try {
+                    svc.fire(game, outOfTurn);
+                } catch (ResponseStatusException e) {
+                    sink += e.getStatusCode().value();
+                }
+            }
+            long t1 = System.nanoTime();
+            for (int i = 0; i < OPS; i++) {
+                var out = svc.tryFire(game, outOfTurn);
+                if (!out.isOk()) sink += out.rejection().status.value();
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("rejection: exception %6.0f ns/op  outcome %5.1f ns/op  (%d)%n",
+                    (double) (t1 - t0) / OPS, (double) (t2 - t1) / OPS, sink % 10);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.battleship.bench;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import com.example.battleship.util.ReplayCodec;
+
+// Encode/decode throughput of the binary replay format. Not a unit test; run with
+//   mvn test-compile exec:java -Dexec.mainClass=com.example.battleship.bench.ReplayCodecBenchmark -Dexec.classpathScope=test
+public class ReplayCodecBenchmark {
+    private static final int GAMES = 1_000;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        var svc = new GameService(new GameStore());
+        var games = new Game[GAMES];
+        for (int i = 0; i < GAMES; i++) games[i] = playRandomGame(svc, i);
+
+        for (boolean compress : new boolean[]{false, true}) {
+            var encoded = new byte[GAMES][];
+            long bytes = 0;
+            for (int i = 0; i < GAMES; i++) {
+                encoded[i] = ReplayCodec.encode(games[i], compress);
+                bytes += encoded[i].length;
+            }
+
+            // warm-up, then measure
+            run(games, encoded, compress, ROUNDS / 4);
+            long[] ns = run(games, encoded, compress, ROUNDS);
+            long ops = (long) GAMES * ROUNDS;
+
+            System.out.printf("compress=%-5s avg size %5.1f B  encode %,10.0f replays/s  decode %,10.0f replays/s%n",
+                    compress, (double) bytes / GAMES, ops * 1e9 / ns[0], ops * 1e9 / ns[1]);
+        }
+    }
+
+    private static long[] run(Game[] games, byte[][] encoded, boolean compress, int rounds) {
+        long sink = 0;
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rounds; r++)
+            for (var g : games) sink += ReplayCodec.encode(g, compress).length;
+        long t1 = System.nanoTime();
+        for (int r = 0; r < rounds; r++)
+            for (var data : encoded) sink += ReplayCodec.decode(data).shots().size();
+        long t2 = System.nanoTime();
+        if (sink == 42) System.out.println();
+        return new long[]{t1 - t0, t2 - t1};
+    }
+
+    static Game playRandomGame(GameService svc, long seed) {
+        var rnd = new java.util.Random(seed);
+        var g = svc.createGame("Player" + seed, "Opponent" + seed);
+        svc.randomPlacement(g, Player.P1);
+        svc.randomPlacement(g, Player.P2);
+        while (g.getState() != GameState.FINISHED) {
+            var p = g.getState() == GameState.TURN_P1 ? Player.P1 : Player.P2;
+            var grid = g.getOpponentBoard(p).getGrid();
+            int r, c;
+            do {
+                r = rnd.nextInt(Board.SIZE);
+                c = rnd.nextInt(Board.SIZE);
+            } while (grid[r][c] != CellState.EMPTY && grid[r][c] != CellState.SHIP);
+            svc.fire(g, new FireRequest(p, r, c));
+        }
+        return g;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.battleship.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Cold-start time and idle memory of the packaging options; see the README. Not a unit test; run with
+//   mvn test-compile exec:java -Dexec.mainClass=com.example.battleship.bench.StartupBenchmark -Dexec.classpathScope=test
+public class StartupBenchmark {
+    private static final Path TARGET = Path.of("target");
+    private static final String JAR = "Battleship-backend-0.0.1-SNAPSHOT-exec.jar";
+    private static final long IDLE_MILLIS = 5_000;
+
+    private record Mode(String name, Path required, List<String> command, Path workDir) {}
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        var java = ProcessHandle.current().info().command().orElse("java");
+        var extracted = TARGET.resolve("fast-startup");
+
+        var modes = List.of(
+                new Mode("jar", TARGET.resolve(JAR), List.of(java, "-jar", TARGET.resolve(JAR).toString()), null),
+                new Mode("extracted", extracted.resolve(JAR), List.of(java, "-jar", JAR), extracted),
+                new Mode("extracted+aot", extracted.resolve(JAR),
+                        List.of(java, "-Dspring.aot.enabled=true", "-jar", JAR), extracted),
+                new Mode("extracted+aot+cds", extracted.resolve("app.jsa"),
+                        List.of(java, "-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=true", "-jar", JAR), extracted),
+                new Mode("native", TARGET.resolve("Battleship-backend"),
+                        List.of(TARGET.resolve("Battleship-backend").toAbsolutePath().toString()), null));
+
+        var client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        for (var mode : modes) {
+            if (!Files.exists(mode.required())) {
+                System.out.printf("%-18s skipped, %s not found%n", mode.name(), mode.required());
+                continue;
+            }
+            var startMillis = new long[runs];
+            var rssMb = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                long[] r = measure(client, mode);
+                startMillis[i] = r[0];
+                rssMb[i] = r[1];
+            }
+            Arrays.sort(startMillis);
+            Arrays.sort(rssMb);
+            System.out.printf("%-18s first POST /api/game: median %5d ms  min %5d ms   idle RSS: median %4d MB%n",
+                    mode.name(), startMillis[runs / 2], startMillis[0], rssMb[runs / 2]);
+        }
+    }
+
+    // Returns {milliseconds to first successful create, idle RSS in MB}
+    private static long[] measure(HttpClient client, Mode mode) throws Exception {
+        int port = freePort();
+        var command = new ArrayList<>(mode.command());
+        command.add("--server.port=" + port);
+        var pb = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        if (mode.workDir() != null) pb.directory(mode.workDir().toFile());
+
+        var create = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/game?p1=a&p2=b"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+        long t0 = System.nanoTime();
+        var process = pb.start();
+        try {
+            for (;;) {
+                if (!process.isAlive()) throw new IllegalStateException(mode.name() + " exited with " + process.exitValue());
+                try {
+                    if (client.send(create, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) break;
+                } catch (IOException notYet) {
+                    // not listening yet
+                }
+                Thread.sleep(5);
+            }
+            long startMillis = (System.nanoTime() - t0) / 1_000_000;
+            Thread.sleep(IDLE_MILLIS);
+            return new long[]{startMillis, rssKb(process.pid()) / 1024};
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long rssKb(long pid) throws IOException {
+        var status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) return -1024;
+        for (var line : Files.readAllLines(status))
+            if (line.startsWith("VmRSS:")) return Long.parseLong(line.replaceAll("\\D", ""));
+        return -1024;
+    }
+
+    private static int freePort() throws IOException {
+        try (var s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        }
+    }
+}
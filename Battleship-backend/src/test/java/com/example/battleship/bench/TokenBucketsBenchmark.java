@@ -0,0 +1,49 @@
+package com.example.battleship.bench;
+
+import com.example.battleship.util.TokenBuckets;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// tryAcquire throughput with many threads, for a small hot key set and for far more keys than slots
+// (every call then evicts). Not a unit test; run with
+//   mvn test-compile exec:java -Dexec.mainClass=com.example.battleship.bench.TokenBucketsBenchmark -Dexec.classpathScope=test
+public class TokenBucketsBenchmark {
+    private static final int OPS_PER_THREAD = 2_000_000;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        for (int keys : new int[]{64, 1_000_000}) {
+            var names = new String[keys];
+            for (int i = 0; i < keys; i++) names[i] = "10.0." + (i >> 8) + "." + (i & 255);
+            for (int round = 0; round < 3; round++) {
+                var buckets = new TokenBuckets(50, 100, 65_536);
+                var start = new CountDownLatch(1);
+                var pool = Executors.newFixedThreadPool(threads);
+                for (int t = 0; t < threads; t++) {
+                    int seed = t;
+                    pool.execute(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        long sink = 0;
+                        for (int i = 0; i < OPS_PER_THREAD; i++)
+                            sink += buckets.tryAcquire(names[(i * 31 + seed * 7919) % keys]);
+                        if (sink == 42) System.out.println();
+                    });
+                }
+                long t0 = System.nanoTime();
+                start.countDown();
+                pool.shutdown();
+                pool.awaitTermination(5, TimeUnit.MINUTES);
+                long elapsed = System.nanoTime() - t0;
+                long ops = (long) threads * OPS_PER_THREAD;
+                System.out.printf("threads=%d keys=%,9d  %,6.1f ns/op  evictions=%,d%n",
+                        threads, keys, (double) elapsed / ops, buckets.getEvictions());
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.BatchCommand;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BatchService Tests")
+class BatchServiceTest {
+    private static final BatchService.Admission ADMIT_ALL = id -> 0;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GameService gameService;
+    private ExecutorService executor;
+    private BatchService batch;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService(new GameStore());
+        executor = Executors.newFixedThreadPool(4);
+        batch = new BatchService(gameService, executor, 4, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ========== ORDERING TESTS ==========
+
+    @Test
+    @DisplayName("Should apply each game's commands in order while games run in parallel")
+    void testPerGameOrder() throws Exception {
+        var games = new ArrayList<Game>();
+        for (int i = 0; i < 30; i++) games.add(gameService.createGame("A" + i, "B" + i));
+        // round-robin over games: place both fleets, then sweep row 0 for both players
+        var commands = new ArrayList<BatchCommand>();
+        for (var p : Player.values())
+            for (var g : games) commands.add(command("random-placement", g.getId(), p, null, null));
+        for (int col = 0; col < Board.SIZE; col++)
+            for (var p : Player.values())
+                for (var g : games) commands.add(command("fire", g.getId(), p, 0, col));
+
+        var results = execute(commands);
+
+        assertThat(results).hasSize(commands.size());
+        assertThat(results.keySet()).containsExactlyInAnyOrderElementsOf(indexes(commands.size()));
+        for (var g : games) {
+            long version = -1;
+            for (int i = 0; i < commands.size(); i++) {
+                if (!commands.get(i).gameId().equals(g.getId())) continue;
+                var r = results.get(i);
+                assertThat(r.get("status").asInt()).isEqualTo(200);
+                assertThat(r.get("version").asLong()).isGreaterThan(version);
+                version = r.get("version").asLong();
+            }
+            assertThat(version).isEqualTo(g.getVersion());
+            assertThat(g.getShotCount()).isGreaterThanOrEqualTo(Board.SIZE);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream one chunk per game with each line carrying its index")
+    void testChunksPerGame() throws Exception {
+        var a = gameService.createGame("Alice", "Bob");
+        var b = gameService.createGame("Carol", "Dave");
+        var commands = List.of(
+                command("view", a.getId(), Player.P1, null, null),
+                command("view", b.getId(), Player.P1, null, null),
+                command("view", a.getId(), Player.P2, null, null));
+
+        var chunks = new ArrayList<String>();
+        batch.execute(commands, ADMIT_ALL, (lines, length) -> chunks.add(new String(lines, 0, length, StandardCharsets.UTF_8)));
+
+        assertThat(chunks).hasSize(2);
+        var chunkA = chunks.stream().filter(c -> c.contains("\"index\":0")).findFirst().orElseThrow();
+        assertThat(chunkA.lines().toList()).hasSize(2);
+        assertThat(chunkA.indexOf("\"index\":0")).isLessThan(chunkA.indexOf("\"index\":2"));
+        assertThat(mapper.readTree(chunkA.lines().findFirst().orElseThrow()).get("body").get("p1Name").asText())
+                .isEqualTo("Alice");
+    }
+
+    @Test
+    @DisplayName("Should finish on the calling thread when no helper runs")
+    void testCallerAlone() throws Exception {
+        var stalled = new BatchService(gameService, task -> { }, 8, 10_000);
+        var commands = new ArrayList<BatchCommand>();
+        for (int i = 0; i < 10; i++)
+            commands.add(command("random-placement", gameService.createGame("A", "B").getId(), Player.P1, null, null));
+
+        var out = new ByteArrayOutputStream();
+        stalled.execute(commands, ADMIT_ALL, (lines, length) -> out.write(lines, 0, length));
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(10).allMatch(l -> l.contains("\"status\":200"));
+    }
+
+    // ========== ERROR TESTS ==========
+
+    @Test
+    @DisplayName("Should report every failure on its own line without stopping the batch")
+    void testErrors() throws Exception {
+        var g = gameService.createGame("Alice", "Bob");
+        var id = g.getId();
+        var commands = List.of(
+                command("fire", id, Player.P1, null, 3),
+                command("teleport", id, Player.P1, null, null),
+                command("view", "missing", Player.P1, null, null),
+                command("fire", id, Player.P1, 0, 0),
+                new BatchCommand("random-placement", id, Player.P1, null, null, null, null, 7L),
+                new BatchCommand("random-placement", id, Player.P1, null, null, null, null, -1L),
+                command("random-placement", id, Player.P1, null, null));
+
+        var results = execute(commands);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(400);
+        assertThat(results.get(0).get("message").asText()).contains("row");
+        assertThat(results.get(1).get("message").asText()).isEqualTo("Unknown op");
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(404);
+        assertThat(results.get(3).get("message").asText()).isEqualTo(Rejection.NOT_YOUR_TURN.message);
+        assertThat(results.get(4).get("status").asInt()).isEqualTo(412);
+        assertThat(results.get(5).get("message").asText()).isEqualTo("Invalid version");
+        assertThat(results.get(6).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(6).has("body")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refuse commands for games over their rate limit")
+    void testAdmission() throws Exception {
+        var open = gameService.createGame("Alice", "Bob");
+        var limited = gameService.createGame("Carol", "Dave");
+        var commands = List.of(
+                command("view", open.getId(), Player.P1, null, null),
+                command("view", limited.getId(), Player.P1, null, null));
+
+        var results = execute(commands, id -> id.equals(limited.getId()) ? 1_000_000 : 0);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(429);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static BatchCommand command(String op, String gameId, Player player, Integer row, Integer col) {
+        return new BatchCommand(op, gameId, player, row, col, null, null, null);
+    }
+
+    private Map<Integer, JsonNode> execute(List<BatchCommand> commands) throws Exception {
+        return execute(commands, ADMIT_ALL);
+    }
+
+    private Map<Integer, JsonNode> execute(List<BatchCommand> commands, BatchService.Admission admission) throws Exception {
+        var out = new ByteArrayOutputStream();
+        batch.execute(commands, admission, (lines, length) -> out.write(lines, 0, length));
+        var results = new HashMap<Integer, JsonNode>();
+        for (var line : out.toString(StandardCharsets.UTF_8).lines().toList()) {
+            var node = mapper.readTree(line);
+            assertThat(results.put(node.get("index").asInt(), node)).isNull();
+        }
+        return results;
+    }
+
+    private static List<Integer> indexes(int n) {
+        var list = new ArrayList<Integer>(n);
+        for (int i = 0; i < n; i++) list.add(i);
+        return list;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.battleship.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClusterMembership Tests")
+class ClusterMembershipTest {
+    private static final String A = "http://localhost:8081", B = "http://localhost:8082", C = "http://localhost:8083";
+    private static final Duration TTL = Duration.ofSeconds(5);
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    // ========== STATIC TESTS ==========
+
+    @Test
+    @DisplayName("Should agree on one owner per game across statically configured members")
+    void testStaticOwnership() {
+        var a = member(List.of(A, B + "/", C), null, A);
+        var b = member(List.of(A, B, C), null, B + "/");
+
+        assertThat(a.members()).containsExactly(A, B, C);
+        assertThat(b.self()).isEqualTo(B);
+        for (int i = 0; i < 300; i++) {
+            var id = UUID.randomUUID().toString();
+            assertThat(a.ownerOf(id)).isEqualTo(b.ownerOf(id));
+            assertThat(a.owns(id)).isEqualTo(A.equals(a.ownerOf(id)));
+        }
+        assertThatThrownBy(() -> member(List.of(A, B), null, C)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should create only games the node owns")
+    void testCreatesOwnedIds() {
+        var a = member(List.of(A, B, C), null, A);
+        var svc = new GameService(new GameStore());
+        svc.setOwnership(a);
+
+        for (int i = 0; i < 50; i++) assertThat(a.ownerOf(svc.createGame("Alice", "Bob").getId())).isEqualTo(A);
+    }
+
+    // ========== DISCOVERY TESTS ==========
+
+    @Test
+    @DisplayName("Should find members through heartbeat files and drop those that stop beating")
+    void testLocalDiscovery() {
+        var a = member(List.of(), dir, A);
+        assertThat(a.members()).containsExactly(A);
+        var b = member(List.of(), dir, B);
+        assertThat(b.members()).containsExactly(A, B);
+
+        a.refresh();
+        assertThat(a.members()).containsExactly(A, B);
+        var id = UUID.randomUUID().toString();
+        assertThat(a.ownerOf(id)).isEqualTo(b.ownerOf(id));
+
+        // B goes quiet for longer than the TTL
+        clock.addAndGet(TTL.toMillis() + 1);
+        a.refresh();
+        assertThat(a.members()).containsExactly(A);
+
+        // a clean shutdown removes the file at once
+        b.refresh();
+        a.refresh();
+        assertThat(a.members()).containsExactly(A, B);
+        b.shutdown();
+        a.refresh();
+        assertThat(a.members()).containsExactly(A);
+    }
+
+    @Test
+    @DisplayName("Should keep routing a game to the node that created it when another node joins")
+    void testScaleOutKeepsCreator() {
+        var a = member(List.of(), dir, A);
+        var svc = new GameService(new GameStore());
+        svc.setOwnership(a);
+        var ids = new ArrayList<String>();
+        for (int i = 0; i < 50; i++) ids.add(svc.createGame("Alice", "Bob").getId());
+
+        var b = member(List.of(), dir, B);
+        a.refresh();
+        assertThat(a.members()).containsExactly(A, B);
+        for (var id : ids) {
+            assertThat(a.ownerOf(id)).isEqualTo(A);
+            assertThat(b.ownerOf(id)).isEqualTo(A);
+        }
+        var fromB = b.newId();
+        assertThat(a.ownerOf(fromB)).isEqualTo(B);
+
+        // a game whose creator left goes by its hash
+        b.shutdown();
+        a.refresh();
+        assertThat(a.ownerOf(fromB)).isEqualTo(A);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private ClusterMembership member(List<String> nodes, Path discoveryDir, String self) {
+        var m = new ClusterMembership(nodes, discoveryDir, TTL, 64, clock::get);
+        m.join(self);
+        return m;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GameArchive Tests")
+class GameArchiveTest {
+    private static final Duration AFTER = Duration.ofMinutes(10);
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private GameStore store;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        store = new GameStore(clock::get);
+        gameService = new GameService(store);
+    }
+
+    // ========== SWEEP TESTS ==========
+
+    @Test
+    @DisplayName("Should move games finished long enough ago and leave the rest in memory")
+    void testSweep() {
+        var archive = archive(256, 1 << 20);
+        var old = finished("Alice", "Bob");
+        clock.addAndGet(AFTER.toMillis());
+        var recent = finished("Carol", "Dave");
+        var playing = playing("Erin", "Frank");
+
+        assertThat(archive.sweep()).isEqualTo(1);
+        assertThat(store.get(old.getId())).isNull();
+        assertThat(store.get(recent.getId())).isSameAs(recent);
+        assertThat(store.get(playing.getId())).isSameAs(playing);
+        assertThat(archive.archived()).isEqualTo(1);
+        assertThat(archive.sweep()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give back an archived game as it was, outcome and version included")
+    void testRoundTrip() {
+        var archive = archive(256, 1 << 20);
+        var won = finished("Alice", "Bob");
+        var forfeited = playing("Carol", "Dave");
+        gameService.fire(forfeited, new FireRequest(Player.P1, 4, 4));
+        gameService.tryForfeit(forfeited, Player.P2, GameService.ANY_VERSION).orThrow();
+        var before = gameService.views(won);
+        clock.addAndGet(AFTER.toMillis());
+        archive.sweep();
+
+        var back = gameService.getGameOr404(won.getId());
+        assertThat(back).isNotSameAs(won);
+        assertThat(gameService.views(back)).usingRecursiveComparison().isEqualTo(before);
+        assertThat(back.getVersion()).isEqualTo(won.getVersion());
+
+        var gaveUp = gameService.findGame(forfeited.getId());
+        assertThat(gaveUp.getState()).isEqualTo(GameState.FINISHED);
+        assertThat(gaveUp.getWinner()).isEqualTo(Player.P1);
+        assertThat(gaveUp.getShotCount()).isEqualTo(1);
+        assertThat(gaveUp.getVersion()).isEqualTo(forfeited.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should refuse moves on an archived game just as on the live one")
+    void testArchivedGameIsFinal() {
+        var archive = archive(256, 1 << 20);
+        var g = finished("Alice", "Bob");
+        clock.addAndGet(AFTER.toMillis());
+        archive.sweep();
+
+        var back = gameService.findGame(g.getId());
+        assertThat(gameService.tryFire(back, new FireRequest(Player.P1, 9, 9)).isOk()).isFalse();
+        assertThat(gameService.findGame("no-such-game")).isNull();
+    }
+
+    // ========== CACHE TESTS ==========
+
+    @Test
+    @DisplayName("Should serve repeat reads from the cache and keep it to its size")
+    void testCache() {
+        var archive = archive(256, 1 << 20);
+        var games = new ArrayList<Game>();
+        for (int i = 0; i < 5; i++) games.add(finished("Alice", "Bob" + i));
+        clock.addAndGet(AFTER.toMillis());
+        archive.sweep();
+
+        var first = gameService.findGame(games.get(0).getId());
+        assertThat(gameService.findGame(games.get(0).getId())).isSameAs(first);
+        for (var g : games) gameService.findGame(g.getId());
+        assertThat(archive.cached()).isEqualTo(2);
+        assertThat(gameService.findGame(games.get(0).getId())).isNotSameAs(first);
+    }
+
+    // ========== FILE TESTS ==========
+
+    @Test
+    @DisplayName("Should split games across blocks and segments and find every one")
+    void testBlocksAndSegments() throws IOException {
+        var archive = archive(3, 2_000);
+        var games = new ArrayList<Game>();
+        for (int i = 0; i < 20; i++) games.add(finished("Alice", "Bob" + i));
+        clock.addAndGet(AFTER.toMillis());
+
+        assertThat(archive.sweep()).isEqualTo(20);
+        assertThat(store.size()).isZero();
+        try (var files = Files.list(dir)) {
+            assertThat(files.count()).isGreaterThan(1);
+        }
+        for (var g : games)
+            assertThat(gameService.findGame(g.getId()).getPlayerName(Player.P2)).isEqualTo(g.getPlayerName(Player.P2));
+    }
+
+    @Test
+    @DisplayName("Should index existing files on startup and cut off a torn last block")
+    void testReopen() throws IOException {
+        var archive = archive(2, 1 << 20);
+        var games = new ArrayList<Game>();
+        for (int i = 0; i < 4; i++) games.add(finished("Alice", "Bob" + i));
+        clock.addAndGet(AFTER.toMillis());
+        archive.sweep();
+        archive.shutdown();
+        var segment = dir.resolve("archive-000000.bsa");
+        long size = Files.size(segment);
+        // a crash halfway through the next block
+        Files.write(segment, new byte[] {'B', 'S', 'A', 1, 0, 0, 0, 40}, StandardOpenOption.APPEND);
+
+        var reopened = archive(2, 1 << 20);
+        assertThat(reopened.archived()).isEqualTo(4);
+        assertThat(Files.size(segment)).isEqualTo(size);
+        for (var g : games) assertThat(gameService.findGame(g.getId()).getWinner()).isEqualTo(g.getWinner());
+
+        var more = finished("Carol", "Dave");
+        clock.addAndGet(AFTER.toMillis());
+        assertThat(reopened.sweep()).isEqualTo(1);
+        assertThat(gameService.findGame(more.getId()).getWinner()).isEqualTo(more.getWinner());
+        assertThat(gameService.findGame(games.get(0).getId())).isNotNull();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private GameArchive archive(int blockGames, long segmentBytes) {
+        var archive = new GameArchive(store, dir, AFTER, blockGames, segmentBytes, 2, clock::get);
+        archive.open();
+        gameService.setColdStore(archive);
+        return archive;
+    }
+
+    private Game playing(String p1, String p2) {
+        var g = gameService.createGame(p1, p2);
+        gameService.randomPlacement(g, Player.P1);
+        gameService.randomPlacement(g, Player.P2);
+        return g;
+    }
+
+    // Both players sweep the board until one wins
+    private Game finished(String p1, String p2) {
+        var g = playing(p1, p2);
+        for (int cell = 0; g.getState() != GameState.FINISHED; cell++)
+            for (int p = 0; p < 2 && g.getState() != GameState.FINISHED; p++)
+                gameService.fire(g, new FireRequest(Player.values()[p], cell / 10, cell % 10));
+        return g;
+    }
+}
@@ -2,12 +2,21 @@ package com.example.battleship.service;
 
 import com.example.battleship.domain.*;
 import com.example.battleship.dto.*;
+import com.example.battleship.engine.GameEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mockito;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 
 @DisplayName("GameService Tests")
 class GameServiceTest {
@@ -299,6 +308,33 @@ class GameServiceTest {
                 .hasMessageContaining("Not your turn");
     }
 
+    @Test
+    @DisplayName("Should return a shared rejection instead of throwing")
+    void testTryFireRejection() {
+        var game = setupGameForFiring();
+
+        var wrongTurn = gameService.tryFire(game, new FireRequest(Player.P2, 0, 0));
+        var again = gameService.tryFire(game, new FireRequest(Player.P2, 1, 1));
+
+        assertThat(wrongTurn.isOk()).isFalse();
+        assertThat(wrongTurn.rejection()).isEqualTo(Rejection.NOT_YOUR_TURN);
+        assertThat(again).isSameAs(wrongTurn);
+        assertThat(game.getState()).isEqualTo(GameState.TURN_P1);
+    }
+
+    @Test
+    @DisplayName("Should report placement rejections as outcomes")
+    void testTryPlaceShipRejection() {
+        var game = gameService.createGame("Alice", "Bob");
+
+        var out = gameService.tryPlaceShip(game, new PlaceShipRequest(Player.P1, ShipType.CARRIER, 0, 7, Orientation.HORIZONTAL));
+        var wrongPlayer = gameService.tryRandomPlacement(game, Player.P2);
+
+        assertThat(out.rejection()).isEqualTo(Rejection.INVALID_PLACEMENT);
+        assertThat(wrongPlayer.rejection()).isEqualTo(Rejection.NOT_IN_PLACING_P2);
+        assertThat(game.getBoard(Player.P1).getShips()).isEmpty();
+    }
+
     @Test
     @DisplayName("Should switch turn after fire")
     void testFireSwitchTurn() {
@@ -397,7 +433,244 @@ class GameServiceTest {
         assertThat(view.p2Name()).isEqualTo("Bob");
     }
 
+    // ========== VERSION TESTS ==========
+    @Test
+    @DisplayName("Should advance the version once per change and never on refusals or repeats")
+    void testVersionPerChange() {
+        var game = gameService.createGame("Alice", "Bob");
+        assertThat(game.getVersion()).isZero();
+
+        placeAllShipsForPlayer(game, Player.P1);
+        placeAllShipsForPlayer(game, Player.P2);
+        assertThat(game.getVersion()).isEqualTo(2L * ShipType.values().length);
+        long placed = game.getVersion();
+
+        var miss = gameService.tryFire(game, new FireRequest(Player.P1, 9, 9));
+        assertThat(miss.version()).isEqualTo(placed + 1).isEqualTo(game.getVersion());
+        assertThat(gameService.tryFire(game, new FireRequest(Player.P1, 0, 0)).isOk()).isFalse();
+        gameService.fire(game, new FireRequest(Player.P2, 9, 9));
+        var repeat = gameService.tryFire(game, new FireRequest(Player.P1, 9, 9));
+
+        assertThat(repeat.isOk()).isTrue();
+        assertThat(repeat.version()).isEqualTo(placed + 2).isEqualTo(game.getVersion());
+        assertThat(gameService.view(game, Player.P1).version()).isEqualTo(placed + 2);
+    }
+
+    @Test
+    @DisplayName("Should refuse commands at a stale version or while another command is applied")
+    void testExpectedVersion() {
+        var game = setupGameForFiring();
+        long v = game.getVersion();
+
+        var stale = gameService.tryFire(game, new FireRequest(Player.P1, 9, 9), v - 1);
+        assertThat(stale.rejection()).isEqualTo(Rejection.VERSION_MISMATCH);
+        assertThat(game.getShotCount()).isZero();
+
+        assertThat(game.tryBeginUpdate(v)).isTrue();
+        var busy = gameService.tryFire(game, new FireRequest(Player.P1, 9, 9), v);
+        assertThat(busy.rejection()).isEqualTo(Rejection.CONCURRENT_UPDATE);
+        game.endUpdate(false);
+
+        var out = gameService.tryFire(game, new FireRequest(Player.P1, 9, 9), v);
+        assertThat(out.isOk()).isTrue();
+        assertThat(out.version()).isEqualTo(v + 1);
+        assertThat(gameService.tryFire(game, new FireRequest(Player.P2, 9, 9), v).rejection())
+                .isEqualTo(Rejection.VERSION_MISMATCH);
+    }
+
+    @Test
+    @DisplayName("Should make an unconditional command wait for the one in progress and see its result")
+    void testCommandWaitsForCommandInProgress() throws Exception {
+        // long enough to outlast the claim below
+        gameService = new GameService(gameStore, TimeUnit.SECONDS.toNanos(5));
+        var game = setupGameForFiring();
+        long v = game.getVersion();
+
+        // stand-in for P1's shot being applied on another thread
+        assertThat(game.tryBeginUpdate(v)).isTrue();
+        var second = CompletableFuture.supplyAsync(() -> gameService.tryFire(game, new FireRequest(Player.P1, 9, 9)));
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+        game.setState(GameState.TURN_P2);
+        game.endUpdate(true);
+
+        assertThat(second.get(5, TimeUnit.SECONDS).rejection()).isEqualTo(Rejection.NOT_YOUR_TURN);
+        assertThat(game.getVersion()).isEqualTo(v + 1);
+    }
+
+    @Test
+    @DisplayName("Should lose no updates and allow no double turns under contention")
+    void testConcurrentCommands() throws Exception {
+        int threads = 8;
+        var pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 20; round++) {
+                var game = gameService.createGame("Alice", "Bob");
+                gameService.randomPlacement(game, Player.P1);
+                gameService.randomPlacement(game, Player.P2);
+                long placed = game.getVersion();
+                var start = new CountDownLatch(1);
+                var tasks = new ArrayList<Future<?>>();
+                for (int t = 0; t < threads; t++) {
+                    tasks.add(pool.submit(() -> {
+                        var rnd = ThreadLocalRandom.current();
+                        start.await();
+                        while (game.getState() != GameState.FINISHED) {
+                            long seen = game.getVersion();
+                            var shot = new FireRequest(rnd.nextBoolean() ? Player.P1 : Player.P2,
+                                    rnd.nextInt(Board.SIZE), rnd.nextInt(Board.SIZE));
+                            Thread.yield();
+                            gameService.tryFire(game, shot, rnd.nextBoolean() ? seen : GameService.ANY_VERSION);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (var f : tasks) f.get(30, TimeUnit.SECONDS);
+
+                // every accepted shot is in the log exactly once, with its own version
+                assertThat(game.getVersion()).isEqualTo(placed + game.getShotCount());
+                int resolved = 0;
+                for (var p : Player.values())
+                    for (var row : game.getBoard(p).getGrid())
+                        for (var cell : row)
+                            if (cell != CellState.EMPTY && cell != CellState.SHIP) resolved++;
+                assertThat(resolved).isEqualTo(game.getShotCount());
+                // strictly alternating turns
+                for (int i = 0; i < game.getShotCount(); i++)
+                    assertThat(game.getShotPlayer(i)).isEqualTo(i % 2 == 0 ? Player.P1 : Player.P2);
+                // no hit lost on a ship: fully hit ships are sunk, and only those
+                for (var p : Player.values()) {
+                    var grid = game.getBoard(p).getGrid();
+                    for (var ship : game.getBoard(p).getShips()) {
+                        boolean allHit = ship.getCells().stream().allMatch(c -> grid[c.row()][c.col()] != CellState.SHIP);
+                        assertThat(ship.isSunk()).isEqualTo(allHit);
+                    }
+                }
+                assertThat(game.getWinner()).isEqualTo(game.getShotPlayer(game.getShotCount() - 1));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should release the claim when the engine throws, leaving the game usable")
+    void testEngineThrows() {
+        var game = setupGameForFiring();
+        long v = game.getVersion();
+
+        try (var engine = Mockito.mockStatic(GameEngine.class)) {
+            engine.when(() -> GameEngine.fire(any(), any(), anyInt(), anyInt())).thenThrow(new IllegalStateException("boom"));
+            assertThatThrownBy(() -> gameService.tryFire(game, new FireRequest(Player.P1, 9, 9)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        // the throw may have left the game half-changed, so it counts as a change
+        assertThat(game.getVersion()).isEqualTo(v + 1);
+        assertThat(gameService.view(game, Player.P1).version()).isEqualTo(v + 1);
+        assertThat(gameService.tryFire(game, new FireRequest(Player.P1, 9, 9), v).rejection())
+                .isEqualTo(Rejection.VERSION_MISMATCH);
+        assertThat(gameService.tryFire(game, new FireRequest(Player.P1, 9, 9), v + 1).version()).isEqualTo(v + 2);
+        assertThat(gameService.tryFire(game, new FireRequest(Player.P2, 9, 9)).isOk()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should give up with CONCURRENT_UPDATE when the game stays held, with or without a version")
+    void testHeldGameRejected() {
+        var game = setupGameForFiring();
+        long v = game.getVersion();
+        assertThat(game.tryBeginUpdate(v)).isTrue();
+
+        assertThat(gameService.tryFire(game, new FireRequest(Player.P1, 0, 0), v).rejection())
+                .isEqualTo(Rejection.CONCURRENT_UPDATE);
+        assertThat(gameService.tryFire(game, new FireRequest(Player.P1, 0, 0)).rejection())
+                .isEqualTo(Rejection.CONCURRENT_UPDATE);
+
+        game.endUpdate(false);
+        assertThat(gameService.tryFire(game, new FireRequest(Player.P1, 0, 0)).version()).isEqualTo(v + 1);
+    }
+
+    @Test
+    @DisplayName("Should wait out a change in progress before exporting, then export the changed game")
+    void testExportWaitsForChange() throws Exception {
+        var game = gameService.createGame("Alice", "Bob");
+        assertThat(game.tryBeginUpdate(game.getVersion())).isTrue();
+        var pool = Executors.newSingleThreadExecutor();
+        try {
+            var export = pool.submit(() -> gameService.exportReplay(game, false));
+            assertThatThrownBy(() -> export.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            assertThat(GameEngine.randomPlacement(game, Player.P1, new SplittableRandom(1))).isNull();
+            game.endUpdate(true);
+
+            var replay = gameService.importReplay(export.get(5, TimeUnit.SECONDS));
+            assertThat(replay.getBoard(Player.P1).getShips()).hasSize(5);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // ========== ALLOCATION TESTS ==========
+    @Test
+    @DisplayName("Should allocate nothing for a refused shot and only the Outcome for an accepted one, bar the finishing shot")
+    void testFireAllocation() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var rnd = new SplittableRandom(5);
+        var games = new Game[40];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = gameService.createGame("Alice", "Bob");
+            GameEngine.randomPlacement(games[i], Player.P1, rnd);
+            GameEngine.randomPlacement(games[i], Player.P2, rnd);
+        }
+        var shots = new FireRequest[2][Board.SIZE * Board.SIZE];
+        for (int cell = 0; cell < Board.SIZE * Board.SIZE; cell++)
+            for (var p : Player.values())
+                shots[p.ordinal()][cell] = new FireRequest(p, cell / Board.SIZE, cell % Board.SIZE);
+        var outOfBounds = new FireRequest(Player.P1, Board.SIZE, 0);
+        for (int i = 0; i < 10; i++) playOut(games[i], shots, outOfBounds);
+
+        long overhead = threads.getCurrentThreadAllocatedBytes();
+        overhead = threads.getCurrentThreadAllocatedBytes() - overhead;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long accepted = 0;
+        for (int i = 10; i < games.length; i++) accepted += playOut(games[i], shots, outOfBounds);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+
+        assertThat(accepted).isGreaterThan(1_000);
+        assertThat(allocated).isLessThanOrEqualTo(accepted * OUTCOME_BYTES + (games.length - 10) * FINISH_BYTES);
+    }
+
+    @Test
+    @DisplayName("Should share fire responses")
+    void testFireResponsesShared() {
+        var game = setupGameForFiring();
+        var first = gameService.fire(game, new FireRequest(Player.P1, 9, 9));
+        var second = gameService.fire(game, new FireRequest(Player.P2, 9, 9));
+
+        assertThat(first).isEqualTo(new FireResponse(false, false, null, "TURN_P2", null));
+        assertThat(gameService.fire(game, new FireRequest(Player.P1, 9, 8))).isSameAs(first);
+        assertThat(gameService.fire(game, new FireRequest(Player.P2, 9, 8))).isSameAs(second);
+    }
+
     // ========== HELPER METHODS ==========
+    // Upper bound for one Outcome: header plus value, rejection and version, aligned
+    private static final long OUTCOME_BYTES = 32;
+    // Upper bound for moving a finished game to the FINISHED index: its new key, skip-list node, levels and marker
+    private static final long FINISH_BYTES = 256;
+
+    // Sweeps the cells in order for both players, each turn also trying a refused shot; returns accepted shots
+    private int playOut(Game game, FireRequest[][] shots, FireRequest refused) {
+        int accepted = 0;
+        for (int cell = 0; game.getState() != GameState.FINISHED; cell++) {
+            for (int p = 0; p < 2 && game.getState() != GameState.FINISHED; p++) {
+                gameService.tryFire(game, refused);
+                if (gameService.tryFire(game, shots[p][cell]).isOk()) accepted++;
+            }
+        }
+        return accepted;
+    }
+
     private void placeAllShipsForPlayer(Game game, Player player) {
         int row = 0;
         for (var shipType : ShipType.values()) {
@@ -0,0 +1,167 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.GamePageDto;
+import com.example.battleship.dto.GameSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GameStore Tests")
+class GameStoreTest {
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private GameStore store;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        store = new GameStore(clock::get);
+        gameService = new GameService(store);
+    }
+
+    // ========== STATE INDEX TESTS ==========
+
+    @Test
+    @DisplayName("Should list games by state and move them as they advance")
+    void testByState() {
+        var a = create("Alice", "Bob");
+        var b = create("Carol", "Dave");
+        gameService.randomPlacement(b, Player.P1);
+
+        assertThat(ids(gameService.list(GameState.PLACING_P1, null, null, null, 10))).containsExactly(a.getId());
+        assertThat(ids(gameService.list(GameState.PLACING_P2, null, null, null, 10))).containsExactly(b.getId());
+
+        gameService.randomPlacement(b, Player.P2);
+        assertThat(ids(gameService.list(GameState.PLACING_P2, null, null, null, 10))).isEmpty();
+        assertThat(ids(gameService.list(GameState.TURN_P1, null, null, null, 10))).containsExactly(b.getId());
+
+        gameService.fire(b, new FireRequest(Player.P1, 0, 0));
+        // both turns share one index; the listing filters on the state each game has now
+        assertThat(ids(gameService.list(GameState.TURN_P1, null, null, null, 10))).isEmpty();
+        assertThat(ids(gameService.list(GameState.TURN_P2, null, null, null, 10))).containsExactly(b.getId());
+    }
+
+    @Test
+    @DisplayName("Should list finished games by when they finished")
+    void testFinishedSince() {
+        var early = create("Alice", "Bob");
+        var late = create("Carol", "Dave");
+        var playing = create("Erin", "Frank");
+        for (var g : List.of(early, late, playing)) {
+            gameService.randomPlacement(g, Player.P1);
+            gameService.randomPlacement(g, Player.P2);
+        }
+        clock.set(5_000);
+        finish(early);
+        clock.set(9_000);
+        finish(late);
+
+        assertThat(ids(gameService.list(null, null, Instant.ofEpochMilli(0), null, 10)))
+                .containsExactly(early.getId(), late.getId());
+        assertThat(ids(gameService.list(null, null, Instant.ofEpochMilli(6_000), null, 10)))
+                .containsExactly(late.getId());
+        assertThat(gameService.list(GameState.FINISHED, null, null, null, 10).games())
+                .extracting(GameSummaryDto::winner).doesNotContainNull();
+    }
+
+    // ========== PLAYER INDEX TESTS ==========
+
+    @Test
+    @DisplayName("Should list a player's games in either seat, oldest first")
+    void testByPlayer() {
+        var first = create("Alice", "Bob");
+        clock.set(2_000);
+        var second = create("Carol", "Alice");
+        create("Carol", "Dave");
+        clock.set(3_000);
+        var self = create("Alice", "Alice");
+
+        assertThat(ids(gameService.list(null, "Alice", null, null, 10)))
+                .containsExactly(first.getId(), second.getId(), self.getId());
+        assertThat(ids(gameService.list(null, "Ali", null, null, 10))).isEmpty();
+        assertThat(ids(gameService.list(GameState.PLACING_P1, "Bob", null, null, 10))).containsExactly(first.getId());
+        assertThat(ids(gameService.list(GameState.FINISHED, "Bob", null, null, 10))).isEmpty();
+    }
+
+    // ========== PAGING TESTS ==========
+
+    @Test
+    @DisplayName("Should page through every game exactly once")
+    void testPaging() {
+        var created = new ArrayList<String>();
+        for (int i = 0; i < 25; i++) {
+            // several games per millisecond, so the id breaks ties
+            if (i % 4 == 0) clock.incrementAndGet();
+            created.add(create("Alice", "Bob" + i).getId());
+        }
+
+        var seen = new ArrayList<String>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var page = gameService.list(null, "Alice", null, cursor, 10);
+            seen.addAll(ids(page));
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(created).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should drop deleted games from every index")
+    void testDelete() {
+        var g = create("Alice", "Bob");
+        gameService.randomPlacement(g, Player.P1);
+        store.delete(g.getId());
+
+        assertThat(ids(gameService.list(null, "Alice", null, null, 10))).isEmpty();
+        assertThat(ids(gameService.list(null, "Bob", null, null, 10))).isEmpty();
+        for (var state : GameState.values())
+            assertThat(ids(gameService.list(state, null, null, null, 10))).as(state.name()).isEmpty();
+    }
+
+    // ========== VALIDATION TESTS ==========
+
+    @Test
+    @DisplayName("Should reject unfiltered listings and cursors it did not issue")
+    void testValidation() {
+        create("Alice", "Bob");
+
+        assertThatThrownBy(() -> gameService.list(null, null, null, null, 10))
+                .isInstanceOf(ResponseStatusException.class).hasMessageContaining("400");
+        for (var cursor : List.of("", "_", "12_", "_id", "x_id"))
+            assertThatThrownBy(() -> gameService.list(null, "Alice", null, cursor, 10))
+                    .as(cursor).isInstanceOf(ResponseStatusException.class).hasMessageContaining("Invalid cursor");
+        assertThat(gameService.list(GameState.PLACING_P1, null, null, null, 0).games()).hasSize(1);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private Game create(String p1, String p2) {
+        return gameService.createGame(p1, p2);
+    }
+
+    // Both players sweep the board until one wins
+    private void finish(Game g) {
+        for (int cell = 0; g.getState() != GameState.FINISHED; cell++)
+            for (int p = 0; p < 2 && g.getState() != GameState.FINISHED; p++)
+                gameService.fire(g, new FireRequest(Player.values()[p], cell / 10, cell % 10));
+    }
+
+    private static List<String> ids(GamePageDto page) {
+        return page.games().stream().map(GameSummaryDto::gameId).toList();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Orientation;
+import com.example.battleship.domain.Player;
+import com.example.battleship.domain.ShipType;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.HeatmapDto;
+import com.example.battleship.dto.PlaceShipRequest;
+import com.example.battleship.dto.ShipTypeStatsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HeatmapService Tests")
+class HeatmapServiceTest {
+    private static final Duration AFTER = Duration.ofMinutes(10);
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final List<HeatmapService> services = new ArrayList<>();
+    private GameStore store;
+    private GameService gameService;
+    private GameArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        store = new GameStore(clock::get);
+        gameService = new GameService(store);
+        archive = new GameArchive(store, dir, AFTER, 16, 1 << 20, 4, clock::get);
+        archive.open();
+        gameService.setColdStore(archive);
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(HeatmapService::shutdown);
+        archive.shutdown();
+    }
+
+    // ========== COUNTING TESTS ==========
+
+    @Test
+    @DisplayName("Should count placements, first shots, hits and sinkings of a known game")
+    void testKnownGame() {
+        var g = gameService.createGame("Alice", "Bob");
+        for (var player : Player.values())
+            for (var type : ShipType.values())
+                gameService.placeShip(g, new PlaceShipRequest(player, type, 2 * type.ordinal(), 0, Orientation.HORIZONTAL));
+        // P1 sinks P2's destroyer (row 8, columns 0-1) while P2 misses
+        fire(g, Player.P1, 8, 0);
+        fire(g, Player.P2, 9, 9);
+        fire(g, Player.P1, 8, 1);
+
+        var h = heatmaps(2, Duration.ZERO).heatmap();
+
+        assertThat(h.games()).isEqualTo(1);
+        assertThat(h.shots()).isEqualTo(3);
+        assertThat(h.hits()).isEqualTo(2);
+        assertThat(h.placements()[0][4]).isEqualTo(2);
+        assertThat(h.placements()[0][5]).isZero();
+        assertThat(h.placements()[8][1]).isEqualTo(2);
+        assertThat(h.firstShots()[8][0]).isEqualTo(1);
+        assertThat(h.firstShots()[8][1]).isZero();
+        assertThat(h.firstShots()[9][9]).isEqualTo(1);
+        var destroyer = stats(h, ShipType.DESTROYER);
+        assertThat(destroyer.placed()).isEqualTo(2);
+        assertThat(destroyer.cellsHit()).isEqualTo(2);
+        assertThat(destroyer.sunk()).isEqualTo(1);
+        assertThat(destroyer.hitRate()).isEqualTo(0.5);
+        assertThat(stats(h, ShipType.CARRIER).cellsHit()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count every game once whether it is live or archived, on any number of threads")
+    void testLiveAndArchived() {
+        var rnd = new SplittableRandom(11);
+        for (int i = 0; i < 300; i++) play(rnd, i % 10 != 0);
+        var live = heatmaps(1, Duration.ZERO).heatmap();
+
+        clock.addAndGet(AFTER.toMillis());
+        assertThat(archive.sweep()).isEqualTo(270);
+        var mixed = heatmaps(8, Duration.ZERO).heatmap();
+
+        assertThat(live.games()).isEqualTo(300);
+        assertThat(live.archivedGames()).isZero();
+        assertThat(mixed.archivedGames()).isEqualTo(270);
+        assertThat(mixed).usingRecursiveComparison().ignoringFields("archivedGames", "elapsedMs").isEqualTo(live);
+        long placedCells = 0;
+        for (var row : mixed.placements()) for (long n : row) placedCells += n;
+        assertThat(placedCells).isEqualTo(300 * 2 * 17);
+    }
+
+    // ========== CACHE TESTS ==========
+
+    @Test
+    @DisplayName("Should serve one pass's result until it is older than the max age")
+    void testMaxAge() {
+        var nanos = new AtomicLong();
+        var heatmaps = new HeatmapService(store, archive, 2, Duration.ofSeconds(60), nanos::get);
+        services.add(heatmaps);
+        var first = heatmaps.heatmap();
+        gameService.createGame("Alice", "Bob");
+
+        nanos.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertThat(heatmaps.heatmap()).isSameAs(first);
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(heatmaps.heatmap().games()).isEqualTo(first.games() + 1);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private HeatmapService heatmaps(int parallelism, Duration maxAge) {
+        var heatmaps = new HeatmapService(store, archive, parallelism, maxAge, System::nanoTime);
+        services.add(heatmaps);
+        return heatmaps;
+    }
+
+    private void fire(Game g, Player p, int row, int col) {
+        gameService.fire(g, new FireRequest(p, row, col));
+    }
+
+    // Random fleets; each player walks the board in its own order, to the end or for a few shots
+    private void play(SplittableRandom rnd, boolean toTheEnd) {
+        var g = gameService.createGame("Alice", "Bob");
+        gameService.randomPlacement(g, Player.P1);
+        gameService.randomPlacement(g, Player.P2);
+        int[] start = {rnd.nextInt(100), rnd.nextInt(100)};
+        int limit = toTheEnd ? 100 : 1 + rnd.nextInt(20);
+        for (int k = 0; k < limit && g.getState() != GameState.FINISHED; k++)
+            for (int p = 0; p < 2 && g.getState() != GameState.FINISHED; p++) {
+                int cell = (start[p] + 7 * k) % 100;
+                fire(g, Player.values()[p], cell / 10, cell % 10);
+            }
+    }
+
+    private static ShipTypeStatsDto stats(HeatmapDto h, ShipType type) {
+        return h.ships().stream().filter(s -> s.type() == type).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.PlayerStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LeaderboardService Tests")
+class LeaderboardServiceTest {
+    private GameService gameService;
+    private LeaderboardService leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService(new GameStore());
+        leaderboard = new LeaderboardService(gameService, 3);
+    }
+
+    @Test
+    @DisplayName("Should update both players when a game finishes")
+    void testStatsAfterGame() {
+        var game = play("Alice", "Bob", Player.P1);
+
+        var alice = leaderboard.stats("Alice");
+        var bob = leaderboard.stats("Bob");
+        assertThat(alice.games()).isEqualTo(1);
+        assertThat(alice.wins()).isEqualTo(1);
+        assertThat(alice.losses()).isZero();
+        assertThat(alice.hits()).isEqualTo(17);
+        assertThat(bob.wins()).isZero();
+        assertThat(bob.losses()).isEqualTo(1);
+        assertThat(alice.shots() + bob.shots()).isEqualTo(game.getShotCount());
+        assertThat(alice.avgGameLength()).isEqualTo(game.getShotCount());
+        assertThat(alice.accuracy()).isEqualTo(17.0 / alice.shots());
+    }
+
+    @Test
+    @DisplayName("Should not count unfinished games")
+    void testUnfinishedGameIgnored() {
+        var game = gameService.createGame("Alice", "Bob");
+        gameService.randomPlacement(game, Player.P1);
+
+        assertThat(leaderboard.stats("Alice")).isNull();
+        assertThat(leaderboard.top()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the top K players ranked by wins")
+    void testTopK() {
+        play("Alice", "Bob", Player.P1);
+        play("Alice", "Carol", Player.P1);
+        play("Dave", "Alice", Player.P2);
+        play("Bob", "Carol", Player.P1);
+        play("Erin", "Carol", Player.P1);
+        play("Dave", "Erin", Player.P1);
+
+        // Bob, Dave and Erin tie on one win; names break the tie
+        assertThat(leaderboard.top()).extracting(PlayerStatsDto::player)
+                .containsExactly("Alice", "Bob", "Dave");
+        assertThat(leaderboard.top().get(0).wins()).isEqualTo(3);
+
+        // Erin climbs from outside the top K by winning again
+        play("Erin", "Frank", Player.P1);
+        assertThat(leaderboard.top()).extracting(PlayerStatsDto::player)
+                .containsExactly("Alice", "Erin", "Bob");
+    }
+
+    @Test
+    @DisplayName("Should refresh stats of ranked losers")
+    void testRankedLoserRefreshed() {
+        play("Alice", "Bob", Player.P1);
+        play("Carol", "Alice", Player.P1);
+
+        var alice = leaderboard.top().stream().filter(e -> e.player().equals("Alice")).findFirst().orElseThrow();
+        assertThat(alice.losses()).isEqualTo(1);
+        assertThat(alice.games()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not count an imported replay as another game played")
+    void testImportedReplayIgnored() {
+        var game = play("Alice", "Bob", Player.P1);
+        var replay = gameService.exportReplay(game, true);
+
+        var first = gameService.importReplay(replay);
+        var second = gameService.importReplay(replay);
+
+        assertThat(first.getState()).isEqualTo(GameState.FINISHED);
+        assertThat(second.getWinner()).isEqualTo(Player.P1);
+        assertThat(leaderboard.stats("Alice").games()).isEqualTo(1);
+        assertThat(leaderboard.stats("Alice").wins()).isEqualTo(1);
+        assertThat(leaderboard.stats("Bob").losses()).isEqualTo(1);
+        assertThat(leaderboard.top().get(0).wins()).isEqualTo(1);
+    }
+
+    // Plays a full game in which the winner fires only at ships and the loser only at water
+    private Game play(String p1, String p2, Player winner) {
+        var game = gameService.createGame(p1, p2);
+        gameService.randomPlacement(game, Player.P1);
+        gameService.randomPlacement(game, Player.P2);
+        var loser = winner == Player.P1 ? Player.P2 : Player.P1;
+        int[] next = new int[2];
+        while (game.getState() != GameState.FINISHED) {
+            var p = game.getState() == GameState.TURN_P1 ? Player.P1 : Player.P2;
+            var grid = game.getOpponentBoard(p).getGrid();
+            int cell;
+            do {
+                cell = next[p.ordinal()]++;
+            } while (grid[cell / Board.SIZE][cell % Board.SIZE] != (p == loser ? CellState.EMPTY : CellState.SHIP));
+            gameService.fire(game, new FireRequest(p, cell / Board.SIZE, cell % Board.SIZE));
+        }
+        return game;
+    }
+}
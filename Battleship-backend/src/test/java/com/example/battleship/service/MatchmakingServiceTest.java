@@ -0,0 +1,171 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.MatchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MatchmakingService Tests")
+class MatchmakingServiceTest {
+    private GameStore gameStore;
+    private MatchmakingService matchmaking;
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        gameStore = new GameStore();
+        matchmaking = new MatchmakingService(new GameService(gameStore), Duration.ofMinutes(2), now::get);
+    }
+
+    @Test
+    @DisplayName("Should wait until a second player joins")
+    void testFirstPlayerWaits() {
+        var first = matchmaking.join("Alice");
+
+        assertThat(first.status()).isEqualTo("WAITING");
+        assertThat(first.gameId()).isNull();
+        assertThat(matchmaking.isWaiting()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should create a game when two players join")
+    void testPairing() throws Exception {
+        var first = matchmaking.join("Alice");
+        var pending = matchmaking.await(first.ticketId(), 5000);
+
+        var second = matchmaking.join("Bob");
+        var firstResult = pending.get(5, TimeUnit.SECONDS);
+
+        assertThat(second.status()).isEqualTo("MATCHED");
+        assertThat(second.player()).isEqualTo(Player.P2);
+        assertThat(firstResult.status()).isEqualTo("MATCHED");
+        assertThat(firstResult.player()).isEqualTo(Player.P1);
+        assertThat(firstResult.gameId()).isEqualTo(second.gameId());
+
+        var game = gameStore.get(second.gameId());
+        assertThat(game.getPlayerName(Player.P1)).isEqualTo("Alice");
+        assertThat(game.getPlayerName(Player.P2)).isEqualTo("Bob");
+        assertThat(matchmaking.isWaiting()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report WAITING when the long-poll times out")
+    void testAwaitTimeout() throws Exception {
+        var first = matchmaking.join("Alice");
+
+        var result = matchmaking.await(first.ticketId(), 10).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.status()).isEqualTo("WAITING");
+    }
+
+    @Test
+    @DisplayName("Should skip cancelled tickets")
+    void testCancel() {
+        var first = matchmaking.join("Alice");
+
+        assertThat(matchmaking.cancel(first.ticketId()).status()).isEqualTo("CANCELLED");
+        assertThat(matchmaking.join("Bob").status()).isEqualTo("WAITING");
+        assertThatThrownBy(() -> matchmaking.await(first.ticketId(), 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Ticket not found");
+    }
+
+    @Test
+    @DisplayName("Should pair two players who share a name")
+    void testSameNamePaired() {
+        matchmaking.join("");
+        var second = matchmaking.join("");
+
+        assertThat(second.status()).isEqualTo("MATCHED");
+        assertThat(matchmaking.isWaiting()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give a retried join with the same Idempotency-Key the same ticket")
+    void testIdempotentJoin() throws Exception {
+        var first = matchmaking.join("Alice", "key-1");
+        var retry = matchmaking.join("Alice", "key-1");
+
+        assertThat(retry.ticketId()).isEqualTo(first.ticketId());
+        assertThat(retry.status()).isEqualTo("WAITING");
+        assertThat(matchmaking.isWaiting()).isTrue();
+
+        var bob = matchmaking.join("Bob", "key-2");
+        assertThat(bob.status()).isEqualTo("MATCHED");
+        assertThat(matchmaking.join("Alice", "key-1").gameId()).isEqualTo(bob.gameId());
+    }
+
+    @Test
+    @DisplayName("Should cancel a waiting ticket nobody polls instead of matching it")
+    void testIdleTicketExpires() throws Exception {
+        var waiting = matchmaking.join("Dave");
+        var poll = matchmaking.await(waiting.ticketId(), 5000);
+        now.addAndGet(Duration.ofMinutes(3).toNanos());
+        // a ticket with a long-poll open is not idle however long it waits
+        assertThat(matchmaking.join("Erin").status()).isEqualTo("MATCHED");
+        assertThat(poll.get(5, TimeUnit.SECONDS).status()).isEqualTo("MATCHED");
+
+        var idle = matchmaking.join("Frank");
+        now.addAndGet(Duration.ofMinutes(3).toNanos());
+        var next = matchmaking.join("Grace");
+
+        assertThat(next.status()).isEqualTo("WAITING");
+        assertThatThrownBy(() -> matchmaking.await(idle.ticketId(), 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Ticket not found");
+    }
+
+    @Test
+    @DisplayName("Should reject cancel after match")
+    void testCancelAfterMatch() {
+        var first = matchmaking.join("Alice");
+        matchmaking.join("Bob");
+
+        assertThatThrownBy(() -> matchmaking.cancel(first.ticketId()))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("already matched");
+    }
+
+    @Test
+    @DisplayName("Should pair every concurrent joiner exactly once")
+    void testConcurrentJoins() throws Exception {
+        int threads = 8, perThread = 5_000;
+        var pool = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<List<MatchResponse>>>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                var out = new ArrayList<MatchResponse>(perThread);
+                for (int i = 0; i < perThread; i++) out.add(matchmaking.join("p" + id + "-" + i));
+                return out;
+            }));
+        }
+        start.countDown();
+        var all = new ArrayList<MatchResponse>();
+        for (var f : futures) all.addAll(f.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        // every joiner that waited was matched by someone later; resolve them all
+        var seats = new HashMap<String, Integer>();
+        for (var r : all) {
+            var done = r.status().equals("MATCHED") ? r : matchmaking.await(r.ticketId(), 0).get();
+            if (done.status().equals("MATCHED")) seats.merge(done.gameId(), 1, Integer::sum);
+        }
+        assertThat(seats).hasSize(threads * perThread / 2);
+        assertThat(seats.values()).allMatch(n -> n == 2);
+        assertThat(matchmaking.isWaiting()).isFalse();
+    }
+}
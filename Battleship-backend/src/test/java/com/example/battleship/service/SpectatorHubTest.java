@@ -0,0 +1,228 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.PlaceShipRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SpectatorHub Tests")
+class SpectatorHubTest {
+    private GameService gameService;
+    private SpectatorHub hub;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        gameService = new GameService(new GameStore());
+        hub = new SpectatorHub(gameService, executor, 4, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should send the current state to a new subscriber")
+    void testInitialFrame() throws Exception {
+        var game = gameService.createGame("Alice", "Bob");
+        var frames = new LinkedBlockingQueue<byte[]>();
+
+        hub.subscribe(game, frames::add);
+
+        var frame = text(frames.poll(5, TimeUnit.SECONDS));
+        assertThat(frame).startsWith("id: 1\nevent: state\ndata: {").endsWith("}\n\n");
+        assertThat(frame).contains("\"state\":\"PLACING_P1\"").contains("\"p1Name\":\"Alice\"");
+    }
+
+    @Test
+    @DisplayName("Should mask ships on both boards")
+    void testBothBoardsMasked() throws Exception {
+        var game = startedGame();
+        var frames = new LinkedBlockingQueue<byte[]>();
+
+        hub.subscribe(game, frames::add);
+
+        assertThat(text(frames.poll(5, TimeUnit.SECONDS))).doesNotContain("\"SHIP\"");
+    }
+
+    @Test
+    @DisplayName("Should share one serialized frame between subscribers")
+    void testSharedFrame() throws Exception {
+        var game = startedGame();
+        var a = new LinkedBlockingQueue<byte[]>();
+        var b = new LinkedBlockingQueue<byte[]>();
+        hub.subscribe(game, a::add);
+        hub.subscribe(game, b::add);
+        a.poll(5, TimeUnit.SECONDS);
+        b.poll(5, TimeUnit.SECONDS);
+
+        gameService.fire(game, new FireRequest(Player.P1, 5, 5));
+
+        var fa = a.poll(5, TimeUnit.SECONDS);
+        var fb = b.poll(5, TimeUnit.SECONDS);
+        assertThat(fa).isSameAs(fb);
+        assertThat(text(fa)).contains("\"state\":\"TURN_P2\"");
+    }
+
+    @Test
+    @DisplayName("Should not let a stalled subscriber hold up fire or other subscribers")
+    void testSlowSubscriberDropsAndResyncs() throws Exception {
+        var game = startedGame();
+        var release = new CountDownLatch(1);
+        var slowFrames = new CopyOnWriteArrayList<byte[]>();
+        var slow = hub.subscribe(game, frame -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slowFrames.add(frame);
+        });
+        var fast = new LinkedBlockingQueue<byte[]>();
+        hub.subscribe(game, fast::add);
+
+        // wait for the fast subscriber after every shot so each one produces its own frame
+        long fireNanos = 0;
+        String last = "";
+        for (int col = 5; col < 9; col++) {
+            for (int row = 5; row < 10; row++) {
+                for (var p : Player.values()) {
+                    long t0 = System.nanoTime();
+                    gameService.fire(game, new FireRequest(p, row, col));
+                    fireNanos += System.nanoTime() - t0;
+                    last = text(fast.poll(5, TimeUnit.SECONDS));
+                }
+            }
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(fireNanos)).isLessThan(1000);
+        assertThat(misses(last)).isEqualTo(40);
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline
+                && (slowFrames.isEmpty() || !text(slowFrames.get(slowFrames.size() - 1)).equals(last)))
+            Thread.sleep(10);
+
+        assertThat(slow.getDropped()).isPositive();
+        assertThat(slowFrames.size()).isLessThanOrEqualTo(4 + 1);
+        assertThat(text(slowFrames.get(slowFrames.size() - 1))).isEqualTo(last);
+    }
+
+    @Test
+    @DisplayName("Should cut off a subscriber whose write stays stuck past the time limit, and close it once the write returns")
+    void testStalledSubscriberCutOff() throws Exception {
+        var strict = new SpectatorHub(gameService, executor, 4, Duration.ofMillis(50));
+        var game = startedGame();
+        var release = new CountDownLatch(1);
+        var sends = new AtomicInteger();
+        var closed = new CountDownLatch(1);
+        strict.subscribe(game, new SpectatorHub.Sink() {
+            @Override
+            public void send(byte[] frame) {
+                sends.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        });
+        var fast = new LinkedBlockingQueue<byte[]>();
+        strict.subscribe(game, fast::add);
+        fast.poll(5, TimeUnit.SECONDS);
+
+        Thread.sleep(100);
+        for (int col = 5; col < 8; col++) {
+            for (var p : Player.values()) {
+                gameService.fire(game, new FireRequest(p, 9, col));
+                assertThat(fast.poll(5, TimeUnit.SECONDS)).isNotNull();
+            }
+        }
+        assertThat(strict.subscriberCount(game.getId())).isEqualTo(1);
+        assertThat(closed.getCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue();
+        gameService.fire(game, new FireRequest(Player.P1, 9, 8));
+        assertThat(fast.poll(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(sends.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget the game when the last subscriber leaves")
+    void testUnsubscribe() {
+        var game = gameService.createGame("Alice", "Bob");
+        var sub = hub.subscribe(game, frame -> {});
+
+        assertThat(hub.subscriberCount(game.getId())).isEqualTo(1);
+        hub.unsubscribe(sub);
+        assertThat(hub.subscriberCount(game.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write to slow subscribers on at most `threads` fan-out threads of its own")
+    void testBoundedExecutor() throws Exception {
+        var bounded = new SpectatorHub(gameService, false, 2, 4, Duration.ofSeconds(10));
+        var release = new CountDownLatch(1);
+        var writing = new AtomicInteger();
+        var mostAtOnce = new AtomicInteger();
+        var threads = ConcurrentHashMap.<String>newKeySet();
+        try {
+            for (int i = 0; i < 4; i++) {
+                bounded.subscribe(gameService.createGame("Alice", "Bob"), frame -> {
+                    threads.add(Thread.currentThread().getName());
+                    mostAtOnce.accumulateAndGet(writing.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    writing.decrementAndGet();
+                });
+            }
+            Thread.sleep(200);
+            assertThat(mostAtOnce.get()).isEqualTo(2);
+        } finally {
+            release.countDown();
+            bounded.shutdown();
+        }
+        assertThat(threads).allMatch(name -> name.startsWith("spectator-"));
+    }
+
+    private Game startedGame() {
+        var game = gameService.createGame("Alice", "Bob");
+        for (var p : Player.values()) {
+            int row = 0;
+            for (var type : ShipType.values()) {
+                gameService.placeShip(game, new PlaceShipRequest(p, type, row, 0, Orientation.HORIZONTAL));
+                row += 2;
+            }
+        }
+        return game;
+    }
+
+    private static int misses(String frame) {
+        return frame.split("\"MISS\"", -1).length - 1;
+    }
+
+    private static String text(byte[] frame) {
+        return new String(frame, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Board;
+import com.example.battleship.domain.CellState;
+import com.example.battleship.dto.StandingDto;
+import com.example.battleship.dto.TournamentDto;
+import com.example.battleship.dto.TournamentRequest;
+import com.example.battleship.dto.TournamentRequest.Format;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TournamentService Tests")
+class TournamentServiceTest {
+    private static final List<String> ALL = List.copyOf(Strategies.names());
+
+    private TournamentService tournaments;
+
+    @BeforeEach
+    void setUp() {
+        tournaments = new TournamentService(2, 100_000, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tournaments.shutdown();
+    }
+
+    // ========== STRATEGY TESTS ==========
+
+    @Test
+    @DisplayName("Should make only legal shots until the board is known")
+    void testStrategiesCoverBoard() {
+        var rnd = new SplittableRandom(1);
+        for (var name : ALL) {
+            var view = new CellState[Board.SIZE][Board.SIZE];
+            for (var row : view) Arrays.fill(row, CellState.EMPTY);
+            for (int shot = 0; shot < Board.SIZE * Board.SIZE; shot++) {
+                int cell = Strategies.get(name).nextShot(view, rnd);
+                assertThat(cell).as(name).isBetween(0, Board.SIZE * Board.SIZE - 1);
+                assertThat(view[cell / Board.SIZE][cell % Board.SIZE]).as(name).isEqualTo(CellState.EMPTY);
+                // a few hits keep the targeting strategies busy
+                view[cell / Board.SIZE][cell % Board.SIZE] = shot % 7 == 0 ? CellState.HIT : CellState.MISS;
+            }
+            assertThat(Strategies.get(name).nextShot(view, rnd)).as(name).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should work along a line of hits")
+    void testHuntTargetFollowsHits() {
+        var view = new CellState[Board.SIZE][Board.SIZE];
+        for (var row : view) Arrays.fill(row, CellState.EMPTY);
+        view[4][4] = CellState.HIT;
+        view[4][5] = CellState.HIT;
+
+        for (int i = 0; i < 20; i++)
+            assertThat(Strategies.get("hunt-target").nextShot(view, new SplittableRandom(i))).isIn(4 * 10 + 3, 4 * 10 + 6);
+    }
+
+    // ========== ROUND ROBIN TESTS ==========
+
+    @Test
+    @DisplayName("Should play a 10k-match round robin in seconds with consistent standings")
+    void testRoundRobin() throws Exception {
+        var t = await(tournaments.create(new TournamentRequest(Format.ROUND_ROBIN, ALL, 1667)).id());
+
+        assertThat(t.state()).isEqualTo("FINISHED");
+        assertThat(t.matches()).isEqualTo(10_002);
+        assertThat(t.matchesPlayed()).isEqualTo(10_002);
+        assertThat(t.round()).isEqualTo(1667);
+        assertThat(t.elapsedMs()).isLessThan(30_000);
+        assertThat(t.standings()).extracting(StandingDto::played).containsOnly(3L * 1667);
+        assertThat(t.standings().stream().mapToLong(StandingDto::wins).sum()).isEqualTo(10_002);
+        assertThat(t.standings()).extracting(StandingDto::rank).containsExactly(1, 2, 3, 4);
+        // targeting beats blind shooting by a wide margin
+        assertThat(t.standings().get(3).strategy()).isIn("sweep", "random");
+        assertThat(t.standings().get(0).strategy()).isIn("hunt-target", "parity");
+    }
+
+    @Test
+    @DisplayName("Should share workers between tournaments")
+    void testFairSharing() throws Exception {
+        var single = new TournamentService(1, 1_000_000, 10);
+        try {
+            var big = single.create(new TournamentRequest(Format.ROUND_ROBIN, ALL, 10_000));
+            var small = await(single, single.create(new TournamentRequest(Format.ROUND_ROBIN, ALL, 10)).id());
+            var bigNow = single.get(big.id());
+
+            assertThat(small.state()).isEqualTo("FINISHED");
+            assertThat(bigNow.state()).isEqualTo("RUNNING");
+            // one worker alternating: the big one got about as many matches as the small one needed
+            assertThat(bigNow.matchesPlayed()).isLessThan(small.matches() * 3);
+            assertThat(single.cancel(big.id()).state()).isEqualTo("CANCELLED");
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    // ========== SWISS TESTS ==========
+
+    @Test
+    @DisplayName("Should pair Swiss rounds with one bye each for an odd field")
+    void testSwiss() throws Exception {
+        var entrants = List.of("random", "random", "sweep", "hunt-target", "parity", "parity", "sweep");
+        var t = await(tournaments.create(new TournamentRequest(Format.SWISS, entrants, 5)).id());
+
+        assertThat(t.state()).isEqualTo("FINISHED");
+        assertThat(t.matches()).isEqualTo(15);
+        assertThat(t.matchesPlayed()).isEqualTo(15);
+        assertThat(t.round()).isEqualTo(5);
+        assertThat(t.standings()).hasSize(7);
+        assertThat(t.standings()).allSatisfy(s -> {
+            assertThat(s.played() + s.byes()).isEqualTo(5);
+            assertThat(s.byes()).isLessThanOrEqualTo(1);
+            assertThat(s.points()).isEqualTo(s.wins() + s.byes());
+        });
+        assertThat(t.standings().stream().mapToLong(StandingDto::byes).sum()).isEqualTo(5);
+        assertThat(new HashSet<>(t.standings().stream().map(StandingDto::entrant).toList()))
+                .contains("random", "random#2", "parity#2", "sweep#2");
+    }
+
+    @Test
+    @DisplayName("Should default to enough Swiss rounds to find a winner")
+    void testSwissDefaultRounds() throws Exception {
+        var t = await(tournaments.create(new TournamentRequest(Format.SWISS, ALL, null)).id());
+
+        assertThat(t.rounds()).isEqualTo(2);
+        assertThat(t.matchesPlayed()).isEqualTo(4);
+    }
+
+    // ========== VALIDATION TESTS ==========
+
+    @Test
+    @DisplayName("Should reject unknown strategies and oversized tournaments")
+    void testValidation() {
+        assertThatThrownBy(() -> tournaments.create(new TournamentRequest(Format.SWISS, List.of("random", "cheat"), 1)))
+                .isInstanceOf(ResponseStatusException.class).hasMessageContaining("cheat");
+        assertThatThrownBy(() -> tournaments.create(new TournamentRequest(Format.ROUND_ROBIN, List.of("random"), 1)))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> tournaments.create(new TournamentRequest(Format.ROUND_ROBIN, ALL, 20_000)))
+                .isInstanceOf(ResponseStatusException.class).hasMessageContaining("100000");
+        assertThatThrownBy(() -> tournaments.get("missing"))
+                .isInstanceOf(ResponseStatusException.class).hasMessageContaining("404");
+    }
+
+    @Test
+    @DisplayName("Should stop handing out matches once cancelled")
+    void testCancel() throws Exception {
+        var t = tournaments.create(new TournamentRequest(Format.ROUND_ROBIN, ALL, 15_000));
+        var cancelled = tournaments.cancel(t.id());
+
+        assertThat(cancelled.state()).isEqualTo("CANCELLED");
+        assertThatThrownBy(() -> tournaments.cancel(t.id())).hasMessageContaining("409");
+        Thread.sleep(50);
+        assertThat(tournaments.get(t.id()).matchesPlayed()).isLessThan(t.matches());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private TournamentDto await(String id) throws InterruptedException {
+        return await(tournaments, id);
+    }
+
+    private static TournamentDto await(TournamentService service, String id) throws InterruptedException {
+        long deadline = System.nanoTime() + 60_000_000_000L;
+        var t = service.get(id);
+        while (t.state().equals("RUNNING") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            t = service.get(id);
+        }
+        return t;
+    }
+}
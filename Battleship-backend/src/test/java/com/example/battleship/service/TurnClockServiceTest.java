@@ -0,0 +1,192 @@
+package com.example.battleship.service;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.service.TurnClockService.OnTimeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TurnClockService Tests")
+class TurnClockServiceTest {
+    private static final Duration TURN = Duration.ofSeconds(10);
+    private static final Duration TICK = Duration.ofMillis(100);
+
+    private final AtomicLong clock = new AtomicLong();
+    private GameStore store;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        store = new GameStore();
+        gameService = new GameService(store);
+    }
+
+    // ========== TURN TIMEOUT TESTS ==========
+
+    @Test
+    @DisplayName("Should place and fire for a player who runs out of time")
+    void testAutoPlay() {
+        var clocks = clocks(TURN, Duration.ZERO, OnTimeout.AUTO);
+        var game = gameService.createGame("Alice", "Bob");
+
+        assertThat(after(Duration.ofMillis(9_900), clocks)).isZero();
+        assertThat(after(Duration.ofMillis(100), clocks)).isEqualTo(1);
+        assertThat(game.getState()).isEqualTo(GameState.PLACING_P2);
+
+        after(TURN, clocks);
+        assertThat(game.getState()).isEqualTo(GameState.TURN_P1);
+
+        after(TURN, clocks);
+        assertThat(game.getShotCount()).isEqualTo(1);
+        assertThat(game.getShotPlayer(0)).isEqualTo(Player.P1);
+        assertThat(clocks.timeouts()).isEqualTo(3);
+        assertThat(clocks.armed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should restart the turn clock on every move")
+    void testMoveRestartsClock() {
+        var clocks = clocks(TURN, Duration.ZERO, OnTimeout.AUTO);
+        var game = gameService.createGame("Alice", "Bob");
+        after(Duration.ofSeconds(9), clocks);
+        gameService.randomPlacement(game, Player.P1);
+        after(Duration.ofSeconds(9), clocks);
+        gameService.randomPlacement(game, Player.P2);
+        after(Duration.ofSeconds(9), clocks);
+        gameService.fire(game, new FireRequest(Player.P1, 0, 0));
+
+        assertThat(after(Duration.ofSeconds(9), clocks)).isZero();
+        assertThat(clocks.timeouts()).isZero();
+        assertThat(after(Duration.ofSeconds(1), clocks)).isEqualTo(1);
+        assertThat(game.getShotPlayer(game.getShotCount() - 1)).isEqualTo(Player.P2);
+    }
+
+    @Test
+    @DisplayName("Should forfeit for the player to move and stop the clock")
+    void testForfeit() {
+        var clocks = clocks(TURN, Duration.ZERO, OnTimeout.FORFEIT);
+        var game = playing();
+        gameService.fire(game, new FireRequest(Player.P1, 0, 0));
+
+        after(TURN, clocks);
+
+        assertThat(game.getState()).isEqualTo(GameState.FINISHED);
+        assertThat(game.getWinner()).isEqualTo(Player.P1);
+        assertThat(clocks.armed()).isZero();
+        assertThat(after(TURN, clocks)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave a game alone when its player moved at the last moment")
+    void testLateMoveWins() {
+        var clocks = clocks(TURN, Duration.ZERO, OnTimeout.FORFEIT);
+        var game = playing();
+        clock.addAndGet(TURN.toNanos());
+        // the move lands after the deadline but before the ticker gets to it
+        gameService.fire(game, new FireRequest(Player.P1, 0, 0));
+
+        assertThat(clocks.tick()).isZero();
+        assertThat(game.getState()).isEqualTo(GameState.TURN_P2);
+        assertThat(after(TURN, clocks)).isEqualTo(1);
+        assertThat(game.getWinner()).isEqualTo(Player.P1);
+    }
+
+    // ========== GAME TIMEOUT TESTS ==========
+
+    @Test
+    @DisplayName("Should forfeit for whoever is to move when the game clock runs out")
+    void testGameTimeout() {
+        var clocks = clocks(Duration.ZERO, Duration.ofMinutes(1), OnTimeout.AUTO);
+        var game = gameService.createGame("Alice", "Bob");
+        after(Duration.ofSeconds(30), clocks);
+        gameService.randomPlacement(game, Player.P1);
+
+        assertThat(after(Duration.ofSeconds(29), clocks)).isZero();
+        assertThat(after(Duration.ofSeconds(1), clocks)).isEqualTo(1);
+        assertThat(game.getState()).isEqualTo(GameState.FINISHED);
+        assertThat(game.getWinner()).isEqualTo(Player.P1);
+    }
+
+    @Test
+    @DisplayName("Should cap the last turn at the game deadline")
+    void testTurnCappedByGame() {
+        var clocks = clocks(TURN, Duration.ofSeconds(15), OnTimeout.AUTO);
+        var game = gameService.createGame("Alice", "Bob");
+
+        after(TURN, clocks);
+        assertThat(game.getState()).isEqualTo(GameState.PLACING_P2);
+        after(Duration.ofSeconds(5), clocks);
+        assertThat(game.getState()).isEqualTo(GameState.FINISHED);
+        assertThat(game.getWinner()).isEqualTo(Player.P1);
+    }
+
+    // ========== LIFECYCLE TESTS ==========
+
+    @Test
+    @DisplayName("Should forget deleted games when their clock comes round")
+    void testDeletedGame() {
+        var clocks = clocks(TURN, Duration.ZERO, OnTimeout.AUTO);
+        var game = gameService.createGame("Alice", "Bob");
+        store.delete(game.getId());
+
+        assertThat(after(TURN, clocks)).isEqualTo(1);
+        assertThat(clocks.armed()).isZero();
+        assertThat(clocks.timeouts()).isZero();
+        assertThat(game.getState()).isEqualTo(GameState.PLACING_P1);
+    }
+
+    @Test
+    @DisplayName("Should time games out on its own ticker thread")
+    void testTicker() throws Exception {
+        var clocks = new TurnClockService(gameService, Duration.ofMillis(50), Duration.ZERO, OnTimeout.FORFEIT,
+                Duration.ofMillis(5));
+        try {
+            var game = gameService.createGame("Alice", "Bob");
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (game.getState() != GameState.FINISHED && System.nanoTime() < deadline) Thread.sleep(5);
+
+            assertThat(game.getWinner()).isEqualTo(Player.P2);
+            assertThat(clocks.timeouts()).isEqualTo(1);
+        } finally {
+            clocks.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay out of the way when no time control is set")
+    void testDisabled() {
+        var clocks = new TurnClockService(gameService, Duration.ZERO, Duration.ZERO, OnTimeout.AUTO, TICK);
+        gameService.createGame("Alice", "Bob");
+
+        assertThat(clocks.enabled()).isFalse();
+        assertThat(clocks.armed()).isZero();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private TurnClockService clocks(Duration turn, Duration game, OnTimeout onTimeout) {
+        var clocks = new TurnClockService(gameService, turn, game, onTimeout, TICK, clock::get);
+        gameService.addListener(clocks);
+        return clocks;
+    }
+
+    private int after(Duration d, TurnClockService clocks) {
+        clock.addAndGet(d.toNanos());
+        return clocks.tick();
+    }
+
+    private Game playing() {
+        var game = gameService.createGame("Alice", "Bob");
+        gameService.randomPlacement(game, Player.P1);
+        gameService.randomPlacement(game, Player.P2);
+        return game;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.battleship.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"battleship.warmup.enabled=true", "battleship.warmup.max-duration=5s", "battleship.warmup.http-games=5"})
+@ActiveProfiles("test")
+@DisplayName("WarmUpRunner Tests")
+class WarmUpRunnerTest {
+    private static final AtomicReference<ReadinessState> readinessDuringStartup = new AtomicReference<>();
+
+    @TestConfiguration
+    static class Probe {
+        // runs after the warm-up, still before the application reports ready
+        @Bean
+        @Order(Ordered.LOWEST_PRECEDENCE)
+        ApplicationRunner readinessProbe(ApplicationAvailability availability) {
+            return args -> readinessDuringStartup.set(availability.getReadinessState());
+        }
+    }
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private GameStore store;
+
+    @Test
+    @DisplayName("Should refuse traffic until the warm-up is done")
+    void testReadiness() {
+        assertThat(readinessDuringStartup.get()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    @DisplayName("Should expose warm-up duration and before/after latency")
+    void testMetrics() {
+        var duration = registry.get("battleship.warmup.duration").timeGauge().value(TimeUnit.MILLISECONDS);
+        var before = registry.get("battleship.warmup.op.latency").tag("phase", "before").timeGauge().value(TimeUnit.NANOSECONDS);
+        var after = registry.get("battleship.warmup.op.latency").tag("phase", "after").timeGauge().value(TimeUnit.NANOSECONDS);
+
+        assertThat(duration).isPositive().isLessThan(10_000);
+        assertThat(registry.get("battleship.warmup.rounds").gauge().value()).isPositive();
+        assertThat(before).isPositive();
+        assertThat(after).isPositive();
+    }
+
+    // ========== ROUND TESTS ==========
+
+    @Test
+    @DisplayName("Should keep playing rounds until two in a row compile nothing")
+    void testStopsWhenJitIsQuiet() {
+        // compiles during the first four rounds, then nothing
+        var calls = new AtomicLong();
+        var runner = runner(() -> Math.min(calls.getAndIncrement(), 4));
+
+        runner.warmService(System.nanoTime() + TimeUnit.SECONDS.toNanos(30));
+
+        assertThat(runner.rounds()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should stop at the deadline while the JIT is still compiling")
+    void testStopsAtDeadline() {
+        var calls = new AtomicLong();
+        var runner = runner(calls::incrementAndGet);
+
+        runner.warmService(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertThat(runner.rounds()).isPositive();
+        assertThat(calls.get()).isEqualTo(runner.rounds() + 1);
+    }
+
+    @Test
+    @DisplayName("Should warm the HTTP path without leaving games in the store")
+    void testHttpWarmUp() {
+        assertThat(registry.get("battleship.warmup.http.latency").tag("phase", "after").timeGauge()
+                .value(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(store.size()).isZero();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static WarmUpRunner runner(LongSupplier jitTime) {
+        return new WarmUpRunner(null, new GameStore(), new SimpleMeterRegistry(), Duration.ofSeconds(30), 0, jitTime);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.battleship.util;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.FireResponse;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FastJson Tests")
+class FastJsonTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final GameService gameService = new GameService(new GameStore());
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Alice", "", "quote \" and \\ backslash", "tab\tnew\nline\r\b\f", "\u0000\u0001\u001f\u007f",
+            "Åsa Öberg", "日本語 ✓", "emoji 🚢 ship", "mixed é\"\n€"})
+    @DisplayName("Should write GameViewDto exactly like Jackson")
+    void testGameViewMatchesJackson(String name) throws Exception {
+        var game = gameService.createGame(name, "Bob");
+        gameService.randomPlacement(game, Player.P1);
+        gameService.randomPlacement(game, Player.P2);
+        gameService.fire(game, new FireRequest(Player.P1, 3, 4));
+
+        for (var viewer : Player.values()) {
+            var view = gameService.view(game, viewer);
+            assertThat(new String(FastJson.write(view))).isEqualTo(mapper.writeValueAsString(view));
+        }
+        var spectate = gameService.spectate(game);
+        assertThat(new String(FastJson.write(spectate))).isEqualTo(mapper.writeValueAsString(spectate));
+    }
+
+    @Test
+    @DisplayName("Should write both views exactly like Jackson, before and after placement")
+    void testGameViewsMatchesJackson() throws Exception {
+        var game = gameService.createGame("Alice", "quote \" name");
+        // no ships yet: each board is its own masked view and is encoded once
+        var empty = gameService.views(game);
+        assertThat(empty.p1().yourBoard()).isSameAs(empty.p2().opponentBoardMasked());
+        assertThat(new String(FastJson.write(empty))).isEqualTo(mapper.writeValueAsString(empty));
+
+        gameService.randomPlacement(game, Player.P1);
+        gameService.randomPlacement(game, Player.P2);
+        gameService.fire(game, new FireRequest(Player.P1, 3, 4));
+        var views = gameService.views(game);
+        var out = new ByteArrayOutputStream();
+        FastJson.writeTo(views, out);
+
+        assertThat(out.toString()).isEqualTo(mapper.writeValueAsString(views));
+    }
+
+    @Test
+    @DisplayName("Should write FireResponse exactly like Jackson")
+    void testFireResponseMatchesJackson() throws Exception {
+        var responses = new FireResponse[]{
+                new FireResponse(false, false, null, "TURN_P2", null),
+                new FireResponse(true, true, "CARRIER", "TURN_P1", null),
+                new FireResponse(true, true, "DESTROYER", "FINISHED", Player.P2),
+        };
+        for (var r : responses)
+            assertThat(new String(FastJson.write(r))).isEqualTo(mapper.writeValueAsString(r));
+    }
+
+    @Test
+    @DisplayName("Should write every shared FireResponse like Jackson, without allocating")
+    void testSharedFireResponses() throws Exception {
+        for (int i = 0; i < FireResponse.COUNT; i++) {
+            var r = FireResponse.get(i);
+            assertThat(new String(FastJson.write(r))).isEqualTo(mapper.writeValueAsString(r));
+            assertThat(FireResponse.indexOf(new FireResponse(r.hit(), r.sunk(), r.sunkShipType(), r.nextState(), r.winner())))
+                    .isEqualTo(i);
+        }
+        assertThat(FireResponse.indexOf(new FireResponse(true, true, "NOT_A_SHIP", "TURN_P1", null))).isEqualTo(-1);
+        assertThat(FireResponse.indexOf(new FireResponse(true, false, "CARRIER", "TURN_P1", null))).isEqualTo(-1);
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var out = OutputStream.nullOutputStream();
+        var r = FireResponse.of(true, ShipType.CRUISER, GameState.TURN_P2, null);
+        for (int i = 0; i < 1_000; i++) FastJson.writeTo(r, out);
+        long overhead = threads.getCurrentThreadAllocatedBytes();
+        overhead = threads.getCurrentThreadAllocatedBytes() - overhead;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int calls = 10_000;
+        for (int i = 0; i < calls; i++) FastJson.writeTo(r, out);
+
+        // a single object per call would be 16 bytes each; the slack is for a JIT transition mid-loop
+        assertThat(threads.getCurrentThreadAllocatedBytes() - before - overhead).isLessThan(calls);
+    }
+
+    @Test
+    @DisplayName("Should write a finished game with winner like Jackson")
+    void testFinishedGameMatchesJackson() throws Exception {
+        var game = gameService.createGame("Alice", "Bob");
+        game.setState(GameState.FINISHED);
+        game.setWinner(Player.P1);
+
+        var view = gameService.view(game, Player.P2);
+        var out = new ByteArrayOutputStream();
+        FastJson.writeTo(view, out);
+
+        assertThat(out.toString()).isEqualTo(mapper.writeValueAsString(view));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.battleship.util;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.dto.PlaceShipRequest;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Footprint Tests")
+class FootprintTest {
+    // Heap budget per game, in bytes. Raise these deliberately, with the reason, when the domain grows.
+    private static final long NEW_GAME_BUDGET = 2_048;
+    private static final long PLAYING_GAME_BUDGET = 4_096;
+    // a store entry carries its place in the state and player indexes
+    private static final long STORE_ENTRY_BUDGET = 288;
+
+    // objects every game points at but none owns; an empty ArrayList brings the JDK's shared empty array
+    private static final Object[] SHARED = {CellState.values(), GameState.values(), ShipType.values(),
+            Player.values(), Orientation.values(),
+            new Game("").getPlayerName(Player.P1), new Game("").getPlayerName(Player.P2), new ArrayList<>()};
+    private static final long SHARED_BYTES = GraphLayout.parseInstance((Object) SHARED).totalSize();
+
+    private final GameService gameService = new GameService(new GameStore());
+
+    @Test
+    @DisplayName("Should match the measured layout in every phase of a game")
+    void testEstimateMatchesJol() {
+        for (var g : gamesInEveryPhase())
+            assertThat(Footprint.game(g)).as("game in %s", g.getState()).isEqualTo(measured(g));
+    }
+
+    @Test
+    @DisplayName("Should keep games within the per-game budget")
+    void testBudget() {
+        var fresh = gameService.createGame("Alice", "Bob");
+        assertThat(measured(fresh)).isLessThanOrEqualTo(NEW_GAME_BUDGET);
+
+        for (var g : gamesInEveryPhase())
+            assertThat(measured(g)).as("game in %s", g.getState()).isLessThanOrEqualTo(PLAYING_GAME_BUDGET);
+    }
+
+    @Test
+    @DisplayName("Should account for store entries")
+    void testStoreOverhead() {
+        for (int n : new int[]{0, 1, 11, 12, 13, 1000}) {
+            var store = new GameStore();
+            long games = 0;
+            for (int i = 0; i < n; i++) {
+                var g = new Game("game-" + i);
+                store.put(g);
+                games += measured(g);
+            }
+            long overhead = measured(store) - games;
+            // the estimate leaves out the store, its map and index sets; skip-list levels are random, and JOL
+            // has seen anywhere from 0.45 to 0.6 of them per key
+            assertThat(overhead - Footprint.storeOverhead(n)).as("%d games", n).isBetween(-16L * n, 1024 + 16L * n);
+            if (n >= 1000) assertThat(overhead / n).isLessThanOrEqualTo(STORE_ENTRY_BUDGET);
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+    // Bytes reachable from root and not from SHARED. Both are walked together: GraphLayout.subtract matches
+    // objects by address, which a GC between two walks can change.
+    private static long measured(Object root) {
+        return GraphLayout.parseInstance(root, SHARED).totalSize() - SHARED_BYTES;
+    }
+
+    private List<Game> gamesInEveryPhase() {
+        var games = new ArrayList<Game>();
+        games.add(gameService.createGame("Alice", "Bob"));
+        games.add(gameService.createGame(null, ""));
+        games.add(gameService.createGame("Åsa", "日本語 ✓"));
+
+        var oneShip = gameService.createGame("Alice", "Bob");
+        gameService.placeShip(oneShip, new PlaceShipRequest(Player.P1, ShipType.DESTROYER, 0, 0, Orientation.HORIZONTAL));
+        games.add(oneShip);
+
+        var placing = gameService.createGame("Alice", "Bob");
+        gameService.randomPlacement(placing, Player.P1);
+        games.add(placing);
+
+        var rnd = new Random(7);
+        for (int shots : new int[]{0, 30, Integer.MAX_VALUE}) {
+            var g = gameService.createGame("Alice", "Bob");
+            gameService.randomPlacement(g, Player.P1);
+            gameService.randomPlacement(g, Player.P2);
+            for (int i = 0; i < shots && g.getState() != GameState.FINISHED; i++) {
+                var p = g.getState() == GameState.TURN_P1 ? Player.P1 : Player.P2;
+                gameService.tryFire(g, new FireRequest(p, rnd.nextInt(Board.SIZE), rnd.nextInt(Board.SIZE)));
+            }
+            games.add(g);
+        }
+        games.add(gameService.importReplay(gameService.exportReplay(games.get(games.size() - 1), false)));
+        return games;
+    }
+}
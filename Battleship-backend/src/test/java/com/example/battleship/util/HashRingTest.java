@@ -0,0 +1,79 @@
+package com.example.battleship.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HashRing Tests")
+class HashRingTest {
+    private static final List<String> NODES = List.of("http://localhost:8081", "http://localhost:8082",
+            "http://localhost:8083", "http://localhost:8084");
+    private static final int KEYS = 100_000;
+
+    // ========== OWNERSHIP TESTS ==========
+
+    @Test
+    @DisplayName("Should give every key the same member whatever order the members are listed in")
+    void testDeterministic() {
+        var ring = new HashRing(NODES, 512);
+        var reversed = new HashRing(NODES.reversed(), 512);
+
+        assertThat(ring.nodes()).containsExactlyElementsOf(NODES);
+        for (int i = 0; i < 1_000; i++) {
+            var key = UUID.randomUUID().toString();
+            assertThat(ring.owner(key)).isIn(NODES).isEqualTo(reversed.owner(key));
+        }
+        assertThat(new HashRing(List.of(), 128).owner("any")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should split keys about evenly between members")
+    void testBalance() {
+        var counts = owners(new HashRing(NODES, 512));
+
+        assertThat(counts).hasSize(NODES.size());
+        for (int n : counts.values()) assertThat(n).isBetween(KEYS / NODES.size() * 90 / 100, KEYS / NODES.size() * 110 / 100);
+    }
+
+    // ========== MEMBERSHIP TESTS ==========
+
+    @Test
+    @DisplayName("Should move only the keys a new member takes over")
+    void testJoinMovesOnlyItsShare() {
+        var before = new HashRing(NODES, 512);
+        var grown = new ArrayList<>(NODES);
+        grown.add("http://localhost:8085");
+        var after = new HashRing(grown, 512);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            var key = key(i);
+            var was = before.owner(key);
+            var is = after.owner(key);
+            if (!was.equals(is)) {
+                assertThat(is).isEqualTo("http://localhost:8085");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(KEYS / 5 * 80 / 100, KEYS / 5 * 120 / 100);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static Map<String, Integer> owners(HashRing ring) {
+        var counts = new HashMap<String, Integer>();
+        for (int i = 0; i < KEYS; i++) counts.merge(ring.owner(key(i)), 1, Integer::sum);
+        return counts;
+    }
+
+    private static String key(int i) {
+        return new UUID(i * 0x9E3779B97F4A7C15L, i).toString();
+    }
+}
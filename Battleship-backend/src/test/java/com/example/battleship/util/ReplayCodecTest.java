@@ -0,0 +1,177 @@
+package com.example.battleship.util;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.FireRequest;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Replay codec Tests")
+class ReplayCodecTest {
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService(new GameStore());
+    }
+
+    @Test
+    @DisplayName("Should encode placements in 2 bytes and shots in 1 byte")
+    void testEncodedSize() {
+        var game = playedGame(7);
+
+        var data = ReplayCodec.encode(game, false);
+
+        int names = 4 + "Alice".length() + "Bob".length();
+        assertThat(data).hasSize(5 + names + 2 + 2 * 10 + 1 + game.getShotCount() + 1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a finished game identically")
+    void testRoundTripFinishedGame() {
+        var game = playedGame(11);
+        assertThat(game.getState()).isEqualTo(GameState.FINISHED);
+
+        for (boolean compress : new boolean[]{false, true}) {
+            var copy = gameService.importReplay(ReplayCodec.encode(game, compress));
+
+            assertThat(copy.getId()).isNotEqualTo(game.getId());
+            assertThat(copy.getPlayerName(Player.P1)).isEqualTo("Alice");
+            assertThat(copy.getPlayerName(Player.P2)).isEqualTo("Bob");
+            assertThat(copy.getState()).isEqualTo(GameState.FINISHED);
+            assertThat(copy.getWinner()).isEqualTo(game.getWinner());
+            assertThat(copy.getShotCount()).isEqualTo(game.getShotCount());
+            for (var p : Player.values())
+                assertThat(Arrays.deepEquals(copy.getBoard(p).getGrid(), game.getBoard(p).getGrid())).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild a game that is still placing")
+    void testRoundTripPlacingGame() {
+        var game = gameService.createGame("Alice", "Bob");
+        gameService.randomPlacement(game, Player.P1);
+
+        var copy = gameService.importReplay(ReplayCodec.encode(game, true));
+
+        assertThat(copy.getState()).isEqualTo(GameState.PLACING_P2);
+        assertThat(copy.getBoard(Player.P1).getShips()).hasSize(5);
+        assertThat(copy.getBoard(Player.P2).getShips()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should end a forfeited game in its replay, in whatever phase it stopped")
+    void testRoundTripForfeit() {
+        var placing = gameService.createGame("Alice", "Bob");
+        var playing = gameService.createGame("Alice", "Bob");
+        gameService.randomPlacement(playing, Player.P1);
+        gameService.randomPlacement(playing, Player.P2);
+        gameService.fire(playing, new FireRequest(Player.P1, 0, 0));
+        assertThat(gameService.tryForfeit(placing, Player.P1, placing.getVersion()).isOk()).isTrue();
+        assertThat(gameService.tryForfeit(playing, Player.P2, playing.getVersion()).isOk()).isTrue();
+
+        for (var game : new Game[]{placing, playing}) {
+            var copy = gameService.importReplay(ReplayCodec.encode(game, true));
+            assertThat(copy.getState()).isEqualTo(GameState.FINISHED);
+            assertThat(copy.getWinner()).isEqualTo(game.getWinner());
+            assertThat(copy.getShotCount()).isEqualTo(game.getShotCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should still read version 1 replays, which have no winner byte")
+    void testDecodeVersion1() {
+        var game = playedGame(7);
+        var v2 = ReplayCodec.encode(game, false);
+        var v1 = Arrays.copyOf(v2, v2.length - 1);
+        v1[3] = 1;
+
+        var copy = gameService.importReplay(v1);
+        assertThat(copy.getState()).isEqualTo(GameState.FINISHED);
+        assertThat(copy.getWinner()).isEqualTo(game.getWinner());
+        assertThat(ReplayCodec.decode(v1).winner()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a winner the shots contradict")
+    void testRejectWrongWinner() {
+        var game = playedGame(11);
+        var data = ReplayCodec.encode(game, false);
+        data[data.length - 1] = (byte) (game.getWinner() == Player.P1 ? 2 : 1);
+
+        assertThatThrownBy(() -> gameService.importReplay(data))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("winner does not match");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed replays")
+    void testRejectMalformed() {
+        var data = ReplayCodec.encode(playedGame(3), false);
+
+        assertThatThrownBy(() -> gameService.importReplay(new byte[]{1, 2, 3}))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid replay");
+        assertThatThrownBy(() -> gameService.importReplay(Arrays.copyOf(data, data.length - 4)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid replay");
+    }
+
+    @Test
+    @DisplayName("Should reject replays that break the rules")
+    void testRejectIllegalShots() {
+        var game = playedGame(13);
+        var data = ReplayCodec.encode(game, false);
+        // first shot is always P1's; flipping its attacker bit makes it out of turn
+        int firstShot = data.length - 1 - game.getShotCount();
+        data[firstShot] ^= (byte) 0x80;
+
+        assertThatThrownBy(() -> gameService.importReplay(data))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Not your turn");
+    }
+
+    @Test
+    @DisplayName("Should refuse names too long for the u16 length, at creation and when encoding")
+    void testRejectLongNames() {
+        var longest = "é".repeat(ReplayCodec.MAX_NAME_BYTES / 2) + "x";
+        var game = gameService.createGame(longest, "Bob");
+        assertThat(gameService.importReplay(ReplayCodec.encode(game, false)).getPlayerName(Player.P1)).isEqualTo(longest);
+
+        var tooLong = longest + "x";
+        assertThatThrownBy(() -> gameService.createGame("Alice", tooLong))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Player name longer than");
+        game.setPlayerName(Player.P2, tooLong);
+        assertThatThrownBy(() -> ReplayCodec.encode(game, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Name longer than");
+    }
+
+    // Plays a full game: both players sweep the board with a stride coprime to 100
+    private Game playedGame(int seed) {
+        var game = gameService.createGame("Alice", "Bob");
+        gameService.randomPlacement(game, Player.P1);
+        gameService.randomPlacement(game, Player.P2);
+
+        int[] next = new int[2];
+        while (game.getState() != GameState.FINISHED) {
+            var p = game.getState() == GameState.TURN_P1 ? Player.P1 : Player.P2;
+            var target = game.getOpponentBoard(p).getGrid();
+            int cell;
+            do {
+                cell = (next[p.ordinal()]++ * seed) % (Board.SIZE * Board.SIZE);
+            } while (target[cell / Board.SIZE][cell % Board.SIZE] != CellState.EMPTY
+                    && target[cell / Board.SIZE][cell % Board.SIZE] != CellState.SHIP);
+            gameService.fire(game, new FireRequest(p, cell / Board.SIZE, cell % Board.SIZE));
+        }
+        return game;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.battleship.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+    private static final long TICK = 10;
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final List<Probe> fired = new ArrayList<>();
+    private final TimingWheel<Probe> wheel = new TimingWheel<>(TICK, clock::get, p -> {
+        p.firedAt = clock.get();
+        p.fires++;
+        fired.add(p);
+    });
+
+    // ========== EXPIRY TESTS ==========
+
+    @Test
+    @DisplayName("Should fire on the first tick at or after the deadline, never before")
+    void testFiresOnTime() {
+        var p = new Probe();
+        wheel.schedule(p, 1_105);
+
+        assertThat(advanceTo(1_100)).isZero();
+        assertThat(advanceTo(1_109)).isZero();
+        assertThat(advanceTo(1_110)).isEqualTo(1);
+        assertThat(p.firedAt).isEqualTo(1_110);
+        assertThat(advanceTo(5_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fire a timer that is already due on the next advance")
+    void testAlreadyDue() {
+        var p = new Probe();
+        advanceTo(2_000);
+        wheel.schedule(p, 1_500);
+
+        assertThat(wheel.advance()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should honour the latest deadline when pushed back while armed")
+    void testPushBack() {
+        var p = new Probe();
+        wheel.schedule(p, 1_050);
+        advanceTo(1_020);
+        for (long d = 1_100; d <= 1_900; d += 100) wheel.schedule(p, d);
+
+        assertThat(advanceTo(1_890)).isZero();
+        assertThat(advanceTo(1_900)).isEqualTo(1);
+        assertThat(p.fires).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop cancelled timers and arm them again when rescheduled")
+    void testCancel() {
+        var p = new Probe();
+        wheel.schedule(p, 1_100);
+        wheel.cancel(p);
+
+        assertThat(advanceTo(2_000)).isZero();
+        wheel.schedule(p, 2_500);
+        assertThat(advanceTo(2_500)).isEqualTo(1);
+        assertThat(p.deadline()).isEqualTo(2_500);
+    }
+
+    // ========== CASCADE TESTS ==========
+
+    @Test
+    @DisplayName("Should fire timers across every level and past the horizon exactly once and in time")
+    void testLevels() {
+        var rnd = new SplittableRandom(3);
+        var probes = new ArrayList<Probe>();
+        // up to 2^26 ticks: the top level holds 2^24, so some go round it more than once
+        for (int i = 0; i < 20_000; i++) {
+            var p = new Probe();
+            p.due = 1_000 + rnd.nextLong(TICK << 26);
+            wheel.schedule(p, p.due);
+            probes.add(p);
+        }
+
+        long now = 1_000;
+        while (fired.size() < probes.size() && now < 1_000 + (TICK << 27)) {
+            now += 1 + rnd.nextLong(TICK << 12);
+            advanceTo(now);
+        }
+
+        assertThat(fired).hasSameSizeAs(probes);
+        for (var p : probes) {
+            assertThat(p.fires).isEqualTo(1);
+            assertThat(p.firedAt).isGreaterThanOrEqualTo(p.due);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a million armed timers and push each back without allocating")
+    void testMillionTimers() {
+        var probes = new Probe[1_000_000];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = new Probe();
+            wheel.schedule(probes[i], 1_000 + TICK * (1 + i % 5_000));
+        }
+        wheel.advance();
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (var p : probes) wheel.schedule(p, p.deadline() + TICK * 10_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(allocated).isLessThan(probes.length);
+        assertThat(advanceTo(1_000 + TICK * 10_000)).isZero();
+        assertThat(advanceTo(1_000 + TICK * 15_000)).isEqualTo(probes.length);
+    }
+
+    // ========== CONCURRENCY TESTS ==========
+
+    @Test
+    @DisplayName("Should file timers scheduled from other threads while advancing")
+    void testConcurrentSchedule() throws Exception {
+        var probes = new Probe[40_000];
+        for (int i = 0; i < probes.length; i++) probes[i] = new Probe();
+        var workers = new Thread[4];
+        for (int w = 0; w < workers.length; w++) {
+            int from = w * probes.length / workers.length, to = (w + 1) * probes.length / workers.length;
+            workers[w] = Thread.ofPlatform().start(() -> {
+                for (int i = from; i < to; i++) {
+                    wheel.schedule(probes[i], 1_000 + TICK * (i % 700));
+                    // push back half of them once more
+                    if (i % 2 == 0) wheel.schedule(probes[i], 1_000 + TICK * 800);
+                }
+            });
+        }
+        long now = 1_000;
+        while (anyAlive(workers)) advanceTo(now += TICK);
+        for (var w : workers) w.join();
+        advanceTo(Math.max(now, 1_000 + TICK * 800));
+
+        for (int i = 0; i < probes.length; i++) {
+            // one pushed back after its first deadline came round is armed again, and fires again
+            assertThat(probes[i].fires).isBetween(1, i % 2 == 0 ? 2 : 1);
+            assertThat(probes[i].firedAt).isGreaterThanOrEqualTo(probes[i].deadline());
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private int advanceTo(long time) {
+        clock.set(time);
+        return wheel.advance();
+    }
+
+    private static boolean anyAlive(Thread[] threads) {
+        for (var t : threads) if (t.isAlive()) return true;
+        return false;
+    }
+
+    private static final class Probe extends TimingWheel.Timer {
+        long due;
+        long firedAt;
+        int fires;
+    }
+}
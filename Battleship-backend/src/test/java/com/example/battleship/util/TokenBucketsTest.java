@@ -0,0 +1,91 @@
+package com.example.battleship.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenBuckets Tests")
+class TokenBucketsTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    @DisplayName("Should admit a full burst, then one request per interval")
+    void testBurstAndRefill() {
+        var buckets = new TokenBuckets(10, 5, 16, now::get);
+
+        for (int i = 0; i < 5; i++) assertThat(buckets.tryAcquire("a")).isZero();
+        assertThat(buckets.tryAcquire("a")).isEqualTo(SECOND / 10);
+
+        now.addAndGet(SECOND / 10);
+        assertThat(buckets.tryAcquire("a")).isZero();
+        assertThat(buckets.tryAcquire("a")).isPositive();
+
+        // idle for long enough refills the whole burst, and no more
+        now.addAndGet(10 * SECOND);
+        for (int i = 0; i < 5; i++) assertThat(buckets.tryAcquire("a")).isZero();
+        assertThat(buckets.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep keys independent")
+    void testKeysIndependent() {
+        var buckets = new TokenBuckets(1, 1, 16, now::get);
+
+        assertThat(buckets.tryAcquire("a")).isZero();
+        assertThat(buckets.tryAcquire("a")).isPositive();
+        assertThat(buckets.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stay bounded and prefer evicting idle buckets")
+    void testEviction() {
+        var buckets = new TokenBuckets(1, 2, 4, now::get);
+
+        for (int i = 0; i < 1000; i++) buckets.tryAcquire("client-" + i);
+        assertThat(buckets.getEvictions()).isGreaterThanOrEqualTo(1000 - 4);
+
+        // "a", "d" and "e" share a slot pair in a four-slot table
+        var small = new TokenBuckets(1, 2, 4, now::get);
+        small.tryAcquire("d");
+        now.addAndGet(10 * SECOND);
+        small.tryAcquire("a");
+        small.tryAcquire("a");
+        assertThat(small.tryAcquire("a")).isPositive();
+
+        // the newcomer takes the idle slot, so "a" keeps its debt
+        small.tryAcquire("e");
+        assertThat(small.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should admit exactly the burst under contention")
+    void testConcurrentAcquire() throws Exception {
+        var buckets = new TokenBuckets(1, 100, 16, now::get);
+        var admitted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        try (var pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < 1000; i++)
+                        if (buckets.tryAcquire("shared") == 0) admitted.incrementAndGet();
+                });
+            }
+            start.countDown();
+        }
+        assertThat(admitted.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.battleship.domain;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.LongFunction;
+
+// One game's state. Commands and readers coordinate through a sequence number (a seqlock) instead of a
+// lock; see "Concurrent updates" in the README.
+public class Game {
+    private static final VarHandle SEQ;
+
+    static {
+        try {
+            SEQ = MethodHandles.lookup().findVarHandle(Game.class, "seq", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String id;
+    private final Board p1Board = new Board();
+    private final Board p2Board = new Board();
+    private GameState state = GameState.PLACING_P1;
+    private Player winner = null;
+    private String p1Name = "Player 1";
+    private String p2Name = "Player 2";
+
+    // shot log, one byte per resolved shot: attacker in the high bit, cell index (row * SIZE + col) below
+    private final byte[] shots = new byte[2 * Board.SIZE * Board.SIZE];
+    private int shotCount = 0;
+    private volatile long seq;
+
+    public Game(String id) { this.id = id; }
+
+    public String getId() { return id; }
+    public Board getBoard(Player p) { return p == Player.P1 ? p1Board : p2Board; }
+    public Board getOpponentBoard(Player p) { return p == Player.P1 ? p2Board : p1Board; }
+    public GameState getState() { return state; }
+    public void setState(GameState s) { state = s; }
+    public Player getWinner() { return winner; }
+    public void setWinner(Player w) { winner = w; }
+
+    public String getPlayerName(Player p) { return p == Player.P1 ? p1Name : p2Name; }
+    public void setPlayerName(Player p, String name) { if (p==Player.P1) p1Name=name; else p2Name=name; }
+
+    // Number of committed changes; during a change this is still the version it started from
+    public long getVersion() { return seq >>> 1; }
+
+    // For a game rebuilt from storage, before anything else can see it: resume at the version it had
+    public void restoreVersion(long version) { seq = version << 1; }
+
+    // Claims the game for a change if it is idle at `version`; pair with endUpdate
+    public boolean tryBeginUpdate(long version) {
+        return version >= 0 && SEQ.compareAndSet(this, version << 1, (version << 1) + 1);
+    }
+
+    // Releases the claim: one version later if the game changed, at the same version if it did not
+    public void endUpdate(boolean changed) {
+        SEQ.setRelease(this, changed ? seq + 1 : seq - 1);
+    }
+
+    // Version to read at, once no change is in progress; copy the state, then check validateRead
+    public long beginRead() {
+        long s;
+        for (int spins = 0; ((s = seq) & 1) != 0; spins++) {
+            if (spins < 100) Thread.onSpinWait();
+            else Thread.yield();
+        }
+        return s >>> 1;
+    }
+
+    // True when nothing changed since beginRead returned `version`, so what was read is consistent
+    public boolean validateRead(long version) {
+        VarHandle.acquireFence();
+        return seq == version << 1;
+    }
+
+    // Runs `reader` at one version until no change overlaps it; a reader that throws on a half-changed game
+    // is run again, one that throws on a stable game rethrows
+    public <T> T read(LongFunction<T> reader) {
+        while (true) {
+            long version = beginRead();
+            T value;
+            try {
+                value = reader.apply(version);
+            } catch (RuntimeException e) {
+                if (validateRead(version)) throw e;
+                continue;
+            }
+            if (validateRead(version)) return value;
+        }
+    }
+
+    public void recordShot(Player attacker, int row, int col) {
+        shots[shotCount++] = (byte) ((attacker == Player.P2 ? 0x80 : 0) | (row * Board.SIZE + col));
+    }
+    public int getShotCount() { return shotCount; }
+    public Player getShotPlayer(int i) { return (shots[i] & 0x80) != 0 ? Player.P2 : Player.P1; }
+    public int getShotRow(int i) { return (shots[i] & 0x7F) / Board.SIZE; }
+    public int getShotCol(int i) { return (shots[i] & 0x7F) % Board.SIZE; }
+}
@@ -0,0 +1,31 @@
+package com.example.battleship.domain;
+
+import java.util.List;
+
+public class Ship {
+    private final ShipType type;
+    private final List<Coord> cells;
+    // bit i set when cells.get(i) has been hit
+    private int hits;
+
+    public Ship(ShipType type, List<Coord> cells) {
+        this.type = type;
+        this.cells = List.copyOf(cells);
+    }
+    public ShipType getType() { return type; }
+    public List<Coord> getCells() { return cells; }
+
+    public boolean registerHit(Coord c) { return registerHit(c.row(), c.col()); }
+
+    public boolean registerHit(int row, int col) {
+        for (int i = 0; i < cells.size(); i++) {
+            var c = cells.get(i);
+            if (c.row() == row && c.col() == col) {
+                hits |= 1 << i;
+                return true;
+            }
+        }
+        return false;
+    }
+    public boolean isSunk() { return Integer.bitCount(hits) == cells.size(); }
+}
@@ -0,0 +1,165 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.domain.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// The game rules: ship placement, shot resolution and state transitions. Static, lock-free (one thread
+// per game at a time) and allocation-free per move apart from the placed Ship; see the README.
+public final class GameEngine {
+    public static final int FLEET_SIZE = ShipType.values().length;
+
+    // shot result layout: bit 0 hit, bit 1 sunk, bit 2 game won, bits 3-5 sunk ship type,
+    // bit 6 cell already resolved (nothing changed); negative values are -(violation ordinal + 1)
+    private static final int HIT = 1, SUNK = 2, WON = 4, TYPE_SHIFT = 3, REPEAT = 1 << 6;
+    private static final RuleViolation[] VIOLATIONS = RuleViolation.values();
+    private static final ShipType[] TYPES = ShipType.values();
+
+    private GameEngine() {}
+
+    // Places one ship; null when placed
+    public static RuleViolation placeShip(Game game, Player player, ShipType type, int row, int col, Orientation o) {
+        var v = checkPlacingPhase(game, player);
+        if (v != null) return v;
+        var board = game.getBoard(player);
+        if (!canPlace(board, row, col, o, type.length)) return RuleViolation.INVALID_PLACEMENT;
+
+        addShip(board, type, row, col, o);
+        if (board.getShips().size() == FLEET_SIZE) advancePlacing(game);
+        return null;
+    }
+
+    // Replaces the player's fleet with a random legal one; null when placed
+    public static RuleViolation randomPlacement(Game game, Player player, RandomGenerator rnd) {
+        var v = checkPlacingPhase(game, player);
+        if (v != null) return v;
+        var board = game.getBoard(player);
+        board.getShips().clear();
+        for (var row : board.getGrid()) Arrays.fill(row, CellState.EMPTY);
+
+        for (var type : TYPES) {
+            boolean placed = false;
+            for (int tries = 0; tries < 500 && !placed; tries++) {
+                var o = rnd.nextBoolean() ? Orientation.HORIZONTAL : Orientation.VERTICAL;
+                int row = rnd.nextInt(Board.SIZE);
+                int col = rnd.nextInt(Board.SIZE);
+                if (canPlace(board, row, col, o, type.length)) {
+                    addShip(board, type, row, col, o);
+                    placed = true;
+                }
+            }
+            if (!placed) return RuleViolation.RANDOM_PLACEMENT_FAILED;
+        }
+        advancePlacing(game);
+        return null;
+    }
+
+    // Resolves a shot and advances the turn; returns a packed result (see isHit, isSunk, ...)
+    public static int fire(Game game, Player attacker, int row, int col) {
+        if (game.getState() != (attacker == Player.P1 ? GameState.TURN_P1 : GameState.TURN_P2))
+            return reject(RuleViolation.NOT_YOUR_TURN);
+        var board = game.getOpponentBoard(attacker);
+        if (!board.inBounds(row, col)) return reject(RuleViolation.OUT_OF_BOUNDS);
+
+        var grid = board.getGrid();
+        var st = grid[row][col];
+        if (st == CellState.HIT) return reject(RuleViolation.CELL_ALREADY_TARGETED);
+        // firing at a resolved miss or sunk ship is accepted but changes nothing, not even the turn
+        if (st == CellState.MISS || st == CellState.SUNK) return REPEAT;
+
+        int result = 0;
+        if (st == CellState.SHIP) {
+            result = HIT;
+            grid[row][col] = CellState.HIT;
+            var ships = board.getShips();
+            for (int i = 0; i < ships.size(); i++) {
+                var ship = ships.get(i);
+                if (ship.registerHit(row, col)) {
+                    if (ship.isSunk()) {
+                        result |= SUNK | ship.getType().ordinal() << TYPE_SHIFT;
+                        var cells = ship.getCells();
+                        for (int j = 0; j < cells.size(); j++) grid[cells.get(j).row()][cells.get(j).col()] = CellState.SUNK;
+                    }
+                    break;
+                }
+            }
+        } else {
+            grid[row][col] = CellState.MISS;
+        }
+        game.recordShot(attacker, row, col);
+
+        if ((result & SUNK) != 0 && allSunk(board)) {
+            game.setWinner(attacker);
+            game.setState(GameState.FINISHED);
+            return result | WON;
+        }
+        game.setState(attacker == Player.P1 ? GameState.TURN_P2 : GameState.TURN_P1);
+        return result;
+    }
+
+    // Ends the game in whatever phase it is in, the loser's opponent winning; null when done
+    public static RuleViolation forfeit(Game game, Player loser) {
+        if (game.getState() == GameState.FINISHED) return RuleViolation.GAME_OVER;
+        game.setWinner(loser == Player.P1 ? Player.P2 : Player.P1);
+        game.setState(GameState.FINISHED);
+        return null;
+    }
+
+    public static boolean isRejected(int result) { return result < 0; }
+    public static RuleViolation violation(int result) { return result < 0 ? VIOLATIONS[-result - 1] : null; }
+    public static boolean isHit(int result) { return result > 0 && (result & HIT) != 0; }
+    public static boolean isSunk(int result) { return result > 0 && (result & SUNK) != 0; }
+    public static boolean isWin(int result) { return result > 0 && (result & WON) != 0; }
+    // true when the cell was already resolved and the shot changed nothing
+    public static boolean isRepeat(int result) { return result > 0 && (result & REPEAT) != 0; }
+
+    public static ShipType sunkType(int result) {
+        return isSunk(result) ? TYPES[(result >> TYPE_SHIFT) & 7] : null;
+    }
+
+    // Bounds and no-touch rule for a ship covering len cells from (row, col)
+    public static boolean canPlace(Board b, int row, int col, Orientation o, int len) {
+        int endRow = o == Orientation.HORIZONTAL ? row : row + len - 1;
+        int endCol = o == Orientation.HORIZONTAL ? col + len - 1 : col;
+        if (!b.inBounds(row, col) || !b.inBounds(endRow, endCol)) return false;
+
+        // no ship in the ship's cells or any cell around them
+        var grid = b.getGrid();
+        for (int r = Math.max(0, row - 1); r <= Math.min(Board.SIZE - 1, endRow + 1); r++)
+            for (int c = Math.max(0, col - 1); c <= Math.min(Board.SIZE - 1, endCol + 1); c++)
+                if (grid[r][c] == CellState.SHIP) return false;
+        return true;
+    }
+
+    private static void addShip(Board board, ShipType type, int row, int col, Orientation o) {
+        var cells = new ArrayList<Coord>(type.length);
+        for (int i = 0; i < type.length; i++) {
+            int r = o == Orientation.HORIZONTAL ? row : row + i;
+            int c = o == Orientation.HORIZONTAL ? col + i : col;
+            cells.add(new Coord(r, c));
+            board.getGrid()[r][c] = CellState.SHIP;
+        }
+        board.getShips().add(new Ship(type, cells));
+    }
+
+    private static boolean allSunk(Board board) {
+        var ships = board.getShips();
+        for (int i = 0; i < ships.size(); i++) if (!ships.get(i).isSunk()) return false;
+        return true;
+    }
+
+    private static RuleViolation checkPlacingPhase(Game game, Player player) {
+        if (player == Player.P1 && game.getState() != GameState.PLACING_P1) return RuleViolation.NOT_IN_PLACING_P1;
+        if (player == Player.P2 && game.getState() != GameState.PLACING_P2) return RuleViolation.NOT_IN_PLACING_P2;
+        return null;
+    }
+
+    private static void advancePlacing(Game game) {
+        if (game.getState() == GameState.PLACING_P1) game.setState(GameState.PLACING_P2);
+        else if (game.getState() == GameState.PLACING_P2) game.setState(GameState.TURN_P1);
+    }
+
+    private static int reject(RuleViolation v) { return -(v.ordinal() + 1); }
+}
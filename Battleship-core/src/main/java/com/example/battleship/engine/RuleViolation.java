@@ -0,0 +1,13 @@
+package com.example.battleship.engine;
+
+// Why the engine refused a move
+public enum RuleViolation {
+    NOT_IN_PLACING_P1,
+    NOT_IN_PLACING_P2,
+    INVALID_PLACEMENT,
+    RANDOM_PLACEMENT_FAILED,
+    NOT_YOUR_TURN,
+    OUT_OF_BOUNDS,
+    CELL_ALREADY_TARGETED,
+    GAME_OVER
+}
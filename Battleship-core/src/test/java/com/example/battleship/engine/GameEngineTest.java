@@ -0,0 +1,210 @@
+package com.example.battleship.engine;
+
+import com.example.battleship.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GameEngine Tests")
+class GameEngineTest {
+    private static final Player[] PLAYERS = Player.values();
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game("g");
+    }
+
+    // ========== PLACEMENT TESTS ==========
+    @Test
+    @DisplayName("Should place a ship and mark its cells")
+    void testPlaceShip() {
+        assertThat(GameEngine.placeShip(game, Player.P1, ShipType.CARRIER, 0, 0, Orientation.HORIZONTAL)).isNull();
+
+        var board = game.getBoard(Player.P1);
+        assertThat(board.getShips()).hasSize(1);
+        for (int c = 0; c < 5; c++) assertThat(board.getGrid()[0][c]).isEqualTo(CellState.SHIP);
+        assertThat(board.getGrid()[0][5]).isEqualTo(CellState.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should reject out of bounds, touching and out of phase placements")
+    void testPlacementViolations() {
+        GameEngine.placeShip(game, Player.P1, ShipType.CARRIER, 0, 0, Orientation.HORIZONTAL);
+
+        assertThat(GameEngine.placeShip(game, Player.P1, ShipType.DESTROYER, 9, 9, Orientation.HORIZONTAL))
+                .isEqualTo(RuleViolation.INVALID_PLACEMENT);
+        assertThat(GameEngine.placeShip(game, Player.P1, ShipType.DESTROYER, 1, 5, Orientation.VERTICAL))
+                .isEqualTo(RuleViolation.INVALID_PLACEMENT);
+        assertThat(GameEngine.placeShip(game, Player.P2, ShipType.DESTROYER, 5, 5, Orientation.VERTICAL))
+                .isEqualTo(RuleViolation.NOT_IN_PLACING_P2);
+        assertThat(game.getBoard(Player.P1).getShips()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should advance to the next phase after a full fleet")
+    void testPhaseTransitions() {
+        placeFleet(Player.P1);
+        assertThat(game.getState()).isEqualTo(GameState.PLACING_P2);
+
+        assertThat(GameEngine.randomPlacement(game, Player.P2, new SplittableRandom(1))).isNull();
+        assertThat(game.getBoard(Player.P2).getShips()).hasSize(GameEngine.FLEET_SIZE);
+        assertThat(game.getState()).isEqualTo(GameState.TURN_P1);
+    }
+
+    // ========== FIRE TESTS ==========
+    @Test
+    @DisplayName("Should report a miss and pass the turn")
+    void testMiss() {
+        startGame();
+
+        int result = GameEngine.fire(game, Player.P1, 9, 9);
+
+        assertThat(GameEngine.isRejected(result)).isFalse();
+        assertThat(GameEngine.isHit(result)).isFalse();
+        assertThat(game.getBoard(Player.P2).getGrid()[9][9]).isEqualTo(CellState.MISS);
+        assertThat(game.getState()).isEqualTo(GameState.TURN_P2);
+        assertThat(game.getShotCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report hits, the sunk ship type and the win")
+    void testSinkAndWin() {
+        startGame();
+
+        int result = GameEngine.fire(game, Player.P1, 8, 0);
+        assertThat(GameEngine.isHit(result)).isTrue();
+        assertThat(GameEngine.isSunk(result)).isFalse();
+        assertThat(GameEngine.sunkType(result)).isNull();
+
+        GameEngine.fire(game, Player.P2, 9, 9);
+        result = GameEngine.fire(game, Player.P1, 8, 1);
+        assertThat(GameEngine.isSunk(result)).isTrue();
+        assertThat(GameEngine.sunkType(result)).isEqualTo(ShipType.DESTROYER);
+        assertThat(game.getBoard(Player.P2).getGrid()[8][0]).isEqualTo(CellState.SUNK);
+
+        // sink the rest of P2's fleet while P2 keeps missing
+        int misses = 0;
+        for (int row = 0; row < 8; row += 2) {
+            for (int col = 0; col < 5 && game.getState() != GameState.FINISHED; col++) {
+                if (game.getBoard(Player.P2).getGrid()[row][col] != CellState.SHIP) continue;
+                GameEngine.fire(game, Player.P2, 1 + 2 * (misses / 10), misses++ % 10);
+                result = GameEngine.fire(game, Player.P1, row, col);
+            }
+        }
+        assertThat(GameEngine.isWin(result)).isTrue();
+        assertThat(game.getState()).isEqualTo(GameState.FINISHED);
+        assertThat(game.getWinner()).isEqualTo(Player.P1);
+    }
+
+    @Test
+    @DisplayName("Should reject shots out of turn, out of bounds and at hit cells")
+    void testFireViolations() {
+        startGame();
+
+        assertThat(GameEngine.violation(GameEngine.fire(game, Player.P2, 0, 0))).isEqualTo(RuleViolation.NOT_YOUR_TURN);
+        assertThat(GameEngine.violation(GameEngine.fire(game, Player.P1, 10, 0))).isEqualTo(RuleViolation.OUT_OF_BOUNDS);
+
+        GameEngine.fire(game, Player.P1, 0, 0);
+        GameEngine.fire(game, Player.P2, 0, 0);
+        assertThat(GameEngine.violation(GameEngine.fire(game, Player.P1, 0, 0)))
+                .isEqualTo(RuleViolation.CELL_ALREADY_TARGETED);
+    }
+
+    @Test
+    @DisplayName("Should accept a repeat shot at a miss without changing anything")
+    void testRepeatMiss() {
+        startGame();
+        GameEngine.fire(game, Player.P1, 9, 9);
+        GameEngine.fire(game, Player.P2, 9, 9);
+
+        int result = GameEngine.fire(game, Player.P1, 9, 9);
+
+        assertThat(GameEngine.isRejected(result)).isFalse();
+        assertThat(GameEngine.isRepeat(result)).isTrue();
+        assertThat(GameEngine.isHit(result)).isFalse();
+        assertThat(game.getState()).isEqualTo(GameState.TURN_P1);
+        assertThat(game.getShotCount()).isEqualTo(2);
+    }
+
+    // ========== FORFEIT TESTS ==========
+    @Test
+    @DisplayName("Should end the game for the opponent in any phase, but only once")
+    void testForfeit() {
+        assertThat(GameEngine.forfeit(game, Player.P1)).isNull();
+        assertThat(game.getState()).isEqualTo(GameState.FINISHED);
+        assertThat(game.getWinner()).isEqualTo(Player.P2);
+        assertThat(GameEngine.forfeit(game, Player.P2)).isEqualTo(RuleViolation.GAME_OVER);
+        assertThat(game.getWinner()).isEqualTo(Player.P2);
+
+        var playing = new Game("g2");
+        GameEngine.randomPlacement(playing, Player.P1, new SplittableRandom(1));
+        GameEngine.randomPlacement(playing, Player.P2, new SplittableRandom(2));
+        GameEngine.fire(playing, Player.P1, 0, 0);
+        assertThat(GameEngine.forfeit(playing, Player.P2)).isNull();
+        assertThat(playing.getWinner()).isEqualTo(Player.P1);
+        assertThat(GameEngine.violation(GameEngine.fire(playing, Player.P2, 0, 0))).isEqualTo(RuleViolation.NOT_YOUR_TURN);
+    }
+
+    // ========== ALLOCATION TESTS ==========
+    @Test
+    @DisplayName("Should resolve every kind of shot without allocating")
+    void testFireAllocatesNothing() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var rnd = new SplittableRandom(3);
+        var games = new Game[60];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new Game("g" + i);
+            GameEngine.randomPlacement(games[i], Player.P1, rnd);
+            GameEngine.randomPlacement(games[i], Player.P2, rnd);
+        }
+        // the first games load and initialize whatever the shot path touches
+        int warmUp = 10;
+        for (int i = 0; i < warmUp; i++) playOut(games[i]);
+
+        long overhead = threads.getCurrentThreadAllocatedBytes();
+        overhead = threads.getCurrentThreadAllocatedBytes() - overhead;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int shots = 0;
+        for (int i = warmUp; i < games.length; i++) shots += playOut(games[i]);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+
+        assertThat(shots).isGreaterThan(1_000);
+        assertThat(allocated).isZero();
+    }
+
+    // Sweeps both boards cell by cell with a rejected and a repeated shot each turn; returns calls made
+    private static int playOut(Game g) {
+        int calls = 0;
+        for (int cell = 0; g.getState() != GameState.FINISHED; cell++) {
+            int row = cell / Board.SIZE, col = cell % Board.SIZE;
+            for (var p : PLAYERS) {
+                if (g.getState() == GameState.FINISHED) break;
+                GameEngine.fire(g, p, -1, col);
+                GameEngine.fire(g, p, row, col);
+                GameEngine.fire(g, p, row, col);
+                calls += 3;
+            }
+        }
+        return calls;
+    }
+
+    // Ships on rows 0, 2, 4, 6, 8 starting at column 0, longest first
+    private void placeFleet(Player p) {
+        int row = 0;
+        for (var type : ShipType.values()) {
+            assertThat(GameEngine.placeShip(game, p, type, row, 0, Orientation.HORIZONTAL)).isNull();
+            row += 2;
+        }
+    }
+
+    private void startGame() {
+        placeFleet(Player.P1);
+        placeFleet(Player.P2);
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.battleship.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Plays complete games against a running backend, many at once, and reports latency per endpoint. See the
+// README for what a game does and the options:
+//   java -jar Battleship-loadgen/target/battleship-loadgen.jar --url=http://localhost:8080 --concurrency=200 --games=5000
+public class LoadGenerator {
+    static final String[] ENDPOINTS = {"create", "random-placement", "fire", "view"};
+    private static final int CELLS = 100;
+    private static final int MAX_RETRY_AFTER_SECONDS = 5;
+
+    private final HttpClient client;
+    private final String[] bases;
+    private final boolean spread;
+    private final AtomicInteger nextNode = new AtomicInteger();
+    private final int viewsPerFire;
+    private final Map<String, Endpoint> stats = new LinkedHashMap<>();
+    private final AtomicLong gamesFinished = new AtomicLong();
+    private final AtomicLong gamesAbandoned = new AtomicLong();
+
+    LoadGenerator(HttpClient client, String url, int viewsPerFire) {
+        this(client, url, viewsPerFire, false);
+    }
+
+    LoadGenerator(HttpClient client, String urls, int viewsPerFire, boolean spread) {
+        this.client = client;
+        this.bases = Arrays.stream(urls.split(",")).map(u -> u.trim().replaceAll("/+$", "") + "/api/game")
+                .toArray(String[]::new);
+        this.spread = spread;
+        this.viewsPerFire = viewsPerFire;
+        for (var e : ENDPOINTS) stats.put(e, new Endpoint());
+    }
+
+    public static void main(String[] args) throws Exception {
+        var opts = parse(args);
+        var url = opts.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "100"));
+        int games = Integer.parseInt(opts.getOrDefault("games", "1000"));
+        int warmupGames = Integer.parseInt(opts.getOrDefault("warmup-games", "100"));
+        int viewsPerFire = Integer.parseInt(opts.getOrDefault("views-per-fire", "1"));
+        boolean spread = Boolean.parseBoolean(opts.getOrDefault("spread", "false"));
+        var out = Path.of(opts.getOrDefault("out",
+                "loadgen-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv"));
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var client = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(10)).build();
+            if (warmupGames > 0) {
+                System.out.printf("warming up with %d games...%n", warmupGames);
+                new LoadGenerator(client, url, viewsPerFire, spread).run(Math.min(concurrency, warmupGames), warmupGames);
+            }
+
+            var gen = new LoadGenerator(client, url, viewsPerFire, spread);
+            System.out.printf("playing %d games against %s, %d at a time%n", games, url, concurrency);
+            long elapsed = gen.run(concurrency, games);
+
+            var config = new LinkedHashMap<String, String>();
+            config.put("url", url);
+            config.put("concurrency", Integer.toString(concurrency));
+            config.put("games", Integer.toString(games));
+            config.put("views-per-fire", Integer.toString(viewsPerFire));
+            config.put("spread", Boolean.toString(spread));
+            config.put("date", LocalDateTime.now().toString());
+            gen.report(System.out, elapsed);
+            Files.writeString(out, gen.csv(config, elapsed));
+            System.out.printf("results written to %s%n", out);
+
+            if (opts.containsKey("baseline"))
+                compare(System.out, Files.readAllLines(Path.of(opts.get("baseline"))), gen.csv(config, elapsed).lines().toList());
+        }
+    }
+
+    // Plays `games` games with `concurrency` of them in flight; returns the elapsed nanoseconds
+    long run(int concurrency, int games) throws InterruptedException {
+        var remaining = new AtomicInteger(games);
+        long t0 = System.nanoTime();
+        try (var players = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                players.execute(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        try {
+                            playGame();
+                            gamesFinished.incrementAndGet();
+                        } catch (GameAbandoned | IOException e) {
+                            gamesAbandoned.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+        return System.nanoTime() - t0;
+    }
+
+    private void playGame() throws IOException, InterruptedException {
+        var rnd = ThreadLocalRandom.current();
+        int home = Math.floorMod(nextNode.getAndIncrement(), bases.length);
+        var created = call("create", post(bases[home] + "?p1=loadgen-a&p2=loadgen-b", null));
+        var id = field(created, "gameId");
+        call("random-placement", post(base(home, rnd) + "/" + id + "/random-placement", "{\"player\":\"P1\"}"));
+        call("random-placement", post(base(home, rnd) + "/" + id + "/random-placement", "{\"player\":\"P2\"}"));
+
+        // each player fires at its own shuffled order of cells, so no cell is tried twice
+        int[][] order = {shuffledCells(rnd), shuffledCells(rnd)};
+        int[] next = new int[2];
+        for (int turn = 0; ; turn ^= 1) {
+            if (next[turn] == CELLS) throw new GameAbandoned();
+            int cell = order[turn][next[turn]++];
+            var player = turn == 0 ? "P1" : "P2";
+            var fired = call("fire", post(base(home, rnd) + "/" + id + "/fire",
+                    "{\"player\":\"" + player + "\",\"row\":" + cell / 10 + ",\"col\":" + cell % 10 + "}"));
+            if ("FINISHED".equals(field(fired, "nextState"))) return;
+            for (int v = 0; v < viewsPerFire; v++)
+                call("view", HttpRequest.newBuilder(URI.create(base(home, rnd) + "/" + id + "?viewer=" + player)).build());
+        }
+    }
+
+    // The node that created the game, or with --spread any node
+    private String base(int home, Random rnd) {
+        return bases[spread ? rnd.nextInt(bases.length) : home];
+    }
+
+    private String call(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        var ep = stats.get(endpoint);
+        for (;;) {
+            long t0 = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                ep.errors.incrementAndGet();
+                throw e;
+            }
+            long nanos = System.nanoTime() - t0;
+            int status = response.statusCode();
+            // refused requests are counted, not timed, so percentiles describe requests the server served
+            if (status == 429) {
+                ep.rejected.incrementAndGet();
+                long wait = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(Duration.ofSeconds(Math.min(wait, MAX_RETRY_AFTER_SECONDS)));
+                continue;
+            }
+            ep.latency.record(nanos);
+            if (status >= 400) {
+                ep.errors.incrementAndGet();
+                throw new GameAbandoned();
+            }
+            return response.body();
+        }
+    }
+
+    void report(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n%d games finished, %d abandoned in %.1f s (%.1f games/s)%n",
+                gamesFinished.get(), gamesAbandoned.get(), seconds, gamesFinished.get() / seconds);
+        out.printf("%-17s %10s %10s %8s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "429s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (var e : stats.entrySet()) {
+            var s = e.getValue();
+            var h = s.latency;
+            out.printf("%-17s %10d %10.1f %8d %8d %10.2f %10.2f %10.2f %10.2f%n", e.getKey(), h.count(),
+                    h.count() / seconds, s.errors.get(), s.rejected.get(),
+                    h.percentile(0.50) / 1e6, h.percentile(0.99) / 1e6, h.percentile(0.999) / 1e6, h.max() / 1e6);
+        }
+    }
+
+    // Config as "# key=value" lines, then one row per endpoint; latencies in microseconds
+    String csv(Map<String, String> config, long elapsedNanos) {
+        var sb = new StringBuilder();
+        config.forEach((k, v) -> sb.append("# ").append(k).append('=').append(v).append('\n'));
+        double seconds = elapsedNanos / 1e9;
+        sb.append(String.format(Locale.ROOT, "# games_finished=%d%n# games_per_second=%.2f%n",
+                gamesFinished.get(), gamesFinished.get() / seconds));
+        sb.append("endpoint,requests,rps,errors,rejected,mean_us,p50_us,p99_us,p999_us,max_us\n");
+        for (var e : stats.entrySet()) {
+            var s = e.getValue();
+            var h = s.latency;
+            sb.append(String.format(Locale.ROOT, "%s,%d,%.1f,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f%n", e.getKey(),
+                    h.count(), h.count() / seconds, s.errors.get(), s.rejected.get(), h.mean() / 1e3,
+                    h.percentile(0.50) / 1e3, h.percentile(0.99) / 1e3, h.percentile(0.999) / 1e3, h.max() / 1e3));
+        }
+        return sb.toString();
+    }
+
+    // Prints throughput and percentile changes of `current` relative to `baseline`, both in csv() format
+    static void compare(PrintStream out, List<String> baseline, List<String> current) {
+        var before = rows(baseline);
+        var after = rows(current);
+        out.printf("%nchange against baseline (negative latency change is better)%n");
+        out.printf("%-17s %10s %10s %10s %10s%n", "endpoint", "req/s", "p50", "p99", "p999");
+        for (var e : after.entrySet()) {
+            var b = before.get(e.getKey());
+            if (b == null) continue;
+            var a = e.getValue();
+            out.printf("%-17s %+9.1f%% %+9.1f%% %+9.1f%% %+9.1f%%%n", e.getKey(),
+                    change(b[2], a[2]), change(b[6], a[6]), change(b[7], a[7]), change(b[8], a[8]));
+        }
+    }
+
+    private static Map<String, double[]> rows(List<String> lines) {
+        var rows = new LinkedHashMap<String, double[]>();
+        for (var line : lines) {
+            if (line.startsWith("#") || line.startsWith("endpoint,") || line.isBlank()) continue;
+            var cols = line.split(",");
+            var values = new double[cols.length];
+            for (int i = 1; i < cols.length; i++) values[i] = Double.parseDouble(cols[i]);
+            rows.put(cols[0], values);
+        }
+        return rows;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static int[] shuffledCells(Random rnd) {
+        var cells = new int[CELLS];
+        for (int i = 0; i < CELLS; i++) cells[i] = i;
+        for (int i = CELLS - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = cells[i];
+            cells[i] = cells[j];
+            cells[j] = t;
+        }
+        return cells;
+    }
+
+    // Value of a top-level string field in a flat JSON object, enough for the responses used here
+    static String field(String json, String name) {
+        var key = "\"" + name + "\":\"";
+        int start = json.indexOf(key);
+        if (start < 0) return null;
+        start += key.length();
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    private static HttpRequest post(String uri, String json) {
+        var b = HttpRequest.newBuilder(URI.create(uri));
+        if (json == null) return b.POST(HttpRequest.BodyPublishers.noBody()).build();
+        return b.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        var opts = new HashMap<String, String>();
+        for (var a : args) {
+            if (!a.startsWith("--")) throw new IllegalArgumentException("Unexpected argument " + a);
+            int eq = a.indexOf('=');
+            if (eq < 0) opts.put(a.substring(2), "true");
+            else opts.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+        return opts;
+    }
+
+    private static final class Endpoint {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+    }
+
+    private static final class GameAbandoned extends RuntimeException {
+        GameAbandoned() { super(null, null, false, false); }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.battleship.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Load generator Tests")
+class LatencyHistogramTest {
+
+    // ========== HISTOGRAM TESTS ==========
+
+    @Test
+    @DisplayName("Should report exact percentiles for small values")
+    void testSmallValuesExact() {
+        var h = new LatencyHistogram();
+        for (int v = 1; v <= 100; v++) h.record(v);
+
+        assertThat(h.count()).isEqualTo(100);
+        assertThat(h.percentile(0.50)).isEqualTo(50);
+        assertThat(h.percentile(0.99)).isEqualTo(99);
+        assertThat(h.percentile(1.0)).isEqualTo(100);
+        assertThat(h.max()).isEqualTo(100);
+        assertThat(h.mean()).isEqualTo(50.5);
+    }
+
+    @Test
+    @DisplayName("Should keep large values within two percent")
+    void testRelativeError() {
+        for (long v = 100; v < Long.MAX_VALUE / 3; v = v * 3 + 7) {
+            int i = LatencyHistogram.index(v);
+            long upper = LatencyHistogram.upperBound(i);
+            assertThat(upper).isGreaterThanOrEqualTo(v);
+            assertThat((double) (upper - v) / v).isLessThan(0.02);
+            if (i > 0) assertThat(LatencyHistogram.upperBound(i - 1)).isLessThan(v);
+        }
+        assertThat(LatencyHistogram.upperBound(LatencyHistogram.index(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should find the tail among many fast samples")
+    void testTail() {
+        var h = new LatencyHistogram();
+        for (int i = 0; i < 9_990; i++) h.record(1_000_000);
+        for (int i = 0; i < 10; i++) h.record(50_000_000);
+
+        assertThat(h.percentile(0.99)).isBetween(1_000_000L, 1_020_000L);
+        assertThat(h.percentile(0.9995)).isEqualTo(50_000_000L);
+        assertThat(new LatencyHistogram().percentile(0.99)).isZero();
+    }
+
+    // ========== REPORT TESTS ==========
+
+    @Test
+    @DisplayName("Should read string fields from a JSON response")
+    void testField() {
+        assertThat(LoadGenerator.field("{\"gameId\":\"abc-1\"}", "gameId")).isEqualTo("abc-1");
+        assertThat(LoadGenerator.field("{\"hit\":true,\"sunk\":false,\"sunkShipType\":null,\"nextState\":\"TURN_P2\"}",
+                "nextState")).isEqualTo("TURN_P2");
+        assertThat(LoadGenerator.field("{\"hit\":true}", "nextState")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should write a CSV that compares against itself as unchanged")
+    void testCsvRoundTrip() {
+        var gen = new LoadGenerator(null, "http://localhost:8080/", 1);
+        var csv = gen.csv(Map.of("url", "http://localhost:8080"), 1_000_000_000L);
+
+        assertThat(csv).startsWith("# url=http://localhost:8080\n");
+        assertThat(csv.lines().filter(l -> !l.startsWith("#")).toList())
+                .hasSize(1 + LoadGenerator.ENDPOINTS.length)
+                .first().asString().startsWith("endpoint,requests,rps");
+
+        var out = new ByteArrayOutputStream();
+        List<String> lines = csv.lines().toList();
+        LoadGenerator.compare(new PrintStream(out, true, StandardCharsets.UTF_8), lines, lines);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("fire").contains("+0.0%");
+    }
+}
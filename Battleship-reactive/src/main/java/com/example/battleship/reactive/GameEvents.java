@@ -0,0 +1,89 @@
+package com.example.battleship.reactive;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.service.GameListener;
+import com.example.battleship.service.GameService;
+import com.example.battleship.util.FastJson;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-game hot stream of updates for server-sent events. Each update is rendered once and the same string
+// goes to every stream, which keeps only its latest element, so a slow client never holds up fire.
+@Component
+public class GameEvents implements GameListener {
+    private final GameService games;
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+
+    public GameEvents(GameService games) {
+        this.games = games;
+        games.addListener(this);
+    }
+
+    @Override
+    public void onGameUpdated(Game game) {
+        var ch = channels.get(game.getId());
+        if (ch != null) ch.sink.tryEmitNext(render(game));
+    }
+
+    // The spectator JSON as of one version, so streams can tell a late frame from a newer one
+    private Frame render(Game game) {
+        return game.read(version -> new Frame(version,
+                new String(FastJson.write(games.spectate(game)), StandardCharsets.UTF_8)));
+    }
+
+    // The current state, then one element per change. The stream joins the channel before it renders the
+    // current state, so no change can fall in between; frames older than one already sent are dropped.
+    public Flux<String> updates(Game game) {
+        var id = game.getId();
+        return Flux.create(out -> {
+            // joining and leaving count subscribers in the same atomic step, so a channel is only dropped
+            // once nobody holds it
+            var ch = channels.compute(id, (k, c) -> {
+                if (c == null) c = new Channel();
+                c.subscribers++;
+                return c;
+            });
+            var order = new Ordered(out);
+            var upstream = ch.sink.asFlux().subscribe(order::next);
+            order.next(render(game));
+            out.onDispose(() -> {
+                upstream.dispose();
+                channels.computeIfPresent(id, (k, c) -> --c.subscribers == 0 ? null : c);
+            });
+        }, FluxSink.OverflowStrategy.LATEST);
+    }
+
+    private record Frame(long version, String json) {}
+
+    private static class Channel {
+        final Sinks.Many<Frame> sink = Sinks.many().multicast().directBestEffort();
+        // guarded by the map's compute
+        int subscribers;
+    }
+
+    // Passes frames to one stream in version order, whichever thread rendered them
+    private static class Ordered {
+        private final FluxSink<String> out;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long sent = -1;
+
+        Ordered(FluxSink<String> out) { this.out = out; }
+
+        void next(Frame f) {
+            lock.lock();
+            try {
+                if (f.version() <= sent) return;
+                sent = f.version();
+                out.next(f.json());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
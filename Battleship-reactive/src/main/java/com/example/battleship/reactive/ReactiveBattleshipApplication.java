@@ -0,0 +1,16 @@
+package com.example.battleship.reactive;
+
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+// Same game engine as BattleshipApplication, served by WebFlux on Netty
+@SpringBootApplication
+@Import({GameStore.class, GameService.class})
+public class ReactiveBattleshipApplication {
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveBattleshipApplication.class, args);
+	}
+}
@@ -0,0 +1,148 @@
+package com.example.battleship.reactive;
+
+import com.example.battleship.api.ETags;
+import com.example.battleship.api.RejectionResponses;
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.GameState;
+import com.example.battleship.domain.Player;
+import com.example.battleship.dto.*;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.Outcome;
+import com.example.battleship.service.Rejection;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The /api/game contract of GameController on WebFlux. Game commands are in-memory, and one that finds
+// the game held by another gives up with 409 within a millisecond, so they run directly on the event loop.
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = HttpHeaders.ETAG)
+@RestController
+@RequestMapping("/api/game")
+public class ReactiveGameController {
+
+    @Autowired
+    private GameService svc;
+
+    @Autowired
+    private GameEvents events;
+
+
+    // POST /api/game players
+    @PostMapping
+    public CreateGameResponse create(@RequestParam String p1,
+                                     @RequestParam String p2) {
+        Game g = svc.createGame(p1, p2);
+        return new CreateGameResponse(g.getId());
+    }
+
+    // GET /api/game games by state, player or finish time, a page at a time; pass `next` back as cursor
+    @GetMapping
+    public GamePageDto list(@RequestParam(required = false) GameState state,
+                            @RequestParam(required = false) String player,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant finishedSince,
+                            @RequestParam(required = false) String cursor,
+                            @RequestParam(defaultValue = "50") int limit) {
+        return svc.list(state, player, finishedSince, cursor, limit);
+    }
+
+    // GET /api/game/ player view
+    @GetMapping("/{id}")
+    public ResponseEntity<?> view(@PathVariable String id, @RequestParam Player viewer) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        var view = svc.view(g, viewer);
+        return ResponseEntity.ok().eTag(ETags.of(view.version())).body(view);
+    }
+
+    // GET /api/game/ both player views from one snapshot
+    @GetMapping("/{id}/views")
+    public ResponseEntity<?> views(@PathVariable String id) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        var views = svc.views(g);
+        return ResponseEntity.ok().eTag(ETags.of(views.p1().version())).body(views);
+    }
+
+    // GET /api/game/ spectator view, both boards masked
+    @GetMapping("/{id}/spectate")
+    public ResponseEntity<?> spectate(@PathVariable String id) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        return ResponseEntity.ok(svc.spectate(g));
+    }
+
+    // GET /api/game/ spectator stream, one server-sent event per state change
+    @GetMapping(value = "/{id}/spectate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> spectateStream(@PathVariable String id) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        var seq = new AtomicLong();
+        // data is already JSON; the SSE encoder writes strings through as-is
+        var stream = events.updates(g)
+                .map(json -> ServerSentEvent.builder(json)
+                        .id(Long.toString(seq.incrementAndGet()))
+                        .event("state")
+                        .build());
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(stream);
+    }
+
+    // POST /api/game/ place ship
+    @PostMapping("/{id}/place-ship")
+    public ResponseEntity<?> place(@PathVariable String id, @RequestBody @Valid PlaceShipRequest req,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        return respond(svc.tryPlaceShip(g, req, ETags.expectedVersion(ifMatch)));
+    }
+
+    // POST /api/game/ random placement
+    @PostMapping("/{id}/random-placement")
+    public ResponseEntity<?> random(@PathVariable String id, @RequestBody @Valid RandomPlacementRequest req,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        return respond(svc.tryRandomPlacement(g, req.player(), ETags.expectedVersion(ifMatch)));
+    }
+
+    // POST /api/game/ fire
+    @PostMapping("/{id}/fire")
+    public ResponseEntity<?> fire(@PathVariable String id, @RequestBody @Valid FireRequest req,
+                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        return respond(svc.tryFire(g, req, ETags.expectedVersion(ifMatch)));
+    }
+
+    // GET /api/game/ export binary replay
+    @GetMapping("/{id}/replay")
+    public ResponseEntity<?> exportReplay(@PathVariable String id,
+                                         @RequestParam(defaultValue = "false") boolean compress) {
+        var g = svc.findGame(id);
+        if (g == null) return RejectionResponses.of(Rejection.GAME_NOT_FOUND);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + id + ".bsr\"")
+                .body(svc.exportReplay(g, compress));
+    }
+
+    // POST /api/game/ import binary replay as a new game
+    @PostMapping(value = "/replay", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public CreateGameResponse importReplay(@RequestBody byte[] data) {
+        Game g = svc.importReplay(data);
+        return new CreateGameResponse(g.getId());
+    }
+
+    private static ResponseEntity<?> respond(Outcome<?> out) {
+        if (!out.isOk()) return RejectionResponses.of(out.rejection());
+        var ok = ResponseEntity.ok().eTag(ETags.of(out.version()));
+        return out.value() == null ? ok.build() : ok.body(out.value());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.battleship.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// Connection load against a running server, for comparing the MVC and reactive builds. See the README.
+//   mvn test-compile exec:java -Dexec.mainClass=com.example.battleship.bench.ConnectionLoadBenchmark -Dexec.classpathScope=test \
+//       -Dexec.args="http://localhost:8090 2000 20000 64"
+public class ConnectionLoadBenchmark {
+    private static final Pattern GAME_ID = Pattern.compile("\"gameId\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int streams = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+
+        var client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        var created = client.send(HttpRequest.newBuilder(URI.create(base + "/api/game?p1=Alice&p2=Bob"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        var m = GAME_ID.matcher(created.body());
+        if (!m.find()) throw new IllegalStateException("Unexpected create response: " + created.body());
+        String gameId = m.group(1);
+
+        // every stream counts down `firstFrames` on its first frame and `nextFrames` on its second
+        var firstFrames = new CountDownLatch(streams);
+        var nextFrames = new CountDownLatch(streams);
+        var failed = new AtomicInteger();
+        var streamRequest = HttpRequest.newBuilder(URI.create(base + "/api/game/" + gameId + "/spectate/stream"))
+                .header("Accept", "text/event-stream").build();
+        var open = new CompletableFuture<?>[streams];
+        long t0 = System.nanoTime();
+        for (int i = 0; i < streams; i++) {
+            open[i] = client.sendAsync(streamRequest,
+                            HttpResponse.BodyHandlers.fromLineSubscriber(new FrameCounter(firstFrames, nextFrames)))
+                    .exceptionally(e -> {
+                        failed.incrementAndGet();
+                        return null;
+                    });
+        }
+        boolean allOpen = firstFrames.await(60, TimeUnit.SECONDS);
+        long connectNanos = System.nanoTime() - t0;
+        System.out.printf("%s  streams=%d  first frame on all: %s in %.0f ms  failed=%d%n",
+                base, streams, allOpen ? "yes" : "NO (" + firstFrames.getCount() + " missing)",
+                connectNanos / 1e6, failed.get());
+
+        var view = HttpRequest.newBuilder(URI.create(base + "/api/game/" + gameId + "?viewer=P1")).build();
+        var latencies = new long[requests];
+        var next = new AtomicInteger();
+        var errors = new AtomicInteger();
+        try (var pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (int w = 0; w < concurrency; w++) {
+                pool.execute(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long s = System.nanoTime();
+                        try {
+                            var r = client.send(view, HttpResponse.BodyHandlers.discarding());
+                            if (r.statusCode() != 200) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - s;
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.MINUTES);
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+            System.out.printf("views=%,d concurrency=%d  %,.0f req/s  p50=%.2fms p99=%.2fms max=%.2fms errors=%d%n",
+                    requests, concurrency, requests * 1e9 / elapsed,
+                    latencies[requests / 2] / 1e6, latencies[(int) (requests * 0.99)] / 1e6,
+                    latencies[requests - 1] / 1e6, errors.get());
+        }
+
+        long f0 = System.nanoTime();
+        client.send(HttpRequest.newBuilder(URI.create(base + "/api/game/" + gameId + "/random-placement"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"player\":\"P1\"}")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        boolean allSeen = nextFrames.await(60, TimeUnit.SECONDS);
+        System.out.printf("fan-out to %d streams: %s in %.1f ms%n", streams,
+                allSeen ? "complete" : "INCOMPLETE (" + nextFrames.getCount() + " missing)", (System.nanoTime() - f0) / 1e6);
+
+        for (var f : open) f.cancel(true);
+        System.exit(0);
+    }
+
+    // Counts SSE frames by their event line; the connection stays open until the process exits
+    private static class FrameCounter implements Flow.Subscriber<String> {
+        private final CountDownLatch first;
+        private final CountDownLatch second;
+        private int frames;
+
+        FrameCounter(CountDownLatch first, CountDownLatch second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("event:")) return;
+            if (++frames == 1) first.countDown();
+            else if (frames == 2) second.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onComplete() {}
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.battleship.reactive;
+
+import com.example.battleship.domain.Game;
+import com.example.battleship.domain.Player;
+import com.example.battleship.service.GameService;
+import com.example.battleship.service.GameStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GameEvents Tests")
+class GameEventsTest {
+    private GameService gameService;
+    private GameEvents events;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService(new GameStore());
+        events = new GameEvents(gameService);
+        game = gameService.createGame("Alice", "Bob");
+    }
+
+    @Test
+    @DisplayName("Should start with the current state and then send each change once")
+    void testCurrentThenChanges() {
+        StepVerifier.create(events.updates(game))
+                .assertNext(json -> assertThat(json).contains("PLACING_P1"))
+                .then(() -> gameService.randomPlacement(game, Player.P1))
+                .assertNext(json -> assertThat(json).contains("PLACING_P2"))
+                .then(() -> gameService.randomPlacement(game, Player.P2))
+                .assertNext(json -> assertThat(json).contains("TURN_P1"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should keep a game's channel for one stream while another one ends")
+    void testChannelOutlivesOtherStream() {
+        var kept = events.updates(game);
+        StepVerifier.create(events.updates(game))
+                .expectNextCount(1)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(kept)
+                .expectNextCount(1)
+                .then(() -> StepVerifier.create(events.updates(game)).expectNextCount(1).thenCancel().verify())
+                .then(() -> gameService.randomPlacement(game, Player.P1))
+                .assertNext(json -> assertThat(json).contains("PLACING_P2"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.battleship.reactive;
+
+import com.example.battleship.domain.*;
+import com.example.battleship.dto.*;
+import com.example.battleship.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@DisplayName("ReactiveGameController Tests")
+class ReactiveGameControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private GameService gameService;
+
+    private String gameId;
+
+    @BeforeEach
+    void setUp() {
+        gameId = gameService.createGame("Alice", "Bob").getId();
+    }
+
+    @Test
+    @DisplayName("POST /api/game - Should create game")
+    void testCreateGame() {
+        client.post().uri("/api/game?p1=John&p2=Jane")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.gameId").isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("GET /api/game/{id} - Should return view for P1")
+    void testView() {
+        client.get().uri("/api/game/{id}?viewer=P1", gameId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.state").isEqualTo("PLACING_P1")
+                .jsonPath("$.p1Name").isEqualTo("Alice")
+                .jsonPath("$.yourBoard").isArray();
+    }
+
+    @Test
+    @DisplayName("GET /api/game/{id} - Should return 404 for non-existent game")
+    void testViewNotFound() {
+        client.get().uri("/api/game/nope?viewer=P1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Game not found");
+    }
+
+    @Test
+    @DisplayName("GET /api/game/{id}/views - Should return both player views")
+    void testViews() {
+        client.get().uri("/api/game/{id}/views", gameId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.p1.p1Name").isEqualTo("Alice")
+                .jsonPath("$.p2.yourBoard").isArray();
+    }
+
+    @Test
+    @DisplayName("POST /api/game/{id}/place-ship - Should place and reject invalid placement")
+    void testPlaceShip() {
+        client.post().uri("/api/game/{id}/place-ship", gameId)
+                .bodyValue(new PlaceShipRequest(Player.P1, ShipType.CARRIER, 0, 0, Orientation.HORIZONTAL))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.post().uri("/api/game/{id}/place-ship", gameId)
+                .bodyValue(new PlaceShipRequest(Player.P1, ShipType.CRUISER, 1, 0, Orientation.HORIZONTAL))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid placement (overlap/touch/out of bounds)");
+    }
+
+    @Test
+    @DisplayName("POST /api/game/{id}/place-ship - Should validate request body")
+    void testPlaceShipInvalidBody() {
+        client.post().uri("/api/game/{id}/place-ship", gameId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("POST /api/game/{id}/fire - Should fire and enforce turns")
+    void testFire() {
+        randomPlacement(Player.P1);
+        randomPlacement(Player.P2);
+
+        client.post().uri("/api/game/{id}/fire", gameId)
+                .bodyValue(new FireRequest(Player.P1, 0, 0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.nextState").isEqualTo("TURN_P2");
+
+        client.post().uri("/api/game/{id}/fire", gameId)
+                .bodyValue(new FireRequest(Player.P1, 1, 1))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Not your turn");
+    }
+
+    @Test
+    @DisplayName("GET /api/game/{id}/spectate/stream - Should push a frame per change")
+    void testSpectateStream() {
+        var events = client.get().uri("/api/game/{id}/spectate/stream", gameId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<SpectatorViewDto>>() {})
+                .getResponseBody();
+
+        StepVerifier.create(events)
+                .assertNext(e -> assertThat(e.data().state()).isEqualTo(GameState.PLACING_P1))
+                .then(() -> gameService.randomPlacement(gameService.getGameOr404(gameId), Player.P1))
+                .assertNext(e -> {
+                    assertThat(e.event()).isEqualTo("state");
+                    assertThat(e.data().state()).isEqualTo(GameState.PLACING_P2);
+                    for (var row : e.data().p1BoardMasked()) assertThat(row).doesNotContain(CellState.SHIP);
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("GET /api/game/{id}/spectate/stream - Should return 404 for non-existent game")
+    void testSpectateStreamNotFound() {
+        client.get().uri("/api/game/nope/spectate/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Game not found");
+    }
+
+    @Test
+    @DisplayName("GET+POST /api/game/.../replay - Should export a game and import it as a new one")
+    void testReplayRoundTrip() {
+        randomPlacement(Player.P1);
+        randomPlacement(Player.P2);
+        var replay = client.get().uri("/api/game/{id}/replay?compress=true", gameId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        var created = client.post().uri("/api/game/replay")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .bodyValue(replay)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CreateGameResponse.class).returnResult().getResponseBody();
+
+        assertThat(created.gameId()).isNotEqualTo(gameId);
+        var imported = gameService.getGameOr404(created.gameId());
+        assertThat(imported.getState()).isEqualTo(GameState.TURN_P1);
+        assertThat(imported.getPlayerName(Player.P2)).isEqualTo("Bob");
+        client.get().uri("/api/game/nope/replay").exchange().expectStatus().isNotFound();
+        client.post().uri("/api/game/replay")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .bodyValue(new byte[]{1, 2, 3})
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private void randomPlacement(Player p) {
+        client.post().uri("/api/game/{id}/random-placement", gameId)
+                .bodyValue(new RandomPlacementRequest(p))
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
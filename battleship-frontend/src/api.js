@@ -46,6 +46,15 @@ export async function getGame(gameId, viewer = VIEWERS.P1) {
   return await handleJson(res);
 }
 
+// both players' views from one snapshot: { p1, p2 }
+export async function getViews(gameId) {
+  const res = await fetch(
+    `${API_ROOT}/api/game/${encodeURIComponent(gameId)}/views`,
+    { method: "GET" }
+  );
+  return await handleJson(res);
+}
+
 // backend return 200 and return 400 if already placed
 export async function randomPlacement(gameId, player) {
   const res = await fetch(
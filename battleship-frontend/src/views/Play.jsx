@@ -2,7 +2,7 @@
 import React, { useEffect, useState } from "react";
 import { Board } from "../components/Board";
 import Scoreboard from "../components/Scoreboard";
-import { fire, getGame } from "../api";
+import { fire, getViews } from "../api";
 import { useGameCtx } from "../context/GameContext";
 import { GAME_STATES, CELL_STATES } from "../gameConstants";
 
@@ -27,13 +27,10 @@ export default function Play({ view, refresh }) {
     (async () => {
       if (!gameId) return;
       try {
-        const [v1, v2] = await Promise.all([
-          getGame(gameId, "P1"),
-          getGame(gameId, "P2"),
-        ]);
+        const views = await getViews(gameId);
         if (alive) {
-          setP1View(v1);
-          setP2View(v2);
+          setP1View(views.p1);
+          setP2View(views.p2);
         }
       } catch {
         // silent
@@ -88,12 +85,9 @@ export default function Play({ view, refresh }) {
 
       // refresh parent + both perspectives
       await refresh?.();
-      const [v1, v2] = await Promise.all([
-        getGame(gameId, "P1"),
-        getGame(gameId, "P2"),
-      ]);
-      setP1View(v1);
-      setP2View(v2);
+      const views = await getViews(gameId);
+      setP1View(views.p1);
+      setP2View(views.p2);
     } catch {
       // silent
     } finally {